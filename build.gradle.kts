@@ -19,6 +19,17 @@ repositories {
 	mavenCentral()
 }
 
+sourceSets {
+	create("jmh") {
+		compileClasspath += sourceSets.main.get().output
+		runtimeClasspath += sourceSets.main.get().output
+	}
+}
+
+val jmhImplementation: Configuration by configurations.getting {
+	extendsFrom(configurations.implementation.get())
+}
+
 dependencies {
 	// Web and Core
 	implementation("org.springframework.boot:spring-boot-starter-webmvc")
@@ -29,11 +40,14 @@ dependencies {
 	// Prometheus
 	implementation("io.micrometer:micrometer-registry-prometheus")
 
+	// Caching
+	implementation("com.github.ben-manes.caffeine:caffeine")
+
 	// Database
 	implementation("org.springframework.boot:spring-boot-starter-data-jpa")
 	implementation("org.springframework.boot:spring-boot-starter-flyway")
 	implementation("org.flywaydb:flyway-database-postgresql")
-	runtimeOnly("org.postgresql:postgresql")
+	implementation("org.postgresql:postgresql")
 
 	// Lombok
 	compileOnly("org.projectlombok:lombok")
@@ -63,16 +77,62 @@ dependencies {
 	testCompileOnly("org.projectlombok:lombok")
 	testAnnotationProcessor("org.projectlombok:lombok")
 	testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+
+	// Benchmarks (JMH)
+	jmhImplementation("org.openjdk.jmh:jmh-core:1.37")
+	jmhImplementation("org.springframework:spring-test")
+	"jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:1.37")
 }
 
 tasks.withType<Test> {
 	useJUnitPlatform()
+}
+
+tasks.test {
+	useJUnitPlatform {
+		excludeTags("load")
+	}
 	finalizedBy(tasks.jacocoTestReport)
 }
 
+tasks.register<Test>("loadTest") {
+	group = "verification"
+	description = "Runs the HTTP load test against a Postgres container; tune it with -Pload.<setting>=<value>."
+	testClassesDirs = sourceSets.test.get().output.classesDirs
+	classpath = sourceSets.test.get().runtimeClasspath
+	useJUnitPlatform {
+		includeTags("load")
+	}
+	systemProperties(project.properties.filterKeys { it.startsWith("load.") })
+	outputs.upToDateWhen { false }
+}
+
 tasks.jacocoTestReport {
 	dependsOn(tasks.test)
 	reports {
 		xml.required = true
 	}
 }
+
+tasks.check {
+	dependsOn(tasks.named("jmhClasses"))
+}
+
+tasks.register<JavaExec>("jmh") {
+	group = "verification"
+	description = "Runs the JMH benchmarks with the GC profiler; narrow them with -Pjmh.includes=<regex>."
+	classpath = sourceSets["jmh"].runtimeClasspath
+	mainClass = "org.openjdk.jmh.Main"
+
+	val resultFile = layout.buildDirectory.file("reports/jmh/results.json")
+	outputs.upToDateWhen { false }
+	doFirst {
+		resultFile.get().asFile.parentFile.mkdirs()
+	}
+	args = listOfNotNull(
+		providers.gradleProperty("jmh.includes").orNull,
+		"-prof", "gc",
+		"-rf", "json",
+		"-rff", resultFile.get().asFile.absolutePath
+	)
+}
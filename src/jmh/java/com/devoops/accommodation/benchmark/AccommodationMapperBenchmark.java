@@ -0,0 +1,58 @@
+package com.devoops.accommodation.benchmark;
+
+import com.devoops.accommodation.dto.response.AccommodationResponse;
+import com.devoops.accommodation.entity.Accommodation;
+import com.devoops.accommodation.mapper.AccommodationMapper;
+import com.devoops.accommodation.mapper.AccommodationMapperImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccommodationMapperBenchmark {
+
+    @Param({"0", "3", "10"})
+    public int amenityCount;
+
+    private final AccommodationMapper mapper = new AccommodationMapperImpl();
+
+    private Accommodation accommodation;
+
+    @Setup
+    public void setUp() {
+        accommodation = BenchmarkData.accommodation(amenityCount);
+    }
+
+    @Benchmark
+    public AccommodationResponse toResponse() {
+        return mapper.toResponse(accommodation);
+    }
+
+    @Benchmark
+    public List<AccommodationResponse> toResponseList(Accommodations list) {
+        return mapper.toResponseList(list.accommodations);
+    }
+
+    /**
+     * Entities for {@link #toResponseList}, the only benchmark here whose cost depends on {@code listSize}.
+     */
+    @State(Scope.Benchmark)
+    public static class Accommodations {
+
+        @Param({"1", "20", "100", "1000"})
+        public int listSize;
+
+        private List<Accommodation> accommodations;
+
+        @Setup
+        public void setUp(AccommodationMapperBenchmark benchmark) {
+            accommodations = BenchmarkData.accommodations(listSize, benchmark.amenityCount);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.devoops.accommodation.benchmark;
+
+import com.devoops.accommodation.dto.response.AccommodationResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.jackson.autoconfigure.JacksonAutoConfiguration;
+import org.springframework.context.ConfigurableApplicationContext;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializes with the {@link JsonMapper} Spring Boot's Jackson auto-configuration builds from the application's
+ * own properties and modules, so the numbers reflect what the controllers actually write.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccommodationSerializationBenchmark {
+
+    @Param({"0", "3", "10"})
+    public int amenityCount;
+
+    private ObjectWriter responseWriter;
+    private ObjectWriter listWriter;
+    private AccommodationResponse response;
+
+    @Setup
+    public void setUp() {
+        JsonMapper jsonMapper;
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(JacksonAutoConfiguration.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .run()) {
+            jsonMapper = context.getBean(JsonMapper.class);
+        }
+        responseWriter = jsonMapper.writerFor(AccommodationResponse.class);
+        listWriter = jsonMapper.writerFor(
+                jsonMapper.getTypeFactory().constructCollectionType(List.class, AccommodationResponse.class));
+        response = BenchmarkData.response(amenityCount);
+    }
+
+    @Benchmark
+    public byte[] serializeResponse() {
+        return responseWriter.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] serializeResponseList(Responses list) {
+        return listWriter.writeValueAsBytes(list.responses);
+    }
+
+    /**
+     * The list input, kept apart so that only the list benchmark is parameterised over its size.
+     */
+    @State(Scope.Benchmark)
+    public static class Responses {
+
+        @Param({"1", "20", "100", "1000"})
+        public int listSize;
+
+        private List<AccommodationResponse> responses;
+
+        @Setup
+        public void setUp(AccommodationSerializationBenchmark benchmark) {
+            responses = BenchmarkData.responses(listSize, benchmark.amenityCount);
+        }
+    }
+}
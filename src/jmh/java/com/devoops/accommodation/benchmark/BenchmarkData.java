@@ -0,0 +1,69 @@
+package com.devoops.accommodation.benchmark;
+
+import com.devoops.accommodation.dto.response.AccommodationResponse;
+import com.devoops.accommodation.entity.Accommodation;
+import com.devoops.accommodation.entity.AmenityMask;
+import com.devoops.accommodation.entity.AmenityType;
+import com.devoops.accommodation.entity.ApprovalMode;
+import com.devoops.accommodation.entity.PricingMode;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Deterministic fixtures shared by the benchmarks.
+ */
+public final class BenchmarkData {
+
+    public static final LocalDateTime CREATED_AT = LocalDateTime.of(2025, 6, 1, 10, 15, 30, 123_456_000);
+
+    private BenchmarkData() {
+    }
+
+    public static List<AmenityType> amenities(int count) {
+        return Arrays.asList(AmenityType.values()).subList(0, count);
+    }
+
+    public static Accommodation accommodation(int amenityCount) {
+        return Accommodation.builder()
+                .id(UUID.randomUUID())
+                .hostId(UUID.randomUUID())
+                .name("Seaside Apartment with Balcony")
+                .address("12 Harbour Street, Split")
+                .minGuests(1)
+                .maxGuests(4)
+                .pricingMode(PricingMode.PER_GUEST)
+                .approvalMode(ApprovalMode.MANUAL)
+                .amenities(AmenityMask.copyOf(amenities(amenityCount)))
+                .createdAt(CREATED_AT)
+                .updatedAt(CREATED_AT)
+                .build();
+    }
+
+    public static List<Accommodation> accommodations(int size, int amenityCount) {
+        List<Accommodation> accommodations = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            accommodations.add(accommodation(amenityCount));
+        }
+        return accommodations;
+    }
+
+    public static AccommodationResponse response(int amenityCount) {
+        return new AccommodationResponse(
+                UUID.randomUUID(), UUID.randomUUID(),
+                "Seaside Apartment with Balcony", "12 Harbour Street, Split",
+                1, 4, PricingMode.PER_GUEST, ApprovalMode.MANUAL,
+                amenities(amenityCount), CREATED_AT, CREATED_AT, 0L);
+    }
+
+    public static List<AccommodationResponse> responses(int size, int amenityCount) {
+        List<AccommodationResponse> responses = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            responses.add(response(amenityCount));
+        }
+        return responses;
+    }
+}
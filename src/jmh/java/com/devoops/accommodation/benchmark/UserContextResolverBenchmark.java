@@ -0,0 +1,44 @@
+package com.devoops.accommodation.benchmark;
+
+import com.devoops.accommodation.config.UserContextResolver;
+import com.devoops.accommodation.exception.UnauthorizedException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserContextResolverBenchmark {
+
+    @Param({"valid", "malformed"})
+    public String userId;
+
+    private final UserContextResolver resolver = new UserContextResolver();
+
+    private NativeWebRequest webRequest;
+
+    @Setup
+    public void setUp() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("X-User-Id", "valid".equals(userId) ? UUID.randomUUID().toString() : "not-a-uuid");
+        request.addHeader("X-User-Role", "HOST");
+        webRequest = new ServletWebRequest(request);
+    }
+
+    @Benchmark
+    public Object resolveArgument() {
+        try {
+            return resolver.resolveArgument(null, null, webRequest, null);
+        } catch (UnauthorizedException e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.devoops.accommodation.repository;
+
+import com.devoops.accommodation.benchmark.BenchmarkData;
+import com.devoops.accommodation.dto.request.UpdateAccommodationRequest;
+import com.devoops.accommodation.entity.AmenityMask;
+import com.devoops.accommodation.entity.ApprovalMode;
+import com.devoops.accommodation.entity.PricingMode;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lives in the repository package to reach the package-private partial-update statement builder of
+ * {@link AccommodationJdbcRepository}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccommodationUpdateBenchmark {
+
+    @Param({"0", "3", "10"})
+    public int amenityCount;
+
+    private final UUID id = UUID.randomUUID();
+    private final UUID hostId = UUID.randomUUID();
+    private final LocalDateTime now = BenchmarkData.CREATED_AT;
+    private UpdateAccommodationRequest nameOnly;
+    private UpdateAccommodationRequest fullUpdate;
+
+    @Setup
+    public void setUp() {
+        nameOnly = new UpdateAccommodationRequest("Renamed Apartment", null, null, null, null, null, null);
+        fullUpdate = new UpdateAccommodationRequest(
+                "Renamed Apartment", "34 Riva, Split", 2, 6,
+                PricingMode.PER_UNIT, ApprovalMode.AUTOMATIC,
+                AmenityMask.copyOf(BenchmarkData.amenities(amenityCount)));
+    }
+
+    @Benchmark
+    public String buildNameOnly() {
+        List<Object> args = new ArrayList<>();
+        return AccommodationJdbcRepository.partialUpdateSql(nameOnly, now, id, hostId, null, args);
+    }
+
+    @Benchmark
+    public String buildFullUpdate() {
+        List<Object> args = new ArrayList<>();
+        return AccommodationJdbcRepository.partialUpdateSql(fullUpdate, now, id, hostId, Set.of(3L), args);
+    }
+}
@@ -0,0 +1,68 @@
+package com.devoops.accommodation.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Listener bookkeeping and delivery metrics shared by the {@link InvalidationBus} implementations.
+ */
+abstract class AbstractInvalidationBus implements InvalidationBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(AbstractInvalidationBus.class);
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final List<Consumer<Invalidation>> listeners = new CopyOnWriteArrayList<>();
+    private final Counter published;
+    private final Counter received;
+    private final Timer lag;
+
+    protected AbstractInvalidationBus(MeterRegistry meterRegistry) {
+        this.published = Counter.builder("accommodation.cache.invalidations")
+                .tag("direction", "published")
+                .register(meterRegistry);
+        this.received = Counter.builder("accommodation.cache.invalidations")
+                .tag("direction", "received")
+                .register(meterRegistry);
+        this.lag = Timer.builder("accommodation.cache.invalidation.lag")
+                .description("Time from publishing an invalidation to applying it on this instance")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void subscribe(Consumer<Invalidation> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public String nodeId() {
+        return nodeId;
+    }
+
+    protected void published(int count) {
+        published.increment(count);
+    }
+
+    protected void deliver(Invalidation invalidation) {
+        received.increment();
+        if (invalidation.target() != Invalidation.Target.ALL) {
+            lag.record(Duration.ofMillis(Math.max(0, System.currentTimeMillis() - invalidation.publishedAtMillis())));
+        }
+        for (Consumer<Invalidation> listener : listeners) {
+            try {
+                listener.accept(invalidation);
+            } catch (RuntimeException e) {
+                logger.warn("Invalidation listener failed for {}", invalidation, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.devoops.accommodation.cache;
+
+import com.devoops.accommodation.dto.response.AccommodationResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.jspecify.annotations.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Two-tier read-through cache of {@link AccommodationResponse} by accommodation id and of each host's
+ * listing ids, plus an optional in-process cache of {@link EncodedAccommodation} bodies, each of which expires
+ * together with the Caffeine-tier entry it was encoded from. Evictions are applied
+ * locally and broadcast over the {@link InvalidationBus}, which drops the entries from both tiers on every
+ * instance once the writing transaction commits. Entries are filled from read replicas, which may serve the
+ * pre-write row for a while after that commit; with a {@code replicaLag} configured each invalidation is therefore
+ * applied a second time once the replicas have caught up.
+ */
+@Component
+public class AccommodationCache {
+
+    static final String CACHE_NAME = "accommodations";
+    static final String HOST_LISTINGS = "host-listings";
+    static final String ENCODED = "accommodations-encoded";
+
+    private final TwoTierCache<AccommodationResponse> accommodations;
+    private final TwoTierCache<HostListing> hostListings;
+    private final Cache<UUID, EncodedAccommodation> encoded;
+    private final AccommodationCacheProperties.Encoded encoding;
+    private final InvalidationBus invalidationBus;
+    private final ObjectMapper objectMapper;
+    private final Executor afterReplicaLag;
+
+    public AccommodationCache(AccommodationCacheProperties properties, SharedCache sharedCache,
+                              InvalidationBus invalidationBus, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.accommodations = new TwoTierCache<>(CACHE_NAME, AccommodationResponse.class, properties,
+                sharedCache, objectMapper, meterRegistry);
+        this.hostListings = new TwoTierCache<>(HOST_LISTINGS, HostListing.class, properties,
+                sharedCache, objectMapper, meterRegistry);
+        this.encoding = properties.encoded();
+        this.encoded = encoding.enabled()
+                ? Caffeine.newBuilder()
+                        .maximumSize(properties.maximumSize())
+                        .expireAfter(new EncodedExpiry(accommodations))
+                        .recordStats()
+                        .build()
+                : null;
+        if (encoded != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, encoded, ENCODED);
+        }
+        this.invalidationBus = invalidationBus;
+        this.objectMapper = objectMapper;
+        this.afterReplicaLag = properties.replicaLag().isPositive()
+                ? CompletableFuture.delayedExecutor(properties.replicaLag().toMillis(), TimeUnit.MILLISECONDS)
+                : null;
+        invalidationBus.subscribe(this::apply);
+    }
+
+    public Optional<AccommodationResponse> get(UUID id, Function<UUID, Optional<AccommodationResponse>> loader) {
+        return accommodations.get(id, loader);
+    }
+
+    /**
+     * Resolves many ids at once, invoking {@code loader} a single time with only the ids that are not cached.
+     * Ids the loader does not return are cached as negative entries and left out of the result.
+     */
+    public Map<UUID, AccommodationResponse> getAll(
+            Collection<UUID> ids,
+            Function<Set<UUID>, Map<UUID, AccommodationResponse>> loader
+    )
+    {
+        return accommodations.getAll(ids, loader);
+    }
+
+    /**
+     * Returns the accommodation with its serialized body, resolving it through {@code resolver} on a miss. When
+     * encoded caching is disabled the body is serialized on every call.
+     */
+    public Optional<EncodedAccommodation> getEncoded(UUID id,
+                                                     Function<UUID, Optional<AccommodationResponse>> resolver) {
+        if (encoded == null) {
+            return resolver.apply(id).map(this::encode);
+        }
+        return Optional.ofNullable(encoded.get(id, key -> resolver.apply(key).map(this::encode).orElse(null)));
+    }
+
+    /**
+     * Returns the ids of the host's live accommodations, as bounded by {@code loader}, in
+     * {@code (created_at, id)} order.
+     */
+    public List<UUID> getHostListing(UUID hostId, Function<UUID, List<UUID>> loader) {
+        return hostListings.get(hostId, id -> Optional.of(new HostListing(loader.apply(id))))
+                .map(HostListing::ids)
+                .orElseGet(List::of);
+    }
+
+    public void evict(UUID id) {
+        evict(Invalidation.Target.ACCOMMODATION, id);
+    }
+
+    /**
+     * Drops the host's listing ids; required whenever an accommodation of the host is created or deleted.
+     */
+    public void evictHostListing(UUID hostId) {
+        evict(Invalidation.Target.HOST_LISTING, hostId);
+    }
+
+    /**
+     * Evicts the entry now and, when called inside a transaction, once more after commit so that
+     * a concurrent reader cannot re-populate the cache with the pre-commit row. Other instances
+     * evict on the broadcast invalidation; a transaction's invalidations are published together as it commits.
+     */
+    private void evict(Invalidation.Target target, UUID id) {
+        invalidate(target, id);
+        Invalidation invalidation = Invalidation.of(target, id, invalidationBus.nodeId());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            pendingInvalidations().add(invalidation);
+        } else {
+            invalidationBus.publish(invalidation);
+        }
+    }
+
+    /**
+     * Invalidations raised so far by the current transaction, bound to it under this cache as resource key.
+     */
+    @SuppressWarnings("unchecked")
+    private List<Invalidation> pendingInvalidations() {
+        List<Invalidation> pending = (List<Invalidation>) TransactionSynchronizationManager.getResource(this);
+        if (pending != null) {
+            return pending;
+        }
+        List<Invalidation> created = new ArrayList<>();
+        TransactionSynchronizationManager.bindResource(this, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void suspend() {
+                TransactionSynchronizationManager.unbindResource(AccommodationCache.this);
+            }
+
+            @Override
+            public void resume() {
+                TransactionSynchronizationManager.bindResource(AccommodationCache.this, created);
+            }
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                invalidationBus.publishAll(List.copyOf(created));
+            }
+
+            @Override
+            public void afterCommit() {
+                created.forEach(invalidation -> invalidate(invalidation.target(), invalidation.id()));
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(AccommodationCache.this);
+            }
+        });
+        return created;
+    }
+
+    private void apply(Invalidation invalidation) {
+        if (invalidation.target() == Invalidation.Target.ALL) {
+            accommodations.invalidateLocal();
+            hostListings.invalidateLocal();
+            if (encoded != null) {
+                encoded.invalidateAll();
+            }
+        } else {
+            invalidate(invalidation.target(), invalidation.id());
+            if (afterReplicaLag != null) {
+                afterReplicaLag.execute(() -> invalidate(invalidation.target(), invalidation.id()));
+            }
+        }
+    }
+
+    private void invalidate(Invalidation.Target target, UUID id) {
+        if (target == Invalidation.Target.HOST_LISTING) {
+            hostListings.invalidate(id);
+            return;
+        }
+        accommodations.invalidate(id);
+        if (encoded != null) {
+            encoded.invalidate(id);
+        }
+    }
+
+    private EncodedAccommodation encode(AccommodationResponse response) {
+        byte[] json = objectMapper.writeValueAsBytes(response);
+        byte[] gzip = encoding.gzip() && json.length >= encoding.gzipMinSize() ? gzip(json) : null;
+        return new EncodedAccommodation(response, json, gzip);
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(bytes.length / 2);
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * Expires a body when the Caffeine-tier entry of the response it encodes does, so that it is never served past
+     * that response's TTL; a body whose response is no longer held there expires at once.
+     */
+    private record EncodedExpiry(TwoTierCache<AccommodationResponse> accommodations)
+            implements Expiry<UUID, EncodedAccommodation> {
+
+        @Override
+        public long expireAfterCreate(@NonNull UUID key, @NonNull EncodedAccommodation value, long currentTime) {
+            return accommodations.expiresAfter(key).map(Duration::toNanos).orElse(0L);
+        }
+
+        @Override
+        public long expireAfterUpdate(@NonNull UUID key, @NonNull EncodedAccommodation value, long currentTime,
+                                      long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(@NonNull UUID key, @NonNull EncodedAccommodation value, long currentTime,
+                                    long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.devoops.accommodation.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@Configuration
+public class AccommodationCacheConfig {
+
+    static final String BUS_PROPERTY = "accommodation.cache.invalidation-bus";
+
+    /**
+     * Default shared tier; a {@link SharedCache} backed by an external store declared as {@code @Primary}
+     * takes precedence.
+     */
+    @Bean
+    public InMemorySharedCache inMemorySharedCache(AccommodationCacheProperties properties) {
+        return new InMemorySharedCache(properties.maximumSize());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = BUS_PROPERTY, havingValue = "postgres", matchIfMissing = true)
+    public PostgresInvalidationBus postgresInvalidationBus(JdbcTemplate jdbcTemplate,
+                                                           DataSourceProperties dataSourceProperties,
+                                                           MeterRegistry meterRegistry) {
+        return new PostgresInvalidationBus(jdbcTemplate, dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword(), meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = BUS_PROPERTY, havingValue = "local")
+    public LocalInvalidationBus localInvalidationBus(MeterRegistry meterRegistry) {
+        return new LocalInvalidationBus(meterRegistry);
+    }
+}
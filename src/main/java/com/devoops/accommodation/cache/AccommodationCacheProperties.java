@@ -0,0 +1,34 @@
+package com.devoops.accommodation.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param replicaLag how far read replicas may trail the primary; zero without replicas. Cache fills are read from
+ *                   replicas, so every applied invalidation is repeated once this has passed, and not-found results
+ *                   are cached no longer than it
+ */
+@ConfigurationProperties(prefix = "accommodation.cache")
+public record AccommodationCacheProperties(
+        @DefaultValue("10000") long maximumSize,
+        @DefaultValue("10m") Duration ttl,
+        @DefaultValue("30s") Duration negativeTtl,
+        @DefaultValue("0s") Duration replicaLag,
+        @DefaultValue Encoded encoded
+) {
+
+    /**
+     * Keeps the serialized JSON, and optionally its gzip form, of single accommodations so reads by id are
+     * written out without running the object mapper again.
+     *
+     * @param gzipMinSize JSON smaller than this many bytes is not worth compressing and is only kept as is
+     */
+    public record Encoded(
+            @DefaultValue("true") boolean enabled,
+            @DefaultValue("true") boolean gzip,
+            @DefaultValue("512") int gzipMinSize
+    ) {
+    }
+}
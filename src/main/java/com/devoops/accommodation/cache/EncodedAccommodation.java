@@ -0,0 +1,11 @@
+package com.devoops.accommodation.cache;
+
+import com.devoops.accommodation.dto.response.AccommodationResponse;
+
+/**
+ * An accommodation together with its JSON body and, when large enough to be worth it, the gzip of that body.
+ *
+ * @param gzip {@code null} when not compressed
+ */
+public record EncodedAccommodation(AccommodationResponse response, byte[] json, byte[] gzip) {
+}
@@ -0,0 +1,10 @@
+package com.devoops.accommodation.cache;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Ids of a host's live accommodations in {@code (created_at, id)} order.
+ */
+record HostListing(List<UUID> ids) {
+}
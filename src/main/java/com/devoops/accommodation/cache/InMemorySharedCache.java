@@ -0,0 +1,72 @@
+package com.devoops.accommodation.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.jspecify.annotations.NonNull;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Process-local stand-in for a shared cache, used for tests and single-instance deployments. It only
+ * shares entries between callers of the same JVM, so every instance still relies on the
+ * {@link InvalidationBus} to drop entries written elsewhere, and clears it entirely when invalidations may have
+ * been missed.
+ */
+public class InMemorySharedCache implements SharedCache {
+
+    private final Cache<String, Stored> cache;
+
+    public InMemorySharedCache(long maximumSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new StoredExpiry())
+                .build();
+    }
+
+    @Override
+    public Map<String, byte[]> getAll(Collection<String> keys) {
+        Map<String, byte[]> found = HashMap.newHashMap(keys.size());
+        cache.getAllPresent(keys).forEach((key, stored) -> found.put(key, stored.value()));
+        return found;
+    }
+
+    @Override
+    public void put(String key, byte[] value, Duration ttl) {
+        cache.put(key, new Stored(value, ttl.toNanos()));
+    }
+
+    @Override
+    public void evict(String key) {
+        cache.invalidate(key);
+    }
+
+    @Override
+    public void clearLocal() {
+        cache.invalidateAll();
+    }
+
+    private record Stored(byte[] value, long ttlNanos) {
+    }
+
+    private static final class StoredExpiry implements Expiry<String, Stored> {
+
+        @Override
+        public long expireAfterCreate(@NonNull String key, @NonNull Stored value, long currentTime) {
+            return value.ttlNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(@NonNull String key, @NonNull Stored value, long currentTime, long currentDuration) {
+            return value.ttlNanos();
+        }
+
+        @Override
+        public long expireAfterRead(@NonNull String key, @NonNull Stored value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
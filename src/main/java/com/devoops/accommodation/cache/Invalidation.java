@@ -0,0 +1,52 @@
+package com.devoops.accommodation.cache;
+
+import java.util.UUID;
+
+/**
+ * A cache invalidation travelling over the {@link InvalidationBus}.
+ *
+ * @param origin            id of the instance that published it
+ * @param publishedAtMillis wall-clock publish time, used to measure propagation lag
+ */
+public record Invalidation(Target target, UUID id, String origin, long publishedAtMillis) {
+
+    public enum Target {
+        ACCOMMODATION,
+        HOST_LISTING,
+        /** Everything; raised locally when invalidations may have been missed. */
+        ALL
+    }
+
+    private static final char SEPARATOR = '|';
+
+    public static Invalidation of(Target target, UUID id, String origin) {
+        return new Invalidation(target, id, origin, System.currentTimeMillis());
+    }
+
+    public static Invalidation all(String origin) {
+        return new Invalidation(Target.ALL, null, origin, System.currentTimeMillis());
+    }
+
+    /**
+     * Compact text form, well below the 8000 byte limit of a PostgreSQL notification payload.
+     */
+    public String encode() {
+        return target.name() + SEPARATOR + (id != null ? id : "") + SEPARATOR + origin + SEPARATOR + publishedAtMillis;
+    }
+
+    /**
+     * @throws IllegalArgumentException if {@code payload} was not produced by {@link #encode()}
+     */
+    public static Invalidation decode(String payload) {
+        String[] parts = payload.split("\\|", -1);
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("Invalid invalidation payload: " + payload);
+        }
+        try {
+            UUID id = parts[1].isEmpty() ? null : UUID.fromString(parts[1]);
+            return new Invalidation(Target.valueOf(parts[0]), id, parts[2], Long.parseLong(parts[3]));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid invalidation payload: " + payload, e);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.devoops.accommodation.cache;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Broadcasts cache invalidations to every instance of the service, this one included.
+ */
+public interface InvalidationBus {
+
+    /**
+     * Publishes {@code invalidation}; inside a transaction it is only delivered once the transaction commits.
+     */
+    default void publish(Invalidation invalidation) {
+        publishAll(List.of(invalidation));
+    }
+
+    /**
+     * Publishes {@code invalidations} together, in as few messages as the transport allows; inside a transaction
+     * they are only delivered once the transaction commits.
+     */
+    void publishAll(List<Invalidation> invalidations);
+
+    void subscribe(Consumer<Invalidation> listener);
+
+    /**
+     * Identifies this instance as the {@link Invalidation#origin()} of what it publishes.
+     */
+    String nodeId();
+}
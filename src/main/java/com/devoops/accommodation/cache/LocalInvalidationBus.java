@@ -0,0 +1,32 @@
+package com.devoops.accommodation.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+/**
+ * Delivers invalidations within this JVM only; for tests and single-instance deployments.
+ */
+public class LocalInvalidationBus extends AbstractInvalidationBus {
+
+    public LocalInvalidationBus(MeterRegistry meterRegistry) {
+        super(meterRegistry);
+    }
+
+    @Override
+    public void publishAll(List<Invalidation> invalidations) {
+        published(invalidations.size());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidations.forEach(LocalInvalidationBus.this::deliver);
+                }
+            });
+        } else {
+            invalidations.forEach(this::deliver);
+        }
+    }
+}
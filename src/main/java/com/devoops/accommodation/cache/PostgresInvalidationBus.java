@@ -0,0 +1,154 @@
+package com.devoops.accommodation.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link InvalidationBus} over PostgreSQL {@code LISTEN}/{@code NOTIFY}. Publishing runs {@code pg_notify} on
+ * the caller's connection, so PostgreSQL itself withholds the notification until the write commits and drops
+ * it on rollback. A batch of invalidations is packed, one per line, into as few notifications as the payload limit
+ * allows, all sent by a single statement. Receiving uses one dedicated connection outside the pool; after every
+ * (re)connect all local tiers are cleared, since notifications sent while disconnected are lost.
+ */
+public class PostgresInvalidationBus extends AbstractInvalidationBus implements SmartLifecycle {
+
+    static final String CHANNEL = "accommodation_cache";
+
+    private static final Logger logger = LoggerFactory.getLogger(PostgresInvalidationBus.class);
+    private static final int POLL_TIMEOUT_MILLIS = 1_000;
+    /** PostgreSQL rejects notification payloads of 8000 bytes or more; encoded invalidations are plain ASCII. */
+    private static final int MAX_PAYLOAD_LENGTH = 7_900;
+    private static final char BATCH_SEPARATOR = '\n';
+    private static final Duration MAX_RECONNECT_DELAY = Duration.ofSeconds(30);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String url;
+    private final String username;
+    private final String password;
+
+    private volatile boolean running;
+    private Thread listener;
+
+    public PostgresInvalidationBus(JdbcTemplate jdbcTemplate, String url, String username, String password,
+                                   MeterRegistry meterRegistry) {
+        super(meterRegistry);
+        this.jdbcTemplate = jdbcTemplate;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+    }
+
+    @Override
+    public void publishAll(List<Invalidation> invalidations) {
+        if (invalidations.isEmpty()) {
+            return;
+        }
+        String[] payloads = payloads(invalidations);
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "SELECT pg_notify(?, payload) FROM unnest(?) AS payload");
+            statement.setString(1, CHANNEL);
+            statement.setArray(2, connection.createArrayOf("text", payloads));
+            return statement;
+        }, (ResultSetExtractor<Void>) rs -> null);
+        published(invalidations.size());
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        listener = Thread.ofPlatform()
+                .name("accommodation-cache-invalidation")
+                .daemon()
+                .start(this::listen);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        long reconnectDelayMillis = 500;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                deliver(Invalidation.all(nodeId()));
+                reconnectDelayMillis = 500;
+                receive(connection.unwrap(PGConnection.class));
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                logger.warn("Cache invalidation listener disconnected, reconnecting in {} ms", reconnectDelayMillis, e);
+                try {
+                    Thread.sleep(reconnectDelayMillis);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+                reconnectDelayMillis = Math.min(reconnectDelayMillis * 2, MAX_RECONNECT_DELAY.toMillis());
+            }
+        }
+    }
+
+    private void receive(PGConnection connection) throws SQLException {
+        while (running) {
+            PGNotification[] notifications = connection.getNotifications(POLL_TIMEOUT_MILLIS);
+            if (notifications == null) {
+                continue;
+            }
+            for (PGNotification notification : notifications) {
+                for (String payload : notification.getParameter().split(String.valueOf(BATCH_SEPARATOR))) {
+                    try {
+                        deliver(Invalidation.decode(payload));
+                    } catch (IllegalArgumentException e) {
+                        logger.warn("Ignoring malformed cache invalidation", e);
+                    }
+                }
+            }
+        }
+    }
+
+    private static String[] payloads(List<Invalidation> invalidations) {
+        List<String> payloads = new ArrayList<>();
+        StringBuilder payload = new StringBuilder();
+        for (Invalidation invalidation : invalidations) {
+            String encoded = invalidation.encode();
+            if (!payload.isEmpty() && payload.length() + 1 + encoded.length() > MAX_PAYLOAD_LENGTH) {
+                payloads.add(payload.toString());
+                payload.setLength(0);
+            }
+            if (!payload.isEmpty()) {
+                payload.append(BATCH_SEPARATOR);
+            }
+            payload.append(encoded);
+        }
+        payloads.add(payload.toString());
+        return payloads.toArray(String[]::new);
+    }
+}
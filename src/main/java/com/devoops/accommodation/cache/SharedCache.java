@@ -0,0 +1,33 @@
+package com.devoops.accommodation.cache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Second cache tier shared by every instance of the service, e.g. Redis or Memcached. Values are opaque
+ * bytes; implementations must tolerate being unavailable by behaving as a miss.
+ */
+public interface SharedCache {
+
+    /**
+     * Returns the stored values of the keys that are present; absent keys are left out.
+     */
+    Map<String, byte[]> getAll(Collection<String> keys);
+
+    void put(String key, byte[] value, Duration ttl);
+
+    void evict(String key);
+
+    /**
+     * Drops whatever this instance holds for itself alone; called when invalidations may have been missed. A store
+     * that every instance reads is evicted by the writers directly and has nothing to drop.
+     */
+    default void clearLocal() {
+    }
+
+    default byte[] get(String key) {
+        return getAll(List.of(key)).get(key);
+    }
+}
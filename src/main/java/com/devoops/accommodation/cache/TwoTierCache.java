@@ -0,0 +1,252 @@
+package com.devoops.accommodation.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.jspecify.annotations.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Read-through cache with a Caffeine tier in front of a {@link SharedCache}. Absent values are cached as
+ * negative entries with a shorter TTL in both tiers, capped at the replica lag so that a row a lagging replica did
+ * not have yet is found once the replica catches up. Either TTL runs from when the value was loaded, whichever
+ * tier it is then copied into. Shared-tier values are the load time followed by the JSON of the value, empty for
+ * a negative entry, so staleness can be reported and bounded whichever tier answers. The
+ * Caffeine tier is also bound with {@link CaffeineCacheMetrics} under the cache name, so each lookup goes through
+ * a single Caffeine call to keep its hit and miss statistics exact.
+ */
+class TwoTierCache<V> {
+
+    private static final Logger logger = LoggerFactory.getLogger(TwoTierCache.class);
+
+    private final String keyPrefix;
+    private final Class<V> type;
+    private final Cache<UUID, Entry<V>> local;
+    private final SharedCache shared;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Duration negativeTtl;
+    private final Tier localTier;
+    private final Tier sharedTier;
+
+    TwoTierCache(String name, Class<V> type, AccommodationCacheProperties properties, SharedCache shared,
+                 ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.keyPrefix = name + ":";
+        this.type = type;
+        this.shared = shared;
+        this.objectMapper = objectMapper;
+        this.ttl = properties.ttl();
+        this.negativeTtl = properties.replicaLag().isPositive()
+                && properties.replicaLag().compareTo(properties.negativeTtl()) < 0
+                ? properties.replicaLag()
+                : properties.negativeTtl();
+        this.local = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfter(new EntryExpiry<V>(ttl.toNanos(), negativeTtl.toNanos()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, local, name);
+        this.localTier = new Tier(name, "l1", meterRegistry);
+        this.sharedTier = new Tier(name, "l2", meterRegistry);
+    }
+
+    Optional<V> get(UUID key, Function<UUID, Optional<V>> loader) {
+        boolean[] missed = new boolean[1];
+        Entry<V> entry = local.get(key, missing -> {
+            missed[0] = true;
+            localTier.miss(1);
+            return readShared(missing).orElseGet(() -> store(missing, loader.apply(missing).orElse(null)));
+        });
+        if (!missed[0]) {
+            localTier.hit(entry);
+        }
+        return Optional.ofNullable(entry.value());
+    }
+
+    /**
+     * Resolves many keys, invoking {@code loader} at most once with only the keys that neither tier holds.
+     * Keys the loader does not return are cached as negative entries and left out of the result.
+     */
+    Map<UUID, V> getAll(Collection<UUID> keys, Function<Set<UUID>, Map<UUID, V>> loader) {
+        Set<UUID> missed = new HashSet<>();
+        Map<UUID, Entry<V>> entries = local.getAll(keys, absent -> {
+            missed.addAll(absent);
+            localTier.miss(absent.size());
+            return load(Set.copyOf(absent), loader);
+        });
+
+        Map<UUID, V> found = HashMap.newHashMap(entries.size());
+        entries.forEach((key, entry) -> {
+            if (!missed.contains(key)) {
+                localTier.hit(entry);
+            }
+            if (entry.value() != null) {
+                found.put(key, entry.value());
+            }
+        });
+        return found;
+    }
+
+    /**
+     * Time left before the Caffeine tier's entry for {@code key} expires, empty when it holds none.
+     */
+    Optional<Duration> expiresAfter(UUID key) {
+        return local.policy().expireVariably().flatMap(expiration -> expiration.getExpiresAfter(key));
+    }
+
+    void invalidate(UUID key) {
+        local.invalidate(key);
+        shared.evict(keyPrefix + key);
+    }
+
+    /**
+     * Drops every entry this instance could have missed invalidations for: the Caffeine tier and whatever the shared
+     * tier keeps in this process.
+     */
+    void invalidateLocal() {
+        local.invalidateAll();
+        shared.clearLocal();
+    }
+
+    private Map<UUID, Entry<V>> load(Set<UUID> keys, Function<Set<UUID>, Map<UUID, V>> loader) {
+        Map<UUID, Entry<V>> loaded = HashMap.newHashMap(keys.size());
+        Map<String, byte[]> stored = shared.getAll(keys.stream().map(key -> keyPrefix + key).toList());
+        for (UUID key : keys) {
+            byte[] bytes = stored.get(keyPrefix + key);
+            Entry<V> entry = bytes != null ? decode(bytes) : null;
+            if (entry != null) {
+                sharedTier.hit(entry);
+                loaded.put(key, entry);
+            }
+        }
+
+        Set<UUID> remaining = new HashSet<>(keys);
+        remaining.removeAll(loaded.keySet());
+        if (!remaining.isEmpty()) {
+            sharedTier.miss(remaining.size());
+            Map<UUID, V> values = loader.apply(Set.copyOf(remaining));
+            for (UUID key : remaining) {
+                loaded.put(key, store(key, values.get(key)));
+            }
+        }
+        return loaded;
+    }
+
+    private Optional<Entry<V>> readShared(UUID key) {
+        byte[] bytes = shared.get(keyPrefix + key);
+        Entry<V> entry = bytes != null ? decode(bytes) : null;
+        if (entry == null) {
+            sharedTier.miss(1);
+            return Optional.empty();
+        }
+        sharedTier.hit(entry);
+        return Optional.of(entry);
+    }
+
+    private Entry<V> store(UUID key, V value) {
+        Entry<V> entry = new Entry<>(value, System.currentTimeMillis());
+        byte[] json = value != null ? objectMapper.writeValueAsBytes(value) : new byte[0];
+        byte[] bytes = ByteBuffer.allocate(Long.BYTES + json.length)
+                .putLong(entry.loadedAtMillis())
+                .put(json)
+                .array();
+        shared.put(keyPrefix + key, bytes, value != null ? ttl : negativeTtl);
+        return entry;
+    }
+
+    private Entry<V> decode(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        long loadedAtMillis = buffer.getLong();
+        if (!buffer.hasRemaining()) {
+            return new Entry<>(null, loadedAtMillis);
+        }
+        try {
+            V value = objectMapper.readValue(bytes, Long.BYTES, bytes.length - Long.BYTES, type);
+            return new Entry<>(value, loadedAtMillis);
+        } catch (JacksonException e) {
+            logger.warn("Discarding unreadable shared cache entry of type {}", type.getSimpleName(), e);
+            return null;
+        }
+    }
+
+    private record Entry<V>(V value, long loadedAtMillis) {
+    }
+
+    /**
+     * Hit and miss counters plus the age of the entries served, per cache and tier.
+     */
+    private static final class Tier {
+
+        private final Counter hits;
+        private final Counter misses;
+        private final Timer staleness;
+
+        Tier(String cache, String tier, MeterRegistry meterRegistry) {
+            this.hits = Counter.builder("accommodation.cache.requests")
+                    .tags("cache", cache, "tier", tier, "result", "hit")
+                    .register(meterRegistry);
+            this.misses = Counter.builder("accommodation.cache.requests")
+                    .tags("cache", cache, "tier", tier, "result", "miss")
+                    .register(meterRegistry);
+            this.staleness = Timer.builder("accommodation.cache.staleness")
+                    .description("Age of cached entries when served")
+                    .tags("cache", cache, "tier", tier)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+        }
+
+        void hit(Entry<?> entry) {
+            hits.increment();
+            staleness.record(Duration.ofMillis(Math.max(0, System.currentTimeMillis() - entry.loadedAtMillis())));
+        }
+
+        void miss(int count) {
+            misses.increment(count);
+        }
+    }
+
+    private record EntryExpiry<V>(long ttlNanos, long negativeTtlNanos) implements Expiry<UUID, Entry<V>> {
+
+        /**
+         * Counts the TTL from when the value was loaded, so that an entry filled from the shared tier does not
+         * outlive the shared-tier entry it came from.
+         */
+        @Override
+        public long expireAfterCreate(@NonNull UUID key, @NonNull Entry<V> value, long currentTime) {
+            long ageNanos = TimeUnit.MILLISECONDS.toNanos(
+                    Math.max(0, System.currentTimeMillis() - value.loadedAtMillis()));
+            return Math.max(0, (value.value() != null ? ttlNanos : negativeTtlNanos) - ageNanos);
+        }
+
+        @Override
+        public long expireAfterUpdate(@NonNull UUID key, @NonNull Entry<V> value, long currentTime,
+                                      long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(@NonNull UUID key, @NonNull Entry<V> value, long currentTime,
+                                    long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.devoops.accommodation.concurrency;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Active on both thread models: it sheds when the database slows down, whereas {@link ConcurrencyLimiterConfig}
+ * only bounds how many virtual threads reach the pool.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "accommodation.concurrency.adaptive", name = "enabled", havingValue = "true")
+public class AdaptiveConcurrencyConfig {
+
+    @Bean
+    public AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter(
+            AdaptiveConcurrencyProperties properties,
+            MeterRegistry meterRegistry
+    )
+    {
+        return new AdaptiveConcurrencyLimiter(AdaptiveConcurrencyLimiter.DEFAULT_ENDPOINT, properties, meterRegistry);
+    }
+
+    @Bean
+    public AdaptiveConcurrencyInterceptor adaptiveConcurrencyInterceptor(
+            AdaptiveConcurrencyLimiter limiter,
+            AdaptiveConcurrencyProperties properties,
+            MeterRegistry meterRegistry
+    )
+    {
+        Map<String, AdaptiveConcurrencyLimiter> endpointLimiters = new HashMap<>();
+        for (String endpoint : properties.endpoints().keySet()) {
+            endpointLimiters.put(endpoint,
+                    new AdaptiveConcurrencyLimiter(endpoint, properties.forEndpoint(endpoint), meterRegistry));
+        }
+        return new AdaptiveConcurrencyInterceptor(limiter, Map.copyOf(endpointLimiters));
+    }
+}
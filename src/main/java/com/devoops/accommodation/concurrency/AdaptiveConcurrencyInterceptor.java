@@ -0,0 +1,68 @@
+package com.devoops.accommodation.concurrency;
+
+import com.devoops.accommodation.exception.ServiceOverloadedException;
+import com.devoops.accommodation.observability.QueryStatistics;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.Map;
+
+/**
+ * Admits controller calls through the {@link AdaptiveConcurrencyLimiter} of their controller method, or the shared
+ * one when the method has no limit of its own, and reports each call's JDBC work, as collected by the request's
+ * {@link QueryStatistics}, when it completes. Async handlers keep their permit until the ASYNC dispatch completes
+ * and release it without a sample, because their database work ran on another thread.
+ */
+@RequiredArgsConstructor
+public class AdaptiveConcurrencyInterceptor implements HandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = AdaptiveConcurrencyInterceptor.class.getName() + ".permit";
+
+    private final AdaptiveConcurrencyLimiter defaultLimiter;
+    private final Map<String, AdaptiveConcurrencyLimiter> endpointLimiters;
+
+    @Override
+    public boolean preHandle(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull Object handler
+    )
+    {
+        if (!(handler instanceof HandlerMethod handlerMethod) || request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        AdaptiveConcurrencyLimiter limiter =
+                endpointLimiters.getOrDefault(handlerMethod.getMethod().getName(), defaultLimiter);
+        if (!limiter.tryAcquire()) {
+            throw new ServiceOverloadedException("Shedding load while database latency is elevated");
+        }
+        request.setAttribute(PERMIT_ATTRIBUTE, limiter);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull Object handler,
+            @Nullable Exception ex
+    )
+    {
+        if (!(request.getAttribute(PERMIT_ATTRIBUTE) instanceof AdaptiveConcurrencyLimiter limiter)) {
+            return;
+        }
+        request.removeAttribute(PERMIT_ATTRIBUTE);
+        QueryStatistics statistics = QueryStatistics.current();
+        if (statistics != null && request.getDispatcherType() != DispatcherType.ASYNC) {
+            limiter.release(statistics.statements(), statistics.jdbcTime());
+        } else {
+            limiter.release();
+        }
+    }
+}
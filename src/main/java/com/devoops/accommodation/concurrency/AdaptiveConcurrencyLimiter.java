@@ -0,0 +1,138 @@
+package com.devoops.accommodation.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Sheds requests instead of queueing them once database latency rises. The limit follows the gradient between the
+ * long-term and recent per-statement JDBC latency: while recent latency stays within {@code tolerance} of the
+ * long-term average the limit grows by its square root, and beyond that it shrinks in proportion, down to half
+ * per sample. Admission is a single CAS; samples that arrive while another is being applied are skipped.
+ * Meters are tagged with the endpoint the limiter guards, {@value #DEFAULT_ENDPOINT} for the shared one.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    public static final String DEFAULT_ENDPOINT = "default";
+
+    private static final double SHORT_WEIGHT = 0.5;
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final AdaptiveConcurrencyProperties properties;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ReentrantLock sampleLock = new ReentrantLock();
+    private final Counter rejected;
+
+    private volatile int limit;
+    private double estimate;
+    private double shortLatencyNanos;
+    private double longLatencyNanos;
+
+    public AdaptiveConcurrencyLimiter(String endpoint, AdaptiveConcurrencyProperties properties,
+                                      MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.estimate = properties.initialLimit();
+        this.limit = properties.initialLimit();
+        this.rejected = Counter.builder("accommodation.concurrency.adaptive.rejected")
+                .description("Requests shed because the adaptive concurrency limit was reached")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+        Gauge.builder("accommodation.concurrency.adaptive.limit", this, AdaptiveConcurrencyLimiter::limit)
+                .description("Current adaptive concurrency limit")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+        Gauge.builder("accommodation.concurrency.adaptive.in.flight", inFlight, AtomicInteger::get)
+                .description("Requests admitted by the adaptive concurrency limiter and still running")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+        Gauge.builder("accommodation.concurrency.adaptive.statement.latency", this, l -> l.shortLatencyNanos / 1e9)
+                .description("Recent average JDBC statement latency")
+                .tags("endpoint", endpoint, "window", "short")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("accommodation.concurrency.adaptive.statement.latency", this, l -> l.longLatencyNanos / 1e9)
+                .description("Long-term average JDBC statement latency")
+                .tags("endpoint", endpoint, "window", "long")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Admits the request if fewer than {@link #limit()} are in flight. Every {@code true} must be paired with a
+     * {@code release}.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases a permit without a latency sample, e.g. when the work continues on another thread.
+     */
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * Releases a permit and feeds the request's JDBC work into the limit. Requests without statements carry no
+     * signal about the database and only release.
+     */
+    public void release(int statements, Duration jdbcTime) {
+        int inFlightAtRelease = inFlight.getAndDecrement();
+        if (statements > 0) {
+            sample((double) jdbcTime.toNanos() / statements, inFlightAtRelease);
+        }
+    }
+
+    public int limit() {
+        return limit;
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    private void sample(double latencyNanos, int inFlightAtRelease) {
+        if (!sampleLock.tryLock()) {
+            return;
+        }
+        try {
+            if (longLatencyNanos == 0) {
+                shortLatencyNanos = latencyNanos;
+                longLatencyNanos = latencyNanos;
+            } else {
+                shortLatencyNanos += (latencyNanos - shortLatencyNanos) * SHORT_WEIGHT;
+                longLatencyNanos += (latencyNanos - longLatencyNanos) / properties.longWindow();
+            }
+            // Let the baseline recover quickly after latency drops well below it
+            if (longLatencyNanos > 2 * shortLatencyNanos) {
+                longLatencyNanos *= 0.95;
+            }
+            // Too little load to tell whether a higher limit would hurt
+            if (inFlightAtRelease < estimate / 2) {
+                return;
+            }
+
+            double gradient = Math.clamp(
+                    properties.tolerance() * longLatencyNanos / shortLatencyNanos, MIN_GRADIENT, 1.0);
+            double next = estimate * gradient + Math.sqrt(estimate);
+            estimate = Math.clamp(estimate * (1 - properties.smoothing()) + next * properties.smoothing(),
+                    properties.minLimit(), properties.maxLimit());
+            limit = (int) estimate;
+        } finally {
+            sampleLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.devoops.accommodation.concurrency;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Map;
+
+/**
+ * Concurrency limit that follows database latency instead of a fixed pool size. Off until the limits have been
+ * tuned against production latency.
+ *
+ * @param tolerance  how far per-statement latency may rise above its long-term average before the limit shrinks
+ * @param smoothing  weight of each new limit estimate, between 0 and 1
+ * @param longWindow number of samples the long-term latency average spans
+ * @param endpoints  limits keyed by controller method name, e.g. {@code createAll}; each of these endpoints gets a
+ *                   limiter of its own, while the others share the default one
+ */
+@ConfigurationProperties(prefix = "accommodation.concurrency.adaptive")
+public record AdaptiveConcurrencyProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("50") int initialLimit,
+        @DefaultValue("8") int minLimit,
+        @DefaultValue("400") int maxLimit,
+        @DefaultValue("2.0") double tolerance,
+        @DefaultValue("0.2") double smoothing,
+        @DefaultValue("600") int longWindow,
+        @DefaultValue Map<String, Limit> endpoints
+) {
+
+    /**
+     * These settings with the endpoint's limits in place of the defaults.
+     */
+    public AdaptiveConcurrencyProperties forEndpoint(String endpoint) {
+        Limit limit = endpoints.get(endpoint);
+        if (limit == null) {
+            return this;
+        }
+        return new AdaptiveConcurrencyProperties(enabled, limit.initialLimit(), limit.minLimit(), limit.maxLimit(),
+                tolerance, smoothing, longWindow, Map.of());
+    }
+
+    public record Limit(
+            @DefaultValue("50") int initialLimit,
+            @DefaultValue("8") int minLimit,
+            @DefaultValue("400") int maxLimit
+    ) {
+    }
+}
@@ -0,0 +1,52 @@
+package com.devoops.accommodation.concurrency;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Holds a {@link ConcurrencyLimiter} permit for the duration of each controller call. For async handlers
+ * (e.g. streamed exports) the permit stays with the request while the work runs on the MVC task executor, since
+ * that work holds a connection too, and is released in the completion of the ASYNC dispatch.
+ */
+@RequiredArgsConstructor
+public class ConcurrencyLimitInterceptor implements HandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".permit";
+
+    private final ConcurrencyLimiter limiter;
+
+    @Override
+    public boolean preHandle(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull Object handler
+    )
+    {
+        if (!(handler instanceof HandlerMethod) || request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        limiter.acquire();
+        request.setAttribute(PERMIT_ATTRIBUTE, Boolean.TRUE);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull Object handler,
+            @Nullable Exception ex
+    )
+    {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            limiter.release();
+        }
+    }
+}
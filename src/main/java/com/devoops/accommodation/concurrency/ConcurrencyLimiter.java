@@ -0,0 +1,115 @@
+package com.devoops.accommodation.concurrency;
+
+import com.devoops.accommodation.exception.ServiceOverloadedException;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fair semaphore sized to the JDBC pool. With virtual threads the servlet container no longer caps
+ * concurrency, so this keeps a burst waiting here, bounded and measured, instead of thousands of
+ * threads contending inside {@code getConnection}.
+ */
+public class ConcurrencyLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrencyLimiter.class);
+
+    private final Semaphore semaphore;
+    private final int permits;
+    private final int maxQueue;
+    private final long acquireTimeoutNanos;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final Timer waitTimer;
+    private final Counter rejected;
+
+    public ConcurrencyLimiter(int permits, ConcurrencyLimiterProperties properties, MeterRegistry meterRegistry) {
+        this.permits = permits;
+        this.semaphore = new Semaphore(permits, true);
+        this.maxQueue = properties.maxQueue();
+        this.acquireTimeoutNanos = properties.acquireTimeout().toNanos();
+        this.waitTimer = Timer.builder("accommodation.concurrency.permit.wait")
+                .description("Time requests wait for a database concurrency permit")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rejected = Counter.builder("accommodation.concurrency.rejected")
+                .description("Requests rejected because the concurrency limiter queue was full or timed out")
+                .register(meterRegistry);
+        Gauge.builder("accommodation.concurrency.queue.depth", waiting, AtomicInteger::get)
+                .description("Requests waiting for a database concurrency permit")
+                .register(meterRegistry);
+        Gauge.builder("accommodation.concurrency.permits.in.use", this, ConcurrencyLimiter::inUse)
+                .description("Database concurrency permits currently held")
+                .register(meterRegistry);
+    }
+
+    public static int poolSize(DataSource dataSource, ConcurrencyLimiterProperties properties) {
+        if (properties.permits() > 0) {
+            return properties.permits();
+        }
+        try {
+            return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+        } catch (SQLException e) {
+            throw new IllegalStateException(
+                    "accommodation.concurrency.permits must be set when the DataSource is not Hikari", e);
+        }
+    }
+
+    /**
+     * Takes a permit, waiting at most the configured timeout.
+     *
+     * @throws ServiceOverloadedException if the wait queue is full or the timeout elapses
+     */
+    public void acquire() {
+        if (semaphore.tryAcquire()) {
+            waitTimer.record(0, TimeUnit.NANOSECONDS);
+            return;
+        }
+        if (waiting.incrementAndGet() > maxQueue) {
+            waiting.decrementAndGet();
+            rejected.increment();
+            throw new ServiceOverloadedException("Too many concurrent requests");
+        }
+
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = semaphore.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        } finally {
+            waiting.decrementAndGet();
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        if (!acquired) {
+            rejected.increment();
+            if (logger.isDebugEnabled()) {
+                logger.debug("Timed out waiting for a concurrency permit ({} in use)", inUse());
+            }
+            throw new ServiceOverloadedException("Timed out waiting for capacity");
+        }
+    }
+
+    public void release() {
+        semaphore.release();
+    }
+
+    int queueDepth() {
+        return waiting.get();
+    }
+
+    int inUse() {
+        return permits - semaphore.availablePermits();
+    }
+}
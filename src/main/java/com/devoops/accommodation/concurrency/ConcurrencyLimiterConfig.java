@@ -0,0 +1,32 @@
+package com.devoops.accommodation.concurrency;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Only active with {@code spring.threads.virtual.enabled=true}; on platform threads Tomcat's pool is the limit.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class ConcurrencyLimiterConfig {
+
+    @Bean
+    public ConcurrencyLimiter concurrencyLimiter(
+            DataSource dataSource,
+            ConcurrencyLimiterProperties properties,
+            MeterRegistry meterRegistry
+    )
+    {
+        return new ConcurrencyLimiter(ConcurrencyLimiter.poolSize(dataSource, properties), properties, meterRegistry);
+    }
+
+    @Bean
+    public ConcurrencyLimitInterceptor concurrencyLimitInterceptor(ConcurrencyLimiter concurrencyLimiter) {
+        return new ConcurrencyLimitInterceptor(concurrencyLimiter);
+    }
+}
@@ -0,0 +1,18 @@
+package com.devoops.accommodation.concurrency;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Bounds how many requests may work against the database at once when requests run on virtual threads.
+ * A {@code permits} value of 0 sizes the limiter to the Hikari pool.
+ */
+@ConfigurationProperties(prefix = "accommodation.concurrency")
+public record ConcurrencyLimiterProperties(
+        @DefaultValue("0") int permits,
+        @DefaultValue("500") int maxQueue,
+        @DefaultValue("2s") Duration acquireTimeout
+) {
+}
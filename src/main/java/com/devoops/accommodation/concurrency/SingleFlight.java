@@ -0,0 +1,73 @@
+package com.devoops.accommodation.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls for the same key: the first caller runs the loader, callers arriving while it is
+ * in flight wait for and share its result or exception. Nothing is retained once the load completes.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter loads;
+    private final Counter coalesced;
+
+    public SingleFlight(String operation, MeterRegistry meterRegistry) {
+        this.loads = Counter.builder("accommodation.singleflight.calls")
+                .description("Calls that ran their own load or joined one already in flight")
+                .tag("operation", operation)
+                .tag("result", "load")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("accommodation.singleflight.calls")
+                .description("Calls that ran their own load or joined one already in flight")
+                .tag("operation", operation)
+                .tag("result", "coalesced")
+                .register(meterRegistry);
+    }
+
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+
+        loads.increment();
+        try {
+            V value = loader.get();
+            call.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    int inFlight() {
+        return inFlight.size();
+    }
+
+    private V await(CompletableFuture<V> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
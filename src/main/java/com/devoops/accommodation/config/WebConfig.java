@@ -1,6 +1,10 @@
 package com.devoops.accommodation.config;
 
+import com.devoops.accommodation.concurrency.AdaptiveConcurrencyInterceptor;
+import com.devoops.accommodation.concurrency.ConcurrencyLimitInterceptor;
+import com.devoops.accommodation.ratelimit.RateLimitInterceptor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
@@ -13,6 +17,9 @@ import java.util.List;
 public class WebConfig implements WebMvcConfigurer {
 
     private final RoleAuthorizationInterceptor roleAuthorizationInterceptor;
+    private final ObjectProvider<RateLimitInterceptor> rateLimitInterceptor;
+    private final ObjectProvider<AdaptiveConcurrencyInterceptor> adaptiveConcurrencyInterceptor;
+    private final ObjectProvider<ConcurrencyLimitInterceptor> concurrencyLimitInterceptor;
 
     @Override
     public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
@@ -22,6 +29,9 @@ public class WebConfig implements WebMvcConfigurer {
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
         registry.addInterceptor(roleAuthorizationInterceptor);
+        rateLimitInterceptor.ifAvailable(registry::addInterceptor);
+        adaptiveConcurrencyInterceptor.ifAvailable(registry::addInterceptor);
+        concurrencyLimitInterceptor.ifAvailable(registry::addInterceptor);
     }
 
 }
\ No newline at end of file
@@ -1,18 +1,32 @@
 package com.devoops.accommodation.controller;
 
+import com.devoops.accommodation.cache.EncodedAccommodation;
 import com.devoops.accommodation.config.RequireRole;
 import com.devoops.accommodation.config.UserContext;
+import com.devoops.accommodation.dto.request.AccommodationSearchRequest;
+import com.devoops.accommodation.dto.request.BatchGetRequest;
+import com.devoops.accommodation.dto.request.BulkCreateAccommodationRequest;
 import com.devoops.accommodation.dto.request.CreateAccommodationRequest;
 import com.devoops.accommodation.dto.request.UpdateAccommodationRequest;
 import com.devoops.accommodation.dto.response.AccommodationResponse;
+import com.devoops.accommodation.dto.response.BatchGetResponse;
+import com.devoops.accommodation.dto.response.BulkCreateResponse;
+import com.devoops.accommodation.dto.response.ChangeFeedPage;
+import com.devoops.accommodation.dto.response.CursorPage;
 import com.devoops.accommodation.service.AccommodationService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectWriter;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.UUID;
 
 @RestController
@@ -21,6 +35,7 @@ import java.util.UUID;
 public class AccommodationController {
 
     private final AccommodationService accommodationService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     @RequireRole("HOST")
@@ -28,17 +43,86 @@ public class AccommodationController {
             @Valid @RequestBody CreateAccommodationRequest request,
             UserContext userContext) {
         AccommodationResponse response = accommodationService.create(request, userContext);
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(AccommodationETags.of(response)).body(response);
     }
 
+    @PostMapping("/bulk")
+    @RequireRole("HOST")
+    public ResponseEntity<BulkCreateResponse> createAll(
+            @Valid @RequestBody BulkCreateAccommodationRequest request,
+            UserContext userContext) {
+        return ResponseEntity.ok(accommodationService.createAll(request.items(), userContext));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<CursorPage<AccommodationResponse>> search(
+            @Valid AccommodationSearchRequest criteria,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(accommodationService.search(criteria, cursor, limit));
+    }
+
+    @GetMapping("/changes")
+    public ResponseEntity<ChangeFeedPage> getChanges(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(accommodationService.getChanges(cursor, limit));
+    }
+
+    /**
+     * Writes the cached JSON, or its gzip when the client accepts it, without going through the object mapper.
+     * Each encoding gets its own ETag; an {@code If-None-Match} naming either one is answered with 304.
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<AccommodationResponse> getById(@PathVariable UUID id) {
-        return ResponseEntity.ok(accommodationService.getById(id));
+    public ResponseEntity<byte[]> getById(
+            @PathVariable UUID id,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        EncodedAccommodation encoded = accommodationService.getEncodedById(id);
+        boolean gzip = encoded.gzip() != null && acceptsGzip(acceptEncoding);
+        String eTag = AccommodationETags.of(encoded.response(), gzip);
+        if (AccommodationETags.matchesIfNoneMatch(ifNoneMatch, encoded.response())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(eTag)
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .eTag(eTag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(encoded.gzip());
+        }
+        return builder.body(encoded.json());
+    }
+
+    @PostMapping("/batch-get")
+    public ResponseEntity<BatchGetResponse> getByIds(@Valid @RequestBody BatchGetRequest request) {
+        return ResponseEntity.ok(accommodationService.getByIds(request.ids()));
     }
 
     @GetMapping("/host/{hostId}")
-    public ResponseEntity<List<AccommodationResponse>> getByHostId(@PathVariable UUID hostId) {
-        return ResponseEntity.ok(accommodationService.getByHostId(hostId));
+    public ResponseEntity<CursorPage<AccommodationResponse>> getByHostId(
+            @PathVariable UUID hostId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(accommodationService.getByHostId(hostId, cursor, limit));
+    }
+
+    @GetMapping(value = "/host/{hostId}/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportByHostId(@PathVariable UUID hostId) {
+        ObjectWriter writer = objectMapper.writerFor(AccommodationResponse.class);
+        StreamingResponseBody body = outputStream -> accommodationService.streamByHostId(hostId, response -> {
+            try {
+                outputStream.write(writer.writeValueAsBytes(response));
+                outputStream.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 
     @PutMapping("/{id}")
@@ -46,14 +130,33 @@ public class AccommodationController {
     public ResponseEntity<AccommodationResponse> update(
             @PathVariable UUID id,
             @Valid @RequestBody UpdateAccommodationRequest request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             UserContext userContext) {
-        return ResponseEntity.ok(accommodationService.update(id, request, userContext));
+        AccommodationResponse response = accommodationService.update(
+                id, request, userContext, AccommodationETags.parseIfMatch(ifMatch));
+        return ResponseEntity.ok().eTag(AccommodationETags.of(response)).body(response);
     }
 
     @DeleteMapping("/{id}")
     @RequireRole("HOST")
-    public ResponseEntity<Void> delete(@PathVariable UUID id, UserContext userContext) {
-        accommodationService.delete(id, userContext);
+    public ResponseEntity<Void> delete(
+            @PathVariable UUID id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            UserContext userContext) {
+        accommodationService.delete(id, userContext, AccommodationETags.parseIfMatch(ifMatch));
         return ResponseEntity.noContent().build();
     }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length < 2 || !parts[1].trim().matches("q=0(\\.0{0,3})?");
+            }
+        }
+        return false;
+    }
 }
@@ -0,0 +1,91 @@
+package com.devoops.accommodation.controller;
+
+import com.devoops.accommodation.dto.response.AccommodationResponse;
+import com.devoops.accommodation.exception.PreconditionFailedException;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Maps the accommodation {@code version} to and from strong ETags of the form {@code "3"}, or {@code "3-gzip"}
+ * for the gzip-encoded representation so caches never mix the two up.
+ */
+final class AccommodationETags {
+
+    private static final String GZIP_SUFFIX = "-gzip";
+
+    private AccommodationETags() {
+    }
+
+    static String of(AccommodationResponse response) {
+        return "\"" + response.version() + "\"";
+    }
+
+    static String of(AccommodationResponse response, boolean gzip) {
+        return gzip ? "\"" + response.version() + GZIP_SUFFIX + "\"" : of(response);
+    }
+
+    /**
+     * Whether an {@code If-None-Match} header matches either representation of the current version, compared
+     * weakly as RFC 9110 requires, so a client revalidating with the tag of the other encoding still gets a 304.
+     */
+    static boolean matchesIfNoneMatch(String ifNoneMatch, AccommodationResponse response) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        String identity = of(response, false);
+        String gzip = of(response, true);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(identity) || tag.equals(gzip)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the versions an {@code If-Match} header accepts, or {@code null} when the header is absent or
+     * {@code *}. The header may list several tags; both the identity and the gzip tag name the same version.
+     * Weak and unparsable tags can never match strongly and are skipped, and a header left with none is rejected.
+     */
+    static Set<Long> parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return null;
+        }
+
+        Set<Long> versions = new LinkedHashSet<>();
+        for (String candidate : ifMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return null;
+            }
+            Long version = parseStrongTag(tag);
+            if (version != null) {
+                versions.add(version);
+            }
+        }
+        if (versions.isEmpty()) {
+            throw new PreconditionFailedException("If-Match does not match the current version");
+        }
+        return versions;
+    }
+
+    private static Long parseStrongTag(String tag) {
+        if (tag.length() < 3 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+            return null;
+        }
+        String version = tag.substring(1, tag.length() - 1);
+        if (version.endsWith(GZIP_SUFFIX)) {
+            version = version.substring(0, version.length() - GZIP_SUFFIX.length());
+        }
+        try {
+            return Long.parseLong(version);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.devoops.accommodation.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Pins read-only work on the current thread to the primary. Meant for reads that must see a write the caller
+ * already knows was committed, and whose result nothing re-checks later. Without replicas this is a no-op.
+ */
+public final class PrimaryReads {
+
+    private static final ThreadLocal<Boolean> ACTIVE = new ThreadLocal<>();
+
+    private PrimaryReads() {
+    }
+
+    public static <T> T call(Supplier<T> read) {
+        if (ACTIVE.get() != null) {
+            return read.get();
+        }
+        ACTIVE.set(Boolean.TRUE);
+        try {
+            return read.get();
+        } finally {
+            ACTIVE.remove();
+        }
+    }
+
+    static boolean isActive() {
+        return ACTIVE.get() != null;
+    }
+}
@@ -0,0 +1,26 @@
+package com.devoops.accommodation.datasource;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically validates the replicas so that a failed one rejoins the read rotation once it recovers.
+ */
+@Component
+@ConditionalOnProperty(prefix = "accommodation.datasource.replica", name = "urls")
+@RequiredArgsConstructor
+public class ReplicaHealthChecker {
+
+    private final ReplicaRoutingDataSource replicaRoutingDataSource;
+    private final ReplicaProperties properties;
+    private final TaskScheduler taskScheduler;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        taskScheduler.scheduleWithFixedDelay(replicaRoutingDataSource::checkHealth, properties.healthCheckInterval());
+    }
+}
@@ -0,0 +1,22 @@
+package com.devoops.accommodation.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Read replicas for read-only transactions. Routing is only enabled when {@code urls} is set; credentials
+ * default to the primary's.
+ */
+@ConfigurationProperties(prefix = "accommodation.datasource.replica")
+public record ReplicaProperties(
+        @DefaultValue List<String> urls,
+        String username,
+        String password,
+        @DefaultValue("10") int maximumPoolSize,
+        @DefaultValue("2s") Duration connectionTimeout,
+        @DefaultValue("10s") Duration healthCheckInterval
+) {
+}
@@ -0,0 +1,73 @@
+package com.devoops.accommodation.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits the {@code DataSource} into a primary pool and replica pools. The exposed {@code @Primary} bean is a
+ * {@link LazyConnectionDataSourceProxy}, which defers fetching a connection until the transaction's read-only
+ * flag is known and then serves {@code @Transactional(readOnly = true)} work from the replicas, except inside
+ * {@link PrimaryReads#call}.
+ * Hikari pools report metrics under their pool names ({@code primary}, {@code replica-0}, ...).
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "accommodation.datasource.replica", name = "urls")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            HikariDataSource primaryDataSource,
+            DataSourceProperties dataSourceProperties,
+            ReplicaProperties replicaProperties,
+            MeterRegistry meterRegistry
+    )
+    {
+        MicrometerMetricsTrackerFactory metricsTrackerFactory = new MicrometerMetricsTrackerFactory(meterRegistry);
+        List<ReplicaRoutingDataSource.Replica> replicas = new ArrayList<>();
+        for (int i = 0; i < replicaProperties.urls().size(); i++) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + i);
+            replica.setJdbcUrl(replicaProperties.urls().get(i));
+            replica.setDriverClassName(dataSourceProperties.determineDriverClassName());
+            replica.setUsername(replicaProperties.username() != null
+                    ? replicaProperties.username() : dataSourceProperties.determineUsername());
+            replica.setPassword(replicaProperties.password() != null
+                    ? replicaProperties.password() : dataSourceProperties.determinePassword());
+            replica.setMaximumPoolSize(replicaProperties.maximumPoolSize());
+            replica.setConnectionTimeout(replicaProperties.connectionTimeout().toMillis());
+            replica.setReadOnly(true);
+            replica.setMetricsTrackerFactory(metricsTrackerFactory);
+            replicas.add(new ReplicaRoutingDataSource.Replica(replica.getPoolName(), replica));
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, replicaProperties.connectionTimeout(),
+                meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaRoutingDataSource replicaRoutingDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaRoutingDataSource);
+        return dataSource;
+    }
+}
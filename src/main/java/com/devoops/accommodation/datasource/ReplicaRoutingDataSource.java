@@ -0,0 +1,150 @@
+package com.devoops.accommodation.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out connections round-robin from the healthy replicas and falls back to the primary when none is
+ * usable. A replica that fails to produce a connection is taken out of rotation until
+ * {@link #checkHealth()} sees it answer again. Reads inside {@link PrimaryReads#call} always go to the primary.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final int validationTimeoutSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter fallbacks;
+    private final Counter pinned;
+
+    public ReplicaRoutingDataSource(
+            DataSource primary,
+            List<Replica> replicas,
+            Duration validationTimeout,
+            MeterRegistry meterRegistry
+    )
+    {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.validationTimeoutSeconds = (int) Math.max(1, validationTimeout.toSeconds());
+        this.fallbacks = Counter.builder("accommodation.datasource.replica.fallback")
+                .description("Read-only connections served by the primary because no replica was healthy")
+                .register(meterRegistry);
+        this.pinned = Counter.builder("accommodation.datasource.replica.pinned")
+                .description("Read-only connections served by the primary because the caller pinned it")
+                .register(meterRegistry);
+        for (Replica replica : this.replicas) {
+            Gauge.builder("accommodation.datasource.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+                    .description("Whether the replica is in the read rotation")
+                    .tag("replica", replica.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (PrimaryReads.isActive()) {
+            pinned.increment();
+            return primary.getConnection();
+        }
+
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (!replica.healthy) {
+                continue;
+            }
+            try {
+                return replica.dataSource().getConnection();
+            } catch (SQLException e) {
+                markUnhealthy(replica, e);
+            }
+        }
+
+        fallbacks.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Replica routing does not support per-call credentials");
+    }
+
+    /**
+     * Validates every replica and updates the rotation.
+     */
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            boolean valid;
+            try (Connection connection = replica.dataSource().getConnection()) {
+                valid = connection.isValid(validationTimeoutSeconds);
+            } catch (SQLException e) {
+                valid = false;
+            }
+
+            if (valid && !replica.healthy) {
+                logger.info("Replica {} is healthy again", replica.name());
+            } else if (!valid && replica.healthy) {
+                logger.warn("Replica {} failed its health check", replica.name());
+            }
+            replica.healthy = valid;
+        }
+    }
+
+    boolean isHealthy(String name) {
+        return replicas.stream().anyMatch(replica -> replica.name().equals(name) && replica.healthy);
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (Replica replica : replicas) {
+            if (replica.dataSource() instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private void markUnhealthy(Replica replica, SQLException e) {
+        if (replica.healthy) {
+            logger.warn("Taking replica {} out of rotation: {}", replica.name(), e.getMessage());
+        }
+        replica.healthy = false;
+    }
+
+    public static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        public Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        String name() {
+            return name;
+        }
+
+        DataSource dataSource() {
+            return dataSource;
+        }
+    }
+}
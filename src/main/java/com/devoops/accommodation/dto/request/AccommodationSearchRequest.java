@@ -0,0 +1,20 @@
+package com.devoops.accommodation.dto.request;
+
+import com.devoops.accommodation.entity.AmenityType;
+import com.devoops.accommodation.entity.ApprovalMode;
+import com.devoops.accommodation.entity.PricingMode;
+import jakarta.validation.constraints.Min;
+
+import java.util.Set;
+
+public record AccommodationSearchRequest(
+        @Min(value = 1, message = "Guests must be at least 1")
+        Integer guests,
+
+        PricingMode pricingMode,
+
+        ApprovalMode approvalMode,
+
+        Set<AmenityType> amenities
+) {
+}
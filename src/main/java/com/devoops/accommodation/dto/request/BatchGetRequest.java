@@ -0,0 +1,15 @@
+package com.devoops.accommodation.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+public record BatchGetRequest(
+        @NotEmpty(message = "At least one ID is required")
+        @Size(max = 200, message = "At most 200 IDs can be fetched at once")
+        List<@NotNull(message = "IDs must not be null") UUID> ids
+) {
+}
@@ -0,0 +1,13 @@
+package com.devoops.accommodation.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record BulkCreateAccommodationRequest(
+        @NotEmpty(message = "At least one accommodation is required")
+        @Size(max = 500, message = "At most 500 accommodations can be created at once")
+        List<CreateAccommodationRequest> items
+) {
+}
@@ -0,0 +1,15 @@
+package com.devoops.accommodation.dto.response;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One change-feed entry; {@code accommodation} is {@code null} for a deletion tombstone.
+ */
+public record AccommodationChange(
+        UUID id,
+        boolean deleted,
+        LocalDateTime updatedAt,
+        AccommodationResponse accommodation
+) {
+}
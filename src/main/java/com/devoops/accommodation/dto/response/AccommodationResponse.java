@@ -19,6 +19,7 @@ public record AccommodationResponse(
         ApprovalMode approvalMode,
         List<AmenityType> amenities,
         LocalDateTime createdAt,
-        LocalDateTime updatedAt
+        LocalDateTime updatedAt,
+        long version
 ) {
 }
@@ -0,0 +1,10 @@
+package com.devoops.accommodation.dto.response;
+
+import java.util.List;
+import java.util.UUID;
+
+public record BatchGetResponse(
+        List<AccommodationResponse> accommodations,
+        List<UUID> missing
+) {
+}
@@ -0,0 +1,19 @@
+package com.devoops.accommodation.dto.response;
+
+import java.util.List;
+
+public record BulkCreateItemResult(
+        int index,
+        boolean created,
+        AccommodationResponse accommodation,
+        List<String> errors
+) {
+
+    public static BulkCreateItemResult created(int index, AccommodationResponse accommodation) {
+        return new BulkCreateItemResult(index, true, accommodation, List.of());
+    }
+
+    public static BulkCreateItemResult failed(int index, List<String> errors) {
+        return new BulkCreateItemResult(index, false, null, errors);
+    }
+}
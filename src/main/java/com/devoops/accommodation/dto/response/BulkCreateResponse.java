@@ -0,0 +1,10 @@
+package com.devoops.accommodation.dto.response;
+
+import java.util.List;
+
+public record BulkCreateResponse(
+        int created,
+        int failed,
+        List<BulkCreateItemResult> results
+) {
+}
@@ -0,0 +1,14 @@
+package com.devoops.accommodation.dto.response;
+
+import java.util.List;
+
+/**
+ * Unlike {@link CursorPage}, {@code nextCursor} is always set so that consumers can resume from it later,
+ * even after reaching the current end of the feed; {@code hasMore} says whether to keep paging now.
+ */
+public record ChangeFeedPage(
+        List<AccommodationChange> changes,
+        String nextCursor,
+        boolean hasMore
+) {
+}
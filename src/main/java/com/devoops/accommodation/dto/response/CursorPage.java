@@ -0,0 +1,23 @@
+package com.devoops.accommodation.dto.response;
+
+import com.devoops.accommodation.pagination.KeysetCursor;
+
+import java.util.List;
+import java.util.function.Function;
+
+public record CursorPage<T>(
+        List<T> items,
+        String nextCursor
+) {
+
+    /**
+     * Builds a page from up to {@code limit + 1} rows; the extra row only signals that a next page exists.
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int limit, Function<T, KeysetCursor> cursorOf) {
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new CursorPage<>(items, cursorOf.apply(items.getLast()).encode());
+    }
+}
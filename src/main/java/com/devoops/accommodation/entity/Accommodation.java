@@ -5,18 +5,20 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.SQLRestriction;
 import org.hibernate.type.SqlTypes;
 
 import lombok.Builder;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.EnumSet;
+import java.util.Set;
 import java.util.UUID;
 
 @Entity
 @Table(name = "accommodations")
+@DynamicUpdate
 @SQLRestriction("is_deleted = false")
 @Getter
 @Setter
@@ -50,8 +52,7 @@ public class Accommodation extends BaseEntity {
     private ApprovalMode approvalMode;
 
     @Builder.Default
-    @Enumerated(EnumType.STRING)
-    @JdbcTypeCode(SqlTypes.ARRAY)
-    @Column(nullable = false, columnDefinition = "text[]")
-    private List<AmenityType> amenities = new ArrayList<>();
+    @Convert(converter = AmenitySetConverter.class)
+    @Column(name = "amenity_mask", nullable = false)
+    private Set<AmenityType> amenities = EnumSet.noneOf(AmenityType.class);
 }
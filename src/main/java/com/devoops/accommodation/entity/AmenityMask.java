@@ -0,0 +1,55 @@
+package com.devoops.accommodation.entity;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Packs a set of {@link AmenityType}s into a bitmask where bit {@code n} is the amenity with ordinal {@code n}.
+ * New amenity types must be appended to the enum so existing masks keep their meaning.
+ */
+public final class AmenityMask {
+
+    private static final AmenityType[] TYPES = AmenityType.values();
+
+    static {
+        if (TYPES.length > Short.SIZE - 1) {
+            throw new IllegalStateException("AmenityType no longer fits in a smallint bitmask");
+        }
+    }
+
+    private AmenityMask() {
+    }
+
+    public static short of(Collection<AmenityType> amenities) {
+        int mask = 0;
+        if (amenities != null) {
+            for (AmenityType amenity : amenities) {
+                mask |= 1 << amenity.ordinal();
+            }
+        }
+        return (short) mask;
+    }
+
+    public static Set<AmenityType> toSet(short mask) {
+        EnumSet<AmenityType> amenities = EnumSet.noneOf(AmenityType.class);
+        for (AmenityType type : TYPES) {
+            if ((mask & (1 << type.ordinal())) != 0) {
+                amenities.add(type);
+            }
+        }
+        return amenities;
+    }
+
+    public static List<AmenityType> toList(short mask) {
+        return new ArrayList<>(toSet(mask));
+    }
+
+    public static Set<AmenityType> copyOf(Collection<AmenityType> amenities) {
+        return amenities == null || amenities.isEmpty()
+                ? EnumSet.noneOf(AmenityType.class)
+                : EnumSet.copyOf(amenities);
+    }
+}
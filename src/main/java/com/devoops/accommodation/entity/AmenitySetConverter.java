@@ -0,0 +1,20 @@
+package com.devoops.accommodation.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.Set;
+
+@Converter
+public class AmenitySetConverter implements AttributeConverter<Set<AmenityType>, Short> {
+
+    @Override
+    public Short convertToDatabaseColumn(Set<AmenityType> amenities) {
+        return AmenityMask.of(amenities);
+    }
+
+    @Override
+    public Set<AmenityType> convertToEntityAttribute(Short mask) {
+        return AmenityMask.toSet(mask != null ? mask : 0);
+    }
+}
@@ -30,6 +30,10 @@ public abstract class BaseEntity {
     @UpdateTimestamp
     private LocalDateTime updatedAt;
 
+    @Version
+    @Column(nullable = false)
+    private long version;
+
     @Builder.Default
     @Column(nullable = false)
     private boolean isDeleted = false;
@@ -0,0 +1,8 @@
+package com.devoops.accommodation.exception;
+
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,16 @@
+package com.devoops.accommodation.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+@Getter
+public class RateLimitExceededException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public RateLimitExceededException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+}
@@ -0,0 +1,8 @@
+package com.devoops.accommodation.exception;
+
+public class ServiceOverloadedException extends RuntimeException {
+
+    public ServiceOverloadedException(String message) {
+        super(message);
+    }
+}
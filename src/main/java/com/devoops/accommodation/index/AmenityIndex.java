@@ -0,0 +1,290 @@
+package com.devoops.accommodation.index;
+
+import com.devoops.accommodation.dto.request.AccommodationSearchRequest;
+import com.devoops.accommodation.dto.response.AccommodationResponse;
+import com.devoops.accommodation.entity.AmenityMask;
+import com.devoops.accommodation.pagination.KeysetCursor;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory index of every live accommodation's searchable attributes, packed into primitive
+ * columns so amenity, capacity and mode filters run as a scan without touching Postgres.
+ * Results are ordered by {@code (created_at, id)} exactly like the SQL search, so cursors are interchangeable.
+ */
+@Component
+public class AmenityIndex {
+
+    private final boolean enabled;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Columns columns = new Columns();
+    private List<Consumer<Columns>> pendingWrites;
+    private volatile boolean ready;
+    private volatile int size;
+
+    public AmenityIndex(AmenityIndexProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.enabled();
+        Gauge.builder("accommodation.amenity.index.size", this, AmenityIndex::size)
+                .description("Live accommodations held in the in-memory amenity index")
+                .register(meterRegistry);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Replaces the index contents with the rows produced by {@code source}. Writes that arrive while
+     * the source is being read are replayed on top of the fresh snapshot before it is published.
+     */
+    public synchronized void rebuild(Consumer<Consumer<AccommodationResponse>> source) {
+        if (!enabled) {
+            return;
+        }
+
+        withWriteLock(() -> pendingWrites = new ArrayList<>());
+
+        Columns fresh = new Columns();
+        try {
+            source.accept(fresh::put);
+        } catch (RuntimeException e) {
+            withWriteLock(() -> pendingWrites = null);
+            throw e;
+        }
+
+        withWriteLock(() -> {
+            pendingWrites.forEach(write -> write.accept(fresh));
+            pendingWrites = null;
+            columns = fresh;
+            size = fresh.slots.size();
+            ready = true;
+        });
+    }
+
+    /**
+     * Indexes the accommodation, after commit when called inside a transaction.
+     */
+    public void upsert(AccommodationResponse accommodation) {
+        if (enabled) {
+            afterCommit(() -> apply(c -> c.put(accommodation)));
+        }
+    }
+
+    /**
+     * Drops the accommodation from the index, after commit when called inside a transaction.
+     */
+    public void remove(UUID id) {
+        if (enabled) {
+            afterCommit(() -> apply(c -> c.remove(id)));
+        }
+    }
+
+    /**
+     * Returns the keyset positions of up to {@code limit} accommodations matching every non-null criterion,
+     * ordered by {@code (created_at, id)} and strictly after {@code after} when given.
+     */
+    public List<KeysetCursor> search(AccommodationSearchRequest criteria, KeysetCursor after, int limit) {
+        if (limit < 1) {
+            return List.of();
+        }
+        short required = AmenityMask.of(criteria.amenities());
+        int guests = criteria.guests() != null ? criteria.guests() : -1;
+        int pricingMode = criteria.pricingMode() != null ? criteria.pricingMode().ordinal() : -1;
+        int approvalMode = criteria.approvalMode() != null ? criteria.approvalMode().ordinal() : -1;
+        long afterCreatedAt = after != null ? toMicros(after.position()) : Long.MIN_VALUE;
+        UUID afterId = after != null ? after.id() : null;
+
+        lock.readLock().lock();
+        try {
+            Columns c = columns;
+            // the first matches in (created_at, id) order, kept sorted; a match past the last one is skipped
+            int[] top = new int[limit];
+            int count = 0;
+            for (int slot = 0; slot < c.highWaterMark; slot++) {
+                if (c.ids[slot] == null
+                        || (c.amenities[slot] & required) != required
+                        || (guests >= 0 && (c.minGuests[slot] > guests || c.maxGuests[slot] < guests))
+                        || (pricingMode >= 0 && c.pricingModes[slot] != pricingMode)
+                        || (approvalMode >= 0 && c.approvalModes[slot] != approvalMode)
+                        || (afterId != null && c.compareTo(slot, afterCreatedAt, afterId) <= 0)
+                        || (count == limit && c.compare(slot, top[count - 1]) >= 0)) {
+                    continue;
+                }
+                int at = count < limit ? count++ : count - 1;
+                while (at > 0 && c.compare(slot, top[at - 1]) < 0) {
+                    top[at] = top[at - 1];
+                    at--;
+                }
+                top[at] = slot;
+            }
+
+            KeysetCursor[] positions = new KeysetCursor[count];
+            for (int i = 0; i < count; i++) {
+                positions[i] = new KeysetCursor(fromMicros(c.createdAt[top[i]]), c.ids[top[i]]);
+            }
+            return Arrays.asList(positions);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Applies the same criteria as {@link #search} to a resolved accommodation, which may have changed or been
+     * deleted since the index was read.
+     */
+    public static boolean matches(AccommodationSearchRequest criteria, AccommodationResponse accommodation) {
+        short required = AmenityMask.of(criteria.amenities());
+        Integer guests = criteria.guests();
+        return (AmenityMask.of(accommodation.amenities()) & required) == required
+                && (guests == null || (accommodation.minGuests() <= guests && accommodation.maxGuests() >= guests))
+                && (criteria.pricingMode() == null || accommodation.pricingMode() == criteria.pricingMode())
+                && (criteria.approvalMode() == null || accommodation.approvalMode() == criteria.approvalMode());
+    }
+
+    private void apply(Consumer<Columns> write) {
+        withWriteLock(() -> {
+            write.accept(columns);
+            if (pendingWrites != null) {
+                pendingWrites.add(write);
+            }
+            size = columns.slots.size();
+        });
+    }
+
+    private void withWriteLock(Runnable action) {
+        lock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Timestamps are compared at the microsecond precision Postgres stores, rounding like Postgres does.
+     */
+    static long toMicros(LocalDateTime timestamp) {
+        return timestamp.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + (timestamp.getNano() + 500) / 1_000;
+    }
+
+    static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    /**
+     * Postgres orders uuids by their unsigned bytes, unlike {@link UUID#compareTo(UUID)}.
+     */
+    static int compareUuids(UUID a, UUID b) {
+        int result = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return result != 0 ? result : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+
+    private static final class Columns {
+
+        private static final int INITIAL_CAPACITY = 1024;
+
+        private final Map<UUID, Integer> slots = new HashMap<>();
+        private int[] freeSlots = new int[16];
+        private int freeCount;
+        private int highWaterMark;
+
+        private UUID[] ids = new UUID[INITIAL_CAPACITY];
+        private long[] createdAt = new long[INITIAL_CAPACITY];
+        private short[] amenities = new short[INITIAL_CAPACITY];
+        private int[] minGuests = new int[INITIAL_CAPACITY];
+        private int[] maxGuests = new int[INITIAL_CAPACITY];
+        private byte[] pricingModes = new byte[INITIAL_CAPACITY];
+        private byte[] approvalModes = new byte[INITIAL_CAPACITY];
+
+        void put(AccommodationResponse accommodation) {
+            Integer existing = slots.get(accommodation.id());
+            int slot = existing != null ? existing : allocate(accommodation.id());
+            ids[slot] = accommodation.id();
+            createdAt[slot] = toMicros(accommodation.createdAt());
+            amenities[slot] = AmenityMask.of(accommodation.amenities());
+            minGuests[slot] = accommodation.minGuests();
+            maxGuests[slot] = accommodation.maxGuests();
+            pricingModes[slot] = (byte) accommodation.pricingMode().ordinal();
+            approvalModes[slot] = (byte) accommodation.approvalMode().ordinal();
+        }
+
+        void remove(UUID id) {
+            Integer slot = slots.remove(id);
+            if (slot == null) {
+                return;
+            }
+            ids[slot] = null;
+            if (freeCount == freeSlots.length) {
+                freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+            }
+            freeSlots[freeCount++] = slot;
+        }
+
+        int compare(int a, int b) {
+            return compareTo(a, createdAt[b], ids[b]);
+        }
+
+        int compareTo(int slot, long otherCreatedAt, UUID otherId) {
+            int result = Long.compare(createdAt[slot], otherCreatedAt);
+            return result != 0 ? result : compareUuids(ids[slot], otherId);
+        }
+
+        private int allocate(UUID id) {
+            int slot;
+            if (freeCount > 0) {
+                slot = freeSlots[--freeCount];
+            } else {
+                if (highWaterMark == ids.length) {
+                    grow();
+                }
+                slot = highWaterMark++;
+            }
+            slots.put(id, slot);
+            return slot;
+        }
+
+        private void grow() {
+            int capacity = ids.length + (ids.length >> 1);
+            ids = Arrays.copyOf(ids, capacity);
+            createdAt = Arrays.copyOf(createdAt, capacity);
+            amenities = Arrays.copyOf(amenities, capacity);
+            minGuests = Arrays.copyOf(minGuests, capacity);
+            maxGuests = Arrays.copyOf(maxGuests, capacity);
+            pricingModes = Arrays.copyOf(pricingModes, capacity);
+            approvalModes = Arrays.copyOf(approvalModes, capacity);
+        }
+    }
+}
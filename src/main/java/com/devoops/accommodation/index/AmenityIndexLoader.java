@@ -0,0 +1,151 @@
+package com.devoops.accommodation.index;
+
+import com.devoops.accommodation.cache.Invalidation;
+import com.devoops.accommodation.cache.InvalidationBus;
+import com.devoops.accommodation.datasource.PrimaryReads;
+import com.devoops.accommodation.dto.response.AccommodationResponse;
+import com.devoops.accommodation.repository.AccommodationJdbcRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Loads the {@link AmenityIndex} once the application is ready and rebuilds it periodically. Writes served by
+ * other instances are applied as their cache invalidations arrive; the periodic rebuild catches anything missed.
+ * Both run on threads of their own, so a slow rebuild holds up neither the application's shared scheduler nor
+ * the delivery of invalidations.
+ */
+@Component
+@RequiredArgsConstructor
+public class AmenityIndexLoader {
+
+    private static final Logger logger = LoggerFactory.getLogger(AmenityIndexLoader.class);
+
+    private final AmenityIndex amenityIndex;
+    private final AmenityIndexProperties properties;
+    private final AccommodationJdbcRepository accommodationJdbcRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final InvalidationBus invalidationBus;
+    private final ThreadPoolTaskScheduler rebuildScheduler = rebuildScheduler();
+    private final ThreadPoolTaskExecutor refreshExecutor = refreshExecutor();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (properties.enabled()) {
+            refreshExecutor.initialize();
+            rebuildScheduler.initialize();
+            invalidationBus.subscribe(this::onInvalidation);
+            rebuildScheduler.scheduleWithFixedDelay(this::rebuild, properties.refreshInterval());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildScheduler.shutdown();
+        refreshExecutor.shutdown();
+    }
+
+    /**
+     * Runs on the bus's delivery thread, so the re-read is handed to the refresh thread, which keeps the
+     * invalidations of one accommodation in order. Creates are broadcast only as the host's listing invalidation,
+     * so that one re-reads all of the host's rows to pick up the new ones.
+     */
+    void onInvalidation(Invalidation invalidation) {
+        if (invalidation.origin().equals(invalidationBus.nodeId())) {
+            return;
+        }
+        switch (invalidation.target()) {
+            case ACCOMMODATION -> refreshExecutor.execute(() -> refresh(invalidation.id()));
+            case HOST_LISTING -> refreshExecutor.execute(() -> refreshHost(invalidation.id()));
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * Reads the row from the primary: the invalidation is only sent once the write has committed there, while a
+     * replica may not have it yet, and an accommodation left out of the index would not be found until the next
+     * rebuild.
+     */
+    void refresh(UUID id) {
+        try {
+            List<AccommodationResponse> rows =
+                    PrimaryReads.call(() -> accommodationJdbcRepository.findAllByIds(Set.of(id)));
+            if (rows.isEmpty()) {
+                amenityIndex.remove(id);
+            } else {
+                amenityIndex.upsert(rows.getFirst());
+            }
+        } catch (DataAccessException e) {
+            logger.warn("Failed to refresh amenity index entry {}", id, e);
+        }
+    }
+
+    /**
+     * Re-indexes the host's live accommodations, read from the primary for the same reason as {@link #refresh}.
+     * Deleted ones are left to their own accommodation invalidation.
+     */
+    void refreshHost(UUID hostId) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        try {
+            PrimaryReads.call(() -> transaction.execute(status -> {
+                accommodationJdbcRepository.streamByHostId(hostId, amenityIndex::upsert);
+                return null;
+            }));
+        } catch (DataAccessException e) {
+            logger.warn("Failed to refresh amenity index entries of host {}", hostId, e);
+        }
+    }
+
+    /**
+     * Reads from the primary too: a write not yet on a replica would be missing from the snapshot, and the
+     * writes replayed on top of it only cover those seen while it is read.
+     */
+    void rebuild() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+
+        long start = System.nanoTime();
+        try {
+            PrimaryReads.call(() -> transaction.execute(status -> {
+                amenityIndex.rebuild(accommodationJdbcRepository::streamAll);
+                return null;
+            }));
+            logger.info("Amenity index rebuilt with {} accommodations in {} ms",
+                    amenityIndex.size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (DataAccessException e) {
+            logger.warn("Failed to rebuild amenity index", e);
+        }
+    }
+
+    private static ThreadPoolTaskScheduler rebuildScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("amenity-index-rebuild-");
+        scheduler.setDaemon(true);
+        return scheduler;
+    }
+
+    private static ThreadPoolTaskExecutor refreshExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setThreadNamePrefix("amenity-index-refresh-");
+        executor.setDaemon(true);
+        return executor;
+    }
+}
@@ -0,0 +1,13 @@
+package com.devoops.accommodation.index;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "accommodation.amenity-index")
+public record AmenityIndexProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("5m") Duration refreshInterval
+) {
+}
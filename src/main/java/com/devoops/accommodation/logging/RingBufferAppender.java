@@ -0,0 +1,280 @@
+package com.devoops.accommodation.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.spi.AppenderAttachable;
+import ch.qos.logback.core.spi.AppenderAttachableImpl;
+
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Never-blocking replacement for logback's {@code AsyncAppender}. Logging threads publish into a bounded lock-free
+ * ring (a multi-producer, single-consumer variant of Vyukov's bounded queue) and one worker thread forwards to the
+ * attached appenders. Under pressure events are shed by level: DEBUG and TRACE once the ring is
+ * {@code dropDebugAt} full, INFO once {@code dropInfoAt} full, WARN and ERROR only when no slot is left.
+ * <pre>{@code
+ * <appender name="RING" class="com.devoops.accommodation.logging.RingBufferAppender">
+ *     <ringBufferSize>16384</ringBufferSize>
+ *     <appender-ref ref="LOGSTASH"/>
+ * </appender>
+ * }</pre>
+ */
+public class RingBufferAppender extends UnsynchronizedAppenderBase<ILoggingEvent>
+        implements AppenderAttachable<ILoggingEvent> {
+
+    private static final Level[] LEVELS = {Level.TRACE, Level.DEBUG, Level.INFO, Level.WARN, Level.ERROR};
+    private static final int SPINS_BEFORE_PARK = 100;
+
+    private final AppenderAttachableImpl<ILoggingEvent> appenders = new AppenderAttachableImpl<>();
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder[] dropped = new LongAdder[LEVELS.length];
+    private final AtomicLong enqueuePosition = new AtomicLong();
+
+    private int ringBufferSize = 8192;
+    private double dropDebugAt = 0.5;
+    private double dropInfoAt = 0.8;
+    private long maxFlushTimeMillis = 1000;
+
+    private AtomicReferenceArray<ILoggingEvent> events;
+    private AtomicLongArray sequences;
+    private int mask;
+    private volatile long dequeuePosition;
+    private volatile boolean running;
+    private volatile boolean waiting;
+    private Thread worker;
+
+    public RingBufferAppender() {
+        for (int i = 0; i < dropped.length; i++) {
+            dropped[i] = new LongAdder();
+        }
+    }
+
+    @Override
+    public void start() {
+        if (Integer.bitCount(ringBufferSize) != 1) {
+            addError("ringBufferSize must be a power of two but was " + ringBufferSize);
+            return;
+        }
+        if (!appenders.iteratorForAppenders().hasNext()) {
+            addError("No appender attached to " + getName());
+            return;
+        }
+
+        events = new AtomicReferenceArray<>(ringBufferSize);
+        sequences = new AtomicLongArray(ringBufferSize);
+        for (int i = 0; i < ringBufferSize; i++) {
+            sequences.set(i, i);
+        }
+        mask = ringBufferSize - 1;
+        running = true;
+        worker = Thread.ofPlatform()
+                .name("logback-ring-buffer-" + getName())
+                .daemon()
+                .start(this::drain);
+        super.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        super.stop();
+        running = false;
+        LockSupport.unpark(worker);
+        try {
+            worker.join(maxFlushTimeMillis);
+            if (worker.isAlive()) {
+                addWarn("Gave up flushing " + depth() + " events after " + maxFlushTimeMillis + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        int level = event.getLevel().toInt();
+        double fill = (double) depth() / ringBufferSize;
+        if ((level < Level.INFO_INT && fill >= dropDebugAt) || (level == Level.INFO_INT && fill >= dropInfoAt)) {
+            drop(event);
+            return;
+        }
+
+        event.prepareForDeferredProcessing();
+        if (offer(event)) {
+            enqueued.increment();
+        } else {
+            drop(event);
+        }
+    }
+
+    private boolean offer(ILoggingEvent event) {
+        long position = enqueuePosition.get();
+        int index;
+        while (true) {
+            index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (enqueuePosition.compareAndSet(position, position + 1)) {
+                    break;
+                }
+                position = enqueuePosition.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = enqueuePosition.get();
+            }
+        }
+        events.set(index, event);
+        sequences.set(index, position + 1);
+        if (waiting) {
+            LockSupport.unpark(worker);
+        }
+        return true;
+    }
+
+    /**
+     * Only called from the worker thread.
+     */
+    private ILoggingEvent poll() {
+        long position = dequeuePosition;
+        int index = (int) (position & mask);
+        if (sequences.get(index) - (position + 1) < 0) {
+            return null;
+        }
+        ILoggingEvent event = events.get(index);
+        events.set(index, null);
+        sequences.set(index, position + mask + 1);
+        dequeuePosition = position + 1;
+        return event;
+    }
+
+    /**
+     * Spins briefly when the ring runs empty, then parks until a producer publishes. The worker raises
+     * {@code waiting} before its last look at the ring and producers read it after publishing, so with both being
+     * volatile accesses either the worker sees the new event or the producer sees the flag and unparks it.
+     */
+    private void drain() {
+        int idle = 0;
+        while (true) {
+            ILoggingEvent event = poll();
+            if (event == null) {
+                if (!running) {
+                    return;
+                }
+                if (++idle < SPINS_BEFORE_PARK) {
+                    Thread.onSpinWait();
+                    continue;
+                }
+                waiting = true;
+                event = poll();
+                if (event == null && running) {
+                    LockSupport.park(this);
+                }
+                waiting = false;
+                if (event == null) {
+                    continue;
+                }
+            }
+            idle = 0;
+            try {
+                appenders.appendLoopOnAppenders(event);
+            } catch (RuntimeException e) {
+                addError("Appender failed for event", e);
+            }
+        }
+    }
+
+    private void drop(ILoggingEvent event) {
+        dropped[levelIndex(event.getLevel())].increment();
+    }
+
+    private static int levelIndex(Level level) {
+        for (int i = 0; i < LEVELS.length; i++) {
+            if (LEVELS[i].levelInt == level.levelInt) {
+                return i;
+            }
+        }
+        return LEVELS.length - 1;
+    }
+
+    public long enqueued() {
+        return enqueued.sum();
+    }
+
+    public long dropped(Level level) {
+        return dropped[levelIndex(level)].sum();
+    }
+
+    public int depth() {
+        return (int) Math.max(0, enqueuePosition.get() - dequeuePosition);
+    }
+
+    public int getRingBufferSize() {
+        return ringBufferSize;
+    }
+
+    public void setRingBufferSize(int ringBufferSize) {
+        this.ringBufferSize = ringBufferSize;
+    }
+
+    public void setDropDebugAt(double dropDebugAt) {
+        this.dropDebugAt = dropDebugAt;
+    }
+
+    public void setDropInfoAt(double dropInfoAt) {
+        this.dropInfoAt = dropInfoAt;
+    }
+
+    public void setMaxFlushTimeMillis(long maxFlushTimeMillis) {
+        this.maxFlushTimeMillis = maxFlushTimeMillis;
+    }
+
+    static Level[] levels() {
+        return LEVELS.clone();
+    }
+
+    @Override
+    public void addAppender(Appender<ILoggingEvent> appender) {
+        appenders.addAppender(appender);
+    }
+
+    @Override
+    public Iterator<Appender<ILoggingEvent>> iteratorForAppenders() {
+        return appenders.iteratorForAppenders();
+    }
+
+    @Override
+    public Appender<ILoggingEvent> getAppender(String name) {
+        return appenders.getAppender(name);
+    }
+
+    @Override
+    public boolean isAttached(Appender<ILoggingEvent> appender) {
+        return appenders.isAttached(appender);
+    }
+
+    @Override
+    public void detachAndStopAllAppenders() {
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    public boolean detachAppender(Appender<ILoggingEvent> appender) {
+        return appenders.detachAppender(appender);
+    }
+
+    @Override
+    public boolean detachAppender(String name) {
+        return appenders.detachAppender(name);
+    }
+}
@@ -0,0 +1,68 @@
+package com.devoops.accommodation.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.jspecify.annotations.NonNull;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Exports enqueued and dropped event counts of every {@link RingBufferAppender} in the logback configuration.
+ * Nothing is registered when logging runs without the {@code log-ring-buffer} profile.
+ */
+@Component
+public class RingBufferMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+            return;
+        }
+
+        Set<RingBufferAppender> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Logger logger : context.getLoggerList()) {
+            for (Iterator<Appender<ILoggingEvent>> it = logger.iteratorForAppenders(); it.hasNext(); ) {
+                if (it.next() instanceof RingBufferAppender appender && seen.add(appender)) {
+                    bind(appender, registry);
+                }
+            }
+        }
+    }
+
+    private void bind(RingBufferAppender appender, MeterRegistry registry) {
+        String name = appender.getName();
+        FunctionCounter.builder("logging.ring.buffer.events", appender, RingBufferAppender::enqueued)
+                .description("Log events handed to the ring buffer")
+                .tag("appender", name)
+                .tag("result", "enqueued")
+                .register(registry);
+        for (Level level : RingBufferAppender.levels()) {
+            FunctionCounter.builder("logging.ring.buffer.events", appender, a -> a.dropped(level))
+                    .description("Log events dropped because the ring buffer was under pressure")
+                    .tag("appender", name)
+                    .tag("result", "dropped")
+                    .tag("level", level.levelStr.toLowerCase(Locale.ROOT))
+                    .register(registry);
+        }
+        Gauge.builder("logging.ring.buffer.depth", appender, RingBufferAppender::depth)
+                .description("Log events waiting to be shipped")
+                .tag("appender", name)
+                .register(registry);
+        Gauge.builder("logging.ring.buffer.capacity", appender, RingBufferAppender::getRingBufferSize)
+                .tag("appender", name)
+                .register(registry);
+    }
+}
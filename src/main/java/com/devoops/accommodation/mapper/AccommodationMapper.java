@@ -16,6 +16,7 @@ public interface AccommodationMapper {
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "isDeleted", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Accommodation toEntity(CreateAccommodationRequest request);
 
     AccommodationResponse toResponse(Accommodation accommodation);
@@ -0,0 +1,107 @@
+package com.devoops.accommodation.observability;
+
+import com.devoops.accommodation.repository.AccommodationJdbcRepository;
+import com.devoops.accommodation.service.AccommodationService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.jspecify.annotations.NonNull;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.RootClassFilter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.util.function.SingletonSupplier;
+
+import javax.sql.DataSource;
+
+/**
+ * Instruments the accommodation read and write paths:
+ * <ul>
+ *     <li>{@code accommodation.service} and {@code accommodation.repository} observations per method,</li>
+ *     <li>statement timing and per-request query statistics through {@link QueryTrackingDataSource},</li>
+ *     <li>per-request DB time, application time and query count through {@link RequestTimingFilter}.</li>
+ * </ul>
+ */
+@Configuration
+public class ObservabilityConfig {
+
+    static final String SERVICE_OBSERVATION = "accommodation.service";
+    static final String REPOSITORY_OBSERVATION = "accommodation.repository";
+
+    /**
+     * Wraps the {@code DataSource} the application uses, which is the routing proxy when replicas are configured,
+     * so each statement is counted exactly once.
+     */
+    @Bean
+    static BeanPostProcessor queryTrackingDataSourcePostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+                if (bean instanceof DataSource dataSource && beanName.equals("dataSource")) {
+                    return new QueryTrackingDataSource(dataSource, meterRegistry.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Ordered ahead of the transaction advisor so the observation includes commit time.
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor accommodationServiceObservationAdvisor(ObjectProvider<ObservationRegistry> observationRegistry,
+                                                          ObjectProvider<MeterRegistry> meterRegistry) {
+        return observedAdvisor(SERVICE_OBSERVATION, AccommodationService.class, observationRegistry, meterRegistry);
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor accommodationJdbcRepositoryObservationAdvisor(
+            ObjectProvider<ObservationRegistry> observationRegistry,
+            ObjectProvider<MeterRegistry> meterRegistry
+    )
+    {
+        return observedAdvisor(REPOSITORY_OBSERVATION, AccommodationJdbcRepository.class,
+                observationRegistry, meterRegistry);
+    }
+
+    /**
+     * Spring Data repositories are created by their factory beans, so the interceptor is added to the proxy there.
+     */
+    @Bean
+    static BeanPostProcessor repositoryObservationPostProcessor(ObjectProvider<ObservationRegistry> observationRegistry,
+                                                                ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(@NonNull Object bean, @NonNull String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, metadata) -> proxyFactory.addAdvice(new ObservedInterceptor(
+                                    REPOSITORY_OBSERVATION, metadata.getRepositoryInterface().getSimpleName(),
+                                    SingletonSupplier.of(observationRegistry::getObject),
+                                    SingletonSupplier.of(meterRegistry::getObject)))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static Advisor observedAdvisor(String name, Class<?> type,
+                                           ObjectProvider<ObservationRegistry> observationRegistry,
+                                           ObjectProvider<MeterRegistry> meterRegistry) {
+        ObservedInterceptor interceptor = new ObservedInterceptor(name, type.getSimpleName(),
+                SingletonSupplier.of(observationRegistry::getObject), SingletonSupplier.of(meterRegistry::getObject));
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(new ComposablePointcut(new RootClassFilter(type)),
+                interceptor);
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+}
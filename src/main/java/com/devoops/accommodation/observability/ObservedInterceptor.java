@@ -0,0 +1,62 @@
+package com.devoops.accommodation.observability;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.jspecify.annotations.NonNull;
+
+import java.util.Collection;
+import java.util.function.Supplier;
+
+/**
+ * Wraps every call of a component in an {@link Observation} named {@code name} and tagged with the component
+ * and method, which yields a timer and, with tracing, a span. Calls returning a collection also record its
+ * size as {@code <name>.rows}, e.g. the rows a repository query returned.
+ */
+class ObservedInterceptor implements MethodInterceptor {
+
+    private final String name;
+    private final String component;
+    private final Supplier<ObservationRegistry> observationRegistry;
+    private final Supplier<MeterRegistry> meterRegistry;
+
+    /**
+     * Takes suppliers because the interceptor is created while the bean factory is still being set up; they are
+     * expected to cache what they resolve.
+     */
+    ObservedInterceptor(String name, String component, Supplier<ObservationRegistry> observationRegistry,
+                        Supplier<MeterRegistry> meterRegistry) {
+        this.name = name;
+        this.component = component;
+        this.observationRegistry = observationRegistry;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object invoke(@NonNull MethodInvocation invocation) throws Throwable {
+        String method = invocation.getMethod().getName();
+        Observation observation = Observation.createNotStarted(name, observationRegistry.get())
+                .contextualName(component + "#" + method)
+                .lowCardinalityKeyValue("component", component)
+                .lowCardinalityKeyValue("method", method)
+                .start();
+        try (Observation.Scope ignored = observation.openScope()) {
+            Object result = invocation.proceed();
+            if (result instanceof Collection<?> rows) {
+                DistributionSummary.builder(name + ".rows")
+                        .tags("component", component, "method", method)
+                        .register(meterRegistry.get())
+                        .record(rows.size());
+            }
+            return result;
+        } catch (Throwable e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+}
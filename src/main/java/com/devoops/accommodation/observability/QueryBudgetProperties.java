@@ -0,0 +1,23 @@
+package com.devoops.accommodation.observability;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Map;
+
+/**
+ * Maximum JDBC statements a single request may execute before it is flagged.
+ *
+ * @param endpoints budgets keyed by controller method name, e.g. {@code getByHostId}
+ */
+@ConfigurationProperties(prefix = "accommodation.observability.query-budget")
+public record QueryBudgetProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("10") int defaultBudget,
+        @DefaultValue Map<String, Integer> endpoints
+) {
+
+    public int budgetFor(String endpoint) {
+        return endpoints.getOrDefault(endpoint, defaultBudget);
+    }
+}
@@ -0,0 +1,80 @@
+package com.devoops.accommodation.observability;
+
+import java.time.Duration;
+
+/**
+ * JDBC work done on the current thread while a request is served, filled in by {@link QueryTrackingDataSource}.
+ * Work handed off to other threads, such as streamed exports, is not included. Collection nests: statements are
+ * also counted by every enclosing {@link #start()} on the same thread, which lets a test count around a request.
+ */
+public final class QueryStatistics {
+
+    private static final ThreadLocal<QueryStatistics> CURRENT = new ThreadLocal<>();
+
+    private final QueryStatistics parent;
+    private final long startedAtNanos = System.nanoTime();
+    private int statements;
+    private long jdbcNanos;
+    private long rows;
+
+    private QueryStatistics(QueryStatistics parent) {
+        this.parent = parent;
+    }
+
+    /**
+     * Starts collecting for the current thread until the matching {@link #stop()}.
+     */
+    public static QueryStatistics start() {
+        QueryStatistics statistics = new QueryStatistics(CURRENT.get());
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    /**
+     * Returns the statistics being collected on this thread, or {@code null} outside of {@link #start()}.
+     */
+    public static QueryStatistics current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Ends the innermost collection on this thread and resumes the enclosing one, if any.
+     */
+    public static void stop() {
+        QueryStatistics statistics = CURRENT.get();
+        if (statistics != null && statistics.parent != null) {
+            CURRENT.set(statistics.parent);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    void recordStatement(long nanos) {
+        for (QueryStatistics statistics = this; statistics != null; statistics = statistics.parent) {
+            statistics.statements++;
+            statistics.jdbcNanos += nanos;
+        }
+    }
+
+    void recordRow() {
+        for (QueryStatistics statistics = this; statistics != null; statistics = statistics.parent) {
+            statistics.rows++;
+        }
+    }
+
+    public int statements() {
+        return statements;
+    }
+
+    public Duration jdbcTime() {
+        return Duration.ofNanos(jdbcNanos);
+    }
+
+    public long rows() {
+        return rows;
+    }
+
+    public Duration elapsed() {
+        return Duration.ofNanos(System.nanoTime() - startedAtNanos);
+    }
+}
@@ -0,0 +1,136 @@
+package com.devoops.accommodation.observability;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Times every statement executed through the wrapped {@code DataSource} and attributes it, with the rows read
+ * from its result set, to the thread's {@link QueryStatistics}. Result sets are only wrapped while statistics
+ * are being collected.
+ */
+public class QueryTrackingDataSource extends DelegatingDataSource {
+
+    private final Timer statementTimer;
+
+    public QueryTrackingDataSource(DataSource targetDataSource, MeterRegistry meterRegistry) {
+        super(targetDataSource);
+        this.statementTimer = Timer.builder("accommodation.db.statements")
+                .description("Execution time of single JDBC statements")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return proxy(Connection.class, obtainTargetDataSource().getConnection(), ConnectionHandler::new);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return proxy(Connection.class, obtainTargetDataSource().getConnection(username, password),
+                ConnectionHandler::new);
+    }
+
+    private static <T> T proxy(Class<T> type, T target, Function<Object, InvocationHandler> handler) {
+        return type.cast(Proxy.newProxyInstance(QueryTrackingDataSource.class.getClassLoader(),
+                new Class<?>[]{type}, handler.apply(target)));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        ConnectionHandler(Object target) {
+            this.target = (Connection) target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                default -> {
+                }
+            }
+            Object result = QueryTrackingDataSource.invoke(target, method, args);
+            return switch (result) {
+                case CallableStatement statement -> proxy(CallableStatement.class, statement, StatementHandler::new);
+                case PreparedStatement statement -> proxy(PreparedStatement.class, statement, StatementHandler::new);
+                case Statement statement -> proxy(Statement.class, statement, StatementHandler::new);
+                case null, default -> result;
+            };
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+
+        StatementHandler(Object target) {
+            this.target = (Statement) target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (!name.startsWith("execute")) {
+                Object result = QueryTrackingDataSource.invoke(target, method, args);
+                return name.equals("getResultSet") ? track((ResultSet) result) : result;
+            }
+
+            long start = System.nanoTime();
+            try {
+                Object result = QueryTrackingDataSource.invoke(target, method, args);
+                return result instanceof ResultSet resultSet ? track(resultSet) : result;
+            } finally {
+                long nanos = System.nanoTime() - start;
+                statementTimer.record(nanos, TimeUnit.NANOSECONDS);
+                QueryStatistics statistics = QueryStatistics.current();
+                if (statistics != null) {
+                    statistics.recordStatement(nanos);
+                }
+            }
+        }
+
+        private ResultSet track(ResultSet resultSet) {
+            QueryStatistics statistics = QueryStatistics.current();
+            if (resultSet == null || statistics == null) {
+                return resultSet;
+            }
+            return proxy(ResultSet.class, resultSet, raw -> (proxy, method, args) -> {
+                Object result = QueryTrackingDataSource.invoke(raw, method, args);
+                if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                    statistics.recordRow();
+                }
+                return result;
+            });
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.devoops.accommodation.observability;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.jspecify.annotations.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+/**
+ * Collects {@link QueryStatistics} for each request and splits its duration into JDBC time and application time,
+ * tagged like {@code http.server.requests} by method and URI template. Requests executing more statements than
+ * their {@link QueryBudgetProperties budget} are counted and logged with structured fields, which is how new N+1
+ * patterns surface in production.
+ */
+@Component
+@RequiredArgsConstructor
+public class RequestTimingFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestTimingFilter.class);
+
+    private final MeterRegistry meterRegistry;
+    private final QueryBudgetProperties queryBudget;
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException
+    {
+        QueryStatistics statistics = QueryStatistics.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            QueryStatistics.stop();
+            record(request, statistics);
+        }
+    }
+
+    private void record(HttpServletRequest request, QueryStatistics statistics) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Tags tags = Tags.of("method", request.getMethod(), "uri", pattern != null ? pattern.toString() : "UNKNOWN");
+
+        Duration jdbcTime = statistics.jdbcTime();
+        Duration appTime = statistics.elapsed().minus(jdbcTime);
+        Timer.builder("accommodation.request.db.time")
+                .description("Time spent executing JDBC statements per request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(jdbcTime);
+        Timer.builder("accommodation.request.app.time")
+                .description("Request time not spent in JDBC statements")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(appTime.isNegative() ? Duration.ZERO : appTime);
+        DistributionSummary.builder("accommodation.request.queries")
+                .description("JDBC statements executed per request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(statistics.statements());
+
+        if (queryBudget.enabled()
+                && request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handler) {
+            checkBudget(handler.getMethod().getName(), tags, statistics);
+        }
+    }
+
+    private void checkBudget(String endpoint, Tags tags, QueryStatistics statistics) {
+        int budget = queryBudget.budgetFor(endpoint);
+        if (statistics.statements() <= budget) {
+            return;
+        }
+        meterRegistry.counter("accommodation.request.query.budget.exceeded", tags).increment();
+        logger.warn("Query budget exceeded {} {} {} {}",
+                kv("endpoint", endpoint), kv("statements", statistics.statements()), kv("budget", budget),
+                kv("dbTimeMs", statistics.jdbcTime().toMillis()));
+    }
+}
@@ -0,0 +1,52 @@
+package com.devoops.accommodation.observability;
+
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.Locale;
+
+/**
+ * Debug aid for load tests: reports the request's JDBC time, statement count and remaining time so far in a
+ * {@code Server-Timing} header, e.g. {@code db;dur=3.412;desc="2 queries", app;dur=1.078}. Only added to
+ * responses with a body, since the header must be set before the body is written.
+ */
+@ControllerAdvice
+@ConditionalOnProperty(name = "accommodation.observability.debug-header", havingValue = "true")
+public class ServerTimingAdvice implements ResponseBodyAdvice<Object> {
+
+    static final String HEADER = "Server-Timing";
+
+    @Override
+    public boolean supports(@NonNull MethodParameter returnType,
+                            @NonNull Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(
+            @Nullable Object body,
+            @NonNull MethodParameter returnType,
+            @NonNull MediaType selectedContentType,
+            @NonNull Class<? extends HttpMessageConverter<?>> selectedConverterType,
+            @NonNull ServerHttpRequest request,
+            @NonNull ServerHttpResponse response
+    )
+    {
+        QueryStatistics statistics = QueryStatistics.current();
+        if (statistics != null) {
+            double dbMillis = statistics.jdbcTime().toNanos() / 1e6;
+            double appMillis = Math.max(0, statistics.elapsed().toNanos() / 1e6 - dbMillis);
+            response.getHeaders().add(HEADER, String.format(Locale.ROOT,
+                    "db;dur=%.3f;desc=\"%d queries\", app;dur=%.3f", dbMillis, statistics.statements(), appMillis));
+        }
+        return body;
+    }
+}
@@ -0,0 +1,234 @@
+package com.devoops.accommodation.observability;
+
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Tail-based export decision for traces that are recorded in full. Finished spans are buffered per local root
+ * until the root finishes; the whole trace is then either handed to the exporting {@code delegates} or dropped
+ * (see {@link TraceSamplingProperties}). The decision is remembered for {@code maxTraceAge}, so children that
+ * finish after their local root, such as async work, follow it directly instead of opening a buffer that would
+ * never be decided. Registered ahead of every other handler and always ends the chain
+ * itself, so only this handler decides what reaches the exporter.
+ */
+public class TailSamplingSpanHandler extends SpanHandler {
+
+    private static final String ERROR_OUTCOME = "SERVER_ERROR";
+
+    private final TraceSamplingProperties properties;
+    private final Supplier<List<SpanHandler>> delegates;
+    private final Map<Long, TraceBuffer> buffers = new ConcurrentHashMap<>();
+    private final Cache<Long, Boolean> exportDecisions;
+    private final Map<String, RateLimiter> baselineLimiters = new ConcurrentHashMap<>();
+    private final Counter spansExported;
+    private final Counter spansDropped;
+    private final Map<String, Counter> decisions = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * @param delegates the exporting handlers, resolved lazily because they are usually created after this one
+     */
+    public TailSamplingSpanHandler(TraceSamplingProperties properties, Supplier<List<SpanHandler>> delegates,
+                                   MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.delegates = delegates;
+        this.meterRegistry = meterRegistry;
+        this.exportDecisions = Caffeine.newBuilder()
+                .maximumSize(properties.maxBufferedTraces())
+                .expireAfterWrite(properties.maxTraceAge())
+                .build();
+        this.spansExported = Counter.builder("accommodation.tracing.spans")
+                .tag("result", "exported")
+                .register(meterRegistry);
+        this.spansDropped = Counter.builder("accommodation.tracing.spans")
+                .tag("result", "dropped")
+                .register(meterRegistry);
+        Gauge.builder("accommodation.tracing.buffered.traces", buffers, Map::size)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+        if (cause == Cause.ABANDONED) {
+            return false;
+        }
+
+        long localRootId = context.localRootId();
+        if (!context.isLocalRoot()) {
+            Boolean decided = exportDecisions.getIfPresent(localRootId);
+            if (decided != null) {
+                complete(List.of(new Ended(context, span, cause)), 0, decided);
+                return false;
+            }
+        }
+        TraceBuffer buffer = buffers.get(localRootId);
+        if (buffer == null) {
+            if (!context.isLocalRoot() && buffers.size() >= properties.maxBufferedTraces()) {
+                evictExpired();
+                if (buffers.size() >= properties.maxBufferedTraces()) {
+                    spansDropped.increment();
+                    return false;
+                }
+            }
+            buffer = buffers.computeIfAbsent(localRootId, id -> new TraceBuffer());
+        }
+
+        buffer.add(context, span, cause, properties.maxSpansPerTrace());
+        if (!context.isLocalRoot()) {
+            return false;
+        }
+
+        buffers.remove(localRootId);
+        List<Ended> spans = buffer.drain();
+        String decision = decide(span, spans);
+        decisions.computeIfAbsent(decision, key -> Counter.builder("accommodation.tracing.traces")
+                .tag("decision", key)
+                .register(meterRegistry)).increment();
+        boolean exported = !decision.equals("dropped");
+        exportDecisions.put(localRootId, exported);
+        complete(spans, buffer.overflow(), exported);
+
+        // a child that finished while the decision was being made may have opened a buffer again
+        TraceBuffer late = buffers.remove(localRootId);
+        if (late != null) {
+            complete(late.drain(), late.overflow(), exported);
+        }
+        return false;
+    }
+
+    private void complete(List<Ended> spans, int overflow, boolean exported) {
+        if (exported) {
+            export(spans);
+            spansDropped.increment(overflow);
+        } else {
+            spansDropped.increment(spans.size() + overflow);
+        }
+    }
+
+    private String decide(MutableSpan root, List<Ended> spans) {
+        if (properties.sampleErrors() && spans.stream().anyMatch(ended -> isError(ended.span()))) {
+            return "error";
+        }
+        String uri = root.tag("uri");
+        long durationMicros = root.finishTimestamp() - root.startTimestamp();
+        if (durationMicros >= properties.slowThresholdFor(uri).toNanos() / 1_000) {
+            return "slow";
+        }
+        String limiterKey = uri != null && properties.endpoints().containsKey(uri) ? uri : "";
+        RateLimiter limiter = baselineLimiters.computeIfAbsent(limiterKey,
+                key -> new RateLimiter(properties.baselineFor(uri)));
+        return limiter.tryAcquire() ? "baseline" : "dropped";
+    }
+
+    private void export(List<Ended> spans) {
+        List<SpanHandler> handlers = delegates.get();
+        for (Ended ended : spans) {
+            for (SpanHandler handler : handlers) {
+                if (!handler.end(ended.context(), ended.span(), ended.cause())) {
+                    break;
+                }
+            }
+        }
+        spansExported.increment(spans.size());
+    }
+
+    private static boolean isError(MutableSpan span) {
+        return span.error() != null || span.tag("error") != null || ERROR_OUTCOME.equals(span.tag("outcome"));
+    }
+
+    private void evictExpired() {
+        long oldest = System.nanoTime() - properties.maxTraceAge().toNanos();
+        buffers.entrySet().removeIf(entry -> {
+            if (entry.getValue().createdAtNanos() - oldest < 0) {
+                spansDropped.increment(entry.getValue().size());
+                return true;
+            }
+            return false;
+        });
+    }
+
+    @Override
+    public String toString() {
+        return "TailSamplingSpanHandler";
+    }
+
+    private record Ended(TraceContext context, MutableSpan span, Cause cause) {
+    }
+
+    /**
+     * Spans of one local root; children may finish on different threads.
+     */
+    private static final class TraceBuffer {
+
+        private final long createdAtNanos = System.nanoTime();
+        private final List<Ended> spans = new ArrayList<>();
+        private int overflow;
+
+        synchronized void add(TraceContext context, MutableSpan span, Cause cause, int maxSpans) {
+            if (spans.size() < maxSpans) {
+                spans.add(new Ended(context, span, cause));
+            } else {
+                overflow++;
+            }
+        }
+
+        synchronized List<Ended> drain() {
+            return List.copyOf(spans);
+        }
+
+        synchronized int size() {
+            return spans.size();
+        }
+
+        synchronized int overflow() {
+            return overflow;
+        }
+
+        long createdAtNanos() {
+            return createdAtNanos;
+        }
+    }
+
+    /**
+     * Token bucket refilled continuously at {@code permitsPerSecond}, holding at most one second of permits.
+     */
+    private static final class RateLimiter {
+
+        private final double permitsPerSecond;
+        private final double capacity;
+        private double permits;
+        private long refilledAtNanos = System.nanoTime();
+
+        RateLimiter(double permitsPerSecond) {
+            this.permitsPerSecond = permitsPerSecond;
+            this.capacity = Math.max(1, permitsPerSecond);
+            this.permits = capacity;
+        }
+
+        synchronized boolean tryAcquire() {
+            if (permitsPerSecond <= 0) {
+                return false;
+            }
+            long now = System.nanoTime();
+            permits = Math.min(capacity, permits + (now - refilledAtNanos) / 1e9 * permitsPerSecond);
+            refilledAtNanos = now;
+            if (permits >= 1) {
+                permits--;
+                return true;
+            }
+            return false;
+        }
+    }
+}
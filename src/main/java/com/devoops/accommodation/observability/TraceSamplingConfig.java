@@ -0,0 +1,32 @@
+package com.devoops.accommodation.observability;
+
+import brave.handler.SpanHandler;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.util.function.SingletonSupplier;
+
+/**
+ * Replaces blanket export with {@link TailSamplingSpanHandler}. Spans must still be recorded for every request
+ * ({@code management.tracing.sampling.probability=1.0}) so errors and slow requests can be kept after the fact.
+ */
+@Configuration
+@ConditionalOnClass(SpanHandler.class)
+@ConditionalOnProperty(prefix = "accommodation.tracing.sampling", name = "enabled", matchIfMissing = true)
+public class TraceSamplingConfig {
+
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public TailSamplingSpanHandler tailSamplingSpanHandler(TraceSamplingProperties properties,
+                                                           ObjectProvider<SpanHandler> spanHandlers,
+                                                           MeterRegistry meterRegistry) {
+        return new TailSamplingSpanHandler(properties, SingletonSupplier.of(() -> spanHandlers.orderedStream()
+                .filter(handler -> !(handler instanceof TailSamplingSpanHandler))
+                .toList()), meterRegistry);
+    }
+}
@@ -0,0 +1,48 @@
+package com.devoops.accommodation.observability;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Which locally recorded traces are exported. A trace is kept when any span failed, when its local root ran longer
+ * than {@code slowThreshold}, or otherwise while the baseline rate allows.
+ *
+ * @param baselineTracesPerSecond traces exported per second regardless of outcome, 0 to export only errors and
+ *                                slow traces
+ * @param maxBufferedTraces       traces held while waiting for their local root to finish; spans beyond it are
+ *                                dropped
+ * @param maxTraceAge             unfinished traces older than this are discarded
+ * @param endpoints               overrides keyed by the local root's {@code uri} tag, e.g. {@code /api/accommodation/{id}}
+ */
+@ConfigurationProperties(prefix = "accommodation.tracing.sampling")
+public record TraceSamplingProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("5") double baselineTracesPerSecond,
+        @DefaultValue("500ms") Duration slowThreshold,
+        @DefaultValue("true") boolean sampleErrors,
+        @DefaultValue("10000") int maxBufferedTraces,
+        @DefaultValue("256") int maxSpansPerTrace,
+        @DefaultValue("30s") Duration maxTraceAge,
+        @DefaultValue Map<String, Endpoint> endpoints
+) {
+
+    /**
+     * Unset values fall back to the service-wide setting.
+     */
+    public record Endpoint(Double baselineTracesPerSecond, Duration slowThreshold) {
+    }
+
+    double baselineFor(String uri) {
+        Endpoint endpoint = uri != null ? endpoints.get(uri) : null;
+        return endpoint != null && endpoint.baselineTracesPerSecond() != null
+                ? endpoint.baselineTracesPerSecond() : baselineTracesPerSecond;
+    }
+
+    Duration slowThresholdFor(String uri) {
+        Endpoint endpoint = uri != null ? endpoints.get(uri) : null;
+        return endpoint != null && endpoint.slowThreshold() != null ? endpoint.slowThreshold() : slowThreshold;
+    }
+}
@@ -0,0 +1,20 @@
+package com.devoops.accommodation.outbox;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import tools.jackson.databind.ObjectMapper;
+
+@Configuration
+public class OutboxConfig {
+
+    /**
+     * Local NDJSON sink for development, enabled with {@code accommodation.outbox.sink=file}. Production deployments
+     * provide a broker-backed {@link OutboxSink}; until one exists the relay stays idle.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "accommodation.outbox.sink", havingValue = "file")
+    public FileOutboxSink fileOutboxSink(OutboxProperties properties, ObjectMapper objectMapper) {
+        return new FileOutboxSink(properties.file(), objectMapper);
+    }
+}
@@ -0,0 +1,19 @@
+package com.devoops.accommodation.outbox;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One change event. {@code id} increases with commit order on a single writer and is what consumers
+ * should de-duplicate on; {@code payload} is the accommodation JSON (only the id for deletes).
+ */
+public record OutboxEvent(
+        long id,
+        UUID accommodationId,
+        OutboxEventType type,
+        @JsonRawValue String payload,
+        LocalDateTime createdAt
+) {
+}
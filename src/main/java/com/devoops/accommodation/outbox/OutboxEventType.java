@@ -0,0 +1,7 @@
+package com.devoops.accommodation.outbox;
+
+public enum OutboxEventType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
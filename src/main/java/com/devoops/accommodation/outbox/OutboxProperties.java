@@ -0,0 +1,18 @@
+package com.devoops.accommodation.outbox;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "accommodation.outbox")
+public record OutboxProperties(
+        @DefaultValue("false") boolean relayEnabled,
+        @DefaultValue("200") int batchSize,
+        @DefaultValue("50") int maxBatchesPerRun,
+        @DefaultValue("500ms") Duration pollInterval,
+        @DefaultValue("30s") Duration maxBackoff,
+        @DefaultValue("outbox/accommodation-events.ndjson") Path file
+) {
+}
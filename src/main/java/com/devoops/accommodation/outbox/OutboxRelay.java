@@ -0,0 +1,153 @@
+package com.devoops.accommodation.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the outbox into the {@link OutboxSink} in batches. Each batch is locked with {@code FOR UPDATE SKIP LOCKED},
+ * published and deleted in one transaction, so several instances can relay concurrently. When the sink fails the
+ * relay backs off exponentially up to {@code maxBackoff}; when it reports no capacity the relay pauses draining.
+ * Without an {@link OutboxSink} bean nothing is relayed, and {@link OutboxWriter} records nothing either.
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxRepository outboxRepository;
+    private final OutboxSink sink;
+    private final OutboxProperties properties;
+    private final TransactionTemplate transaction;
+    private final TaskScheduler taskScheduler;
+
+    private final Timer batchTimer;
+    private final DistributionSummary batchSize;
+    private final Counter published;
+    private final Counter failures;
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final AtomicLong pending = new AtomicLong();
+
+    private long backoffNanos;
+    private long nextAttemptAt;
+
+    public OutboxRelay(
+            OutboxRepository outboxRepository,
+            ObjectProvider<OutboxSink> sink,
+            OutboxProperties properties,
+            PlatformTransactionManager transactionManager,
+            TaskScheduler taskScheduler,
+            MeterRegistry meterRegistry
+    )
+    {
+        this.outboxRepository = outboxRepository;
+        this.sink = sink.getIfUnique();
+        this.properties = properties;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.taskScheduler = taskScheduler;
+
+        this.batchTimer = Timer.builder("accommodation.outbox.batch")
+                .description("Time to publish and delete one outbox batch")
+                .register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("accommodation.outbox.batch.size")
+                .description("Events per relayed outbox batch")
+                .register(meterRegistry);
+        this.published = Counter.builder("accommodation.outbox.published")
+                .description("Outbox events handed to the sink")
+                .register(meterRegistry);
+        this.failures = Counter.builder("accommodation.outbox.failures")
+                .description("Relay runs aborted by a sink or database error")
+                .register(meterRegistry);
+        Gauge.builder("accommodation.outbox.lag", lagMillis, value -> value.get() / 1000.0)
+                .description("Age of the oldest unpublished outbox event")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("accommodation.outbox.pending", pending, AtomicLong::get)
+                .description("Unpublished outbox events, estimated from the outbox id range")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (properties.relayEnabled() && sink == null) {
+            logger.warn("Outbox relay is enabled but no OutboxSink is configured; no events are recorded");
+            return;
+        }
+        if (properties.relayEnabled()) {
+            taskScheduler.scheduleWithFixedDelay(this::drain, properties.pollInterval());
+        }
+    }
+
+    /**
+     * Relays up to {@code maxBatchesPerRun} batches, stopping early once the outbox is empty.
+     *
+     * @return the number of events published
+     */
+    public synchronized int drain() {
+        if (sink == null || System.nanoTime() - nextAttemptAt < 0) {
+            return 0;
+        }
+
+        int total = 0;
+        try {
+            for (int i = 0; i < properties.maxBatchesPerRun() && sink.hasCapacity(); i++) {
+                int relayed = relayBatch();
+                total += relayed;
+                if (relayed < properties.batchSize()) {
+                    break;
+                }
+            }
+            backoffNanos = 0;
+        } catch (RuntimeException e) {
+            failures.increment();
+            backoffNanos = backoffNanos == 0
+                    ? properties.pollInterval().toNanos()
+                    : Math.min(backoffNanos * 2, properties.maxBackoff().toNanos());
+            nextAttemptAt = System.nanoTime() + backoffNanos;
+            logger.warn("Outbox relay failed, retrying in {} ms", backoffNanos / 1_000_000, e);
+        }
+
+        refreshGauges();
+        return total;
+    }
+
+    private int relayBatch() {
+        Integer relayed = transaction.execute(status -> {
+            List<OutboxEvent> batch = outboxRepository.lockBatch(properties.batchSize());
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            batchTimer.record(() -> sink.publish(batch));
+            outboxRepository.delete(batch);
+            batchSize.record(batch.size());
+            published.increment(batch.size());
+            return batch.size();
+        });
+        return relayed != null ? relayed : 0;
+    }
+
+    private void refreshGauges() {
+        try {
+            OutboxRepository.Backlog backlog = outboxRepository.backlog();
+            lagMillis.set(backlog.lagMillis());
+            pending.set(backlog.pending());
+        } catch (DataAccessException e) {
+            logger.debug("Could not refresh outbox gauges", e);
+        }
+    }
+}
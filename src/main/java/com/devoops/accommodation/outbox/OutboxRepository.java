@@ -0,0 +1,86 @@
+package com.devoops.accommodation.outbox;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+public class OutboxRepository {
+
+    private static final RowMapper<OutboxEvent> ROW_MAPPER = (rs, rowNum) -> new OutboxEvent(
+            rs.getLong("id"),
+            rs.getObject("accommodation_id", UUID.class),
+            OutboxEventType.valueOf(rs.getString("event_type")),
+            rs.getString("payload"),
+            rs.getObject("created_at", LocalDateTime.class)
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record Entry(UUID accommodationId, OutboxEventType type, String payload) {
+    }
+
+    /**
+     * Appends entries with one batched statement; must run in the transaction of the change it records.
+     */
+    public void append(List<Entry> entries) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO accommodation_outbox (accommodation_id, event_type, payload) VALUES (?, ?, CAST(? AS jsonb))",
+                entries, entries.size(), (PreparedStatement statement, Entry entry) -> {
+                    statement.setObject(1, entry.accommodationId());
+                    statement.setString(2, entry.type().name());
+                    statement.setString(3, entry.payload());
+                });
+    }
+
+    /**
+     * Locks the oldest unpublished events, skipping rows another relay instance already holds.
+     */
+    public List<OutboxEvent> lockBatch(int limit) {
+        return jdbcTemplate.query(
+                "SELECT id, accommodation_id, event_type, payload::text AS payload, created_at "
+                        + "FROM accommodation_outbox ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED",
+                ROW_MAPPER, limit);
+    }
+
+    public void delete(List<OutboxEvent> events) {
+        Long[] ids = events.stream().map(OutboxEvent::id).toArray(Long[]::new);
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement("DELETE FROM accommodation_outbox WHERE id = ANY(?)");
+            statement.setArray(1, connection.createArrayOf("bigint", ids));
+            return statement;
+        });
+    }
+
+    public record Backlog(long lagMillis, long pending) {
+
+        static final Backlog EMPTY = new Backlog(0, 0);
+    }
+
+    /**
+     * Reads the age of the oldest event and an estimate of how many are pending from the two ends of the primary
+     * key, so the gauges cost two index probes instead of scans. The age is computed by the database against the
+     * clock that filled {@code created_at}; pending counts ids in between, which overstates it only by rows
+     * deleted out of order.
+     */
+    public Backlog backlog() {
+        List<Backlog> rows = jdbcTemplate.query(
+                "SELECT greatest(0, extract(epoch FROM localtimestamp - created_at) * 1000)::bigint AS lag_millis, "
+                        + "(SELECT max(id) FROM accommodation_outbox) - id + 1 AS pending "
+                        + "FROM accommodation_outbox ORDER BY id LIMIT 1",
+                (rs, rowNum) -> new Backlog(rs.getLong("lag_millis"), rs.getLong("pending")));
+        return rows.isEmpty() ? Backlog.EMPTY : rows.getFirst();
+    }
+
+    public long countPending() {
+        Long count = jdbcTemplate.queryForObject("SELECT count(*) FROM accommodation_outbox", Long.class);
+        return count != null ? count : 0;
+    }
+}
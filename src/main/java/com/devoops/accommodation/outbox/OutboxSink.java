@@ -0,0 +1,22 @@
+package com.devoops.accommodation.outbox;
+
+import java.util.List;
+
+/**
+ * Destination of relayed outbox events. A batch is deleted from the outbox only after {@link #publish}
+ * returns normally, so delivery is at-least-once and sinks must tolerate redelivery.
+ */
+public interface OutboxSink {
+
+    /**
+     * Publishes a batch in outbox order; throwing leaves the whole batch in the outbox for a later retry.
+     */
+    void publish(List<OutboxEvent> events);
+
+    /**
+     * Lets a sink push back: while this returns {@code false} the relay stops draining.
+     */
+    default boolean hasCapacity() {
+        return true;
+    }
+}
@@ -0,0 +1,62 @@
+package com.devoops.accommodation.outbox;
+
+import com.devoops.accommodation.dto.response.AccommodationResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Records accommodation changes in the outbox. Callers must be inside the transaction that makes the change.
+ * Records nothing unless {@link OutboxRelay} would drain the outbox, i.e. the relay is enabled and an
+ * {@link OutboxSink} is configured; otherwise the rows would only pile up.
+ */
+@Component
+public class OutboxWriter {
+
+    private final OutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+
+    public OutboxWriter(
+            OutboxRepository outboxRepository,
+            ObjectMapper objectMapper,
+            OutboxProperties properties,
+            ObjectProvider<OutboxSink> sink
+    )
+    {
+        this.outboxRepository = outboxRepository;
+        this.objectMapper = objectMapper;
+        this.enabled = properties.relayEnabled() && sink.getIfUnique() != null;
+    }
+
+    public void created(List<AccommodationResponse> accommodations) {
+        if (enabled && !accommodations.isEmpty()) {
+            outboxRepository.append(accommodations.stream()
+                    .map(accommodation -> entry(OutboxEventType.CREATED, accommodation))
+                    .toList());
+        }
+    }
+
+    public void updated(AccommodationResponse accommodation) {
+        if (!enabled) {
+            return;
+        }
+        outboxRepository.append(List.of(entry(OutboxEventType.UPDATED, accommodation)));
+    }
+
+    public void deleted(UUID id) {
+        if (!enabled) {
+            return;
+        }
+        outboxRepository.append(List.of(new OutboxRepository.Entry(
+                id, OutboxEventType.DELETED, objectMapper.writeValueAsString(Map.of("id", id)))));
+    }
+
+    private OutboxRepository.Entry entry(OutboxEventType type, AccommodationResponse accommodation) {
+        return new OutboxRepository.Entry(accommodation.id(), type, objectMapper.writeValueAsString(accommodation));
+    }
+}
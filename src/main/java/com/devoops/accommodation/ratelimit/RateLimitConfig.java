@@ -0,0 +1,21 @@
+package com.devoops.accommodation.ratelimit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(prefix = "accommodation.rate-limit", name = "enabled", havingValue = "true")
+public class RateLimitConfig {
+
+    @Bean
+    public RateLimiter rateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        return new RateLimiter(properties, meterRegistry);
+    }
+
+    @Bean
+    public RateLimitInterceptor rateLimitInterceptor(RateLimiter rateLimiter) {
+        return new RateLimitInterceptor(rateLimiter);
+    }
+}
@@ -0,0 +1,33 @@
+package com.devoops.accommodation.ratelimit;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.jspecify.annotations.NonNull;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Charges each controller call to the caller's bucket for that controller method. Callers are identified by the
+ * gateway-set {@code X-User-Id}; requests without it share the method's anonymous bucket.
+ */
+@RequiredArgsConstructor
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private final RateLimiter rateLimiter;
+
+    @Override
+    public boolean preHandle(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull Object handler
+    )
+    {
+        if (!(handler instanceof HandlerMethod handlerMethod) || request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        rateLimiter.acquire(request.getHeader("X-User-Id"), handlerMethod.getMethod().getName());
+        return true;
+    }
+}
@@ -0,0 +1,58 @@
+package com.devoops.accommodation.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Token buckets per identified user ({@code X-User-Id}) and endpoint, plus one shared bucket per endpoint for
+ * requests without a user. {@code X-User-Id} is trusted as set by the gateway, so this must only be enabled where
+ * the service is unreachable except through it; anonymous callers are not told apart, because behind the gateway
+ * their remote address is the gateway's.
+ *
+ * @param endpoints  limits keyed by controller method name, e.g. {@code getByHostId}
+ * @param maxClients bound on tracked user buckets; the least recently used are forgotten first
+ */
+@ConfigurationProperties(prefix = "accommodation.rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue Limit defaults,
+        @DefaultValue Map<String, Limit> endpoints,
+        @DefaultValue Anonymous anonymous,
+        @DefaultValue("100000") long maxClients,
+        @DefaultValue("10m") Duration idleTimeout
+) {
+
+    public Limit limitFor(String endpoint) {
+        return endpoints.getOrDefault(endpoint, defaults);
+    }
+
+    /**
+     * @param tokensPerSecond sustained request rate
+     * @param burst           requests allowed at once after the client has been idle
+     */
+    public record Limit(
+            @DefaultValue("50") double tokensPerSecond,
+            @DefaultValue("100") int burst
+    ) {
+    }
+
+    /**
+     * Route-level limits for all requests without {@code X-User-Id} together, per instance.
+     *
+     * @param endpoints limits keyed by controller method name; others use {@code tokensPerSecond} and {@code burst}
+     */
+    public record Anonymous(
+            @DefaultValue("1000") double tokensPerSecond,
+            @DefaultValue("2000") int burst,
+            @DefaultValue Map<String, Limit> endpoints
+    ) {
+
+        public Limit limitFor(String endpoint) {
+            Limit limit = endpoints.get(endpoint);
+            return limit != null ? limit : new Limit(tokensPerSecond, burst);
+        }
+    }
+}
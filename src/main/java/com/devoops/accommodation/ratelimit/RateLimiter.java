@@ -0,0 +1,127 @@
+package com.devoops.accommodation.ratelimit;
+
+import com.devoops.accommodation.exception.RateLimitExceededException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-user, per-endpoint request rate limit, with a shared route-level bucket for anonymous requests. User buckets
+ * live in a bounded Caffeine cache, whose reads are lock-free, and each bucket is a single CAS-updated timestamp, so
+ * admitting a request takes no lock.
+ */
+public class RateLimiter {
+
+    private static final String IDENTIFIED = "identified";
+    private static final String ANONYMOUS = "anonymous";
+
+    private final RateLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final LongSupplier nanoTime;
+    private final Cache<BucketKey, TokenBucket> buckets;
+    private final Function<BucketKey, TokenBucket> bucketFactory = this::newBucket;
+    private final Map<String, TokenBucket> anonymousBuckets = new ConcurrentHashMap<>();
+    private final Function<String, TokenBucket> anonymousBucketFactory = this::newAnonymousBucket;
+    private final Map<String, EndpointCounters> counters = new ConcurrentHashMap<>();
+    private final Function<String, EndpointCounters> counterFactory = endpoint -> newCounters(IDENTIFIED, endpoint);
+    private final Map<String, EndpointCounters> anonymousCounters = new ConcurrentHashMap<>();
+    private final Function<String, EndpointCounters> anonymousCounterFactory =
+            endpoint -> newCounters(ANONYMOUS, endpoint);
+
+    public RateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, System::nanoTime);
+    }
+
+    RateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry, LongSupplier nanoTime) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.nanoTime = nanoTime;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.maxClients())
+                .expireAfterAccess(properties.idleTimeout())
+                .build();
+
+        Gauge.builder("accommodation.ratelimit.buckets", buckets, Cache::estimatedSize)
+                .description("User and endpoint pairs with a live token bucket")
+                .register(meterRegistry);
+        registerLimit(IDENTIFIED, "default", properties.defaults());
+        properties.endpoints().forEach((endpoint, limit) -> registerLimit(IDENTIFIED, endpoint, limit));
+        registerLimit(ANONYMOUS, "default", properties.anonymous().limitFor("default"));
+        properties.anonymous().endpoints().forEach((endpoint, limit) -> registerLimit(ANONYMOUS, endpoint, limit));
+    }
+
+    /**
+     * Takes a token from the user's bucket for the endpoint, or from the endpoint's anonymous bucket when
+     * {@code userId} is {@code null}.
+     *
+     * @throws RateLimitExceededException if the bucket is empty
+     */
+    public void acquire(String userId, String endpoint) {
+        TokenBucket bucket;
+        EndpointCounters endpointCounters;
+        if (userId != null) {
+            bucket = buckets.get(new BucketKey(userId, endpoint), bucketFactory);
+            endpointCounters = counters.computeIfAbsent(endpoint, counterFactory);
+        } else {
+            bucket = anonymousBuckets.computeIfAbsent(endpoint, anonymousBucketFactory);
+            endpointCounters = anonymousCounters.computeIfAbsent(endpoint, anonymousCounterFactory);
+        }
+
+        long wait = bucket.tryAcquire(nanoTime.getAsLong());
+        if (wait > 0) {
+            endpointCounters.rejected.increment();
+            throw new RateLimitExceededException("Rate limit exceeded for " + endpoint, Duration.ofNanos(wait));
+        }
+        endpointCounters.allowed.increment();
+    }
+
+    private TokenBucket newBucket(BucketKey key) {
+        return new TokenBucket(properties.limitFor(key.endpoint()), nanoTime.getAsLong());
+    }
+
+    private TokenBucket newAnonymousBucket(String endpoint) {
+        return new TokenBucket(properties.anonymous().limitFor(endpoint), nanoTime.getAsLong());
+    }
+
+    private EndpointCounters newCounters(String client, String endpoint) {
+        return new EndpointCounters(counter(client, endpoint, "allowed"), counter(client, endpoint, "rejected"));
+    }
+
+    private Counter counter(String client, String endpoint, String result) {
+        return Counter.builder("accommodation.ratelimit.requests")
+                .description("Requests admitted or rejected by the rate limiter")
+                .tag("client", client)
+                .tag("endpoint", endpoint)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private void registerLimit(String client, String endpoint, RateLimitProperties.Limit limit) {
+        Gauge.builder("accommodation.ratelimit.limit", limit, RateLimitProperties.Limit::tokensPerSecond)
+                .description("Configured sustained requests per second per bucket")
+                .tag("client", client)
+                .tag("endpoint", endpoint)
+                .strongReference(true)
+                .register(meterRegistry);
+        Gauge.builder("accommodation.ratelimit.burst", limit, RateLimitProperties.Limit::burst)
+                .description("Configured burst size per bucket")
+                .tag("client", client)
+                .tag("endpoint", endpoint)
+                .strongReference(true)
+                .register(meterRegistry);
+    }
+
+    private record BucketKey(String userId, String endpoint) {
+    }
+
+    private record EndpointCounters(Counter allowed, Counter rejected) {
+    }
+}
@@ -0,0 +1,41 @@
+package com.devoops.accommodation.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket kept as a single timestamp (the generic cell rate algorithm): the bucket is the
+ * theoretical time at which it would be full again, and taking a token moves it one emission interval forward.
+ * A request is admitted while that time is at most {@code burst} intervals ahead of now.
+ */
+final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final AtomicLong theoreticalArrival;
+
+    TokenBucket(RateLimitProperties.Limit limit, long nowNanos) {
+        this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / limit.tokensPerSecond()));
+        this.toleranceNanos = intervalNanos * Math.max(1, limit.burst());
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Takes a token if one is available.
+     *
+     * @return 0 when a token was taken, otherwise the nanoseconds until the next one is
+     */
+    long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, nowNanos) + intervalNanos;
+            long wait = next - nowNanos - toleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
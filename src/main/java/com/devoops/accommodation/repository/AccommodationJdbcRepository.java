@@ -0,0 +1,247 @@
+package com.devoops.accommodation.repository;
+
+import com.devoops.accommodation.dto.request.AccommodationSearchRequest;
+import com.devoops.accommodation.dto.request.UpdateAccommodationRequest;
+import com.devoops.accommodation.dto.response.AccommodationChange;
+import com.devoops.accommodation.dto.response.AccommodationResponse;
+import com.devoops.accommodation.entity.AmenityMask;
+import com.devoops.accommodation.pagination.KeysetCursor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Plain JDBC access to {@code accommodations} for paths where Hibernate's persistence context
+ * would only add overhead. Soft-deleted rows must be filtered explicitly here.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AccommodationJdbcRepository {
+
+    static final int STREAM_FETCH_SIZE = 500;
+
+    private static final AccommodationRowMapper ROW_MAPPER = new AccommodationRowMapper();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Streams every live accommodation of a host through a server-side cursor. Must run inside a
+     * transaction, otherwise the PostgreSQL driver ignores the fetch size and buffers the whole result.
+     */
+    public void streamByHostId(UUID hostId, Consumer<AccommodationResponse> consumer) {
+        stream("WHERE host_id = ? AND is_deleted = false ORDER BY created_at, id", consumer, hostId);
+    }
+
+    /**
+     * Streams every live accommodation; same transaction requirement as {@link #streamByHostId}.
+     */
+    public void streamAll(Consumer<AccommodationResponse> consumer) {
+        stream("WHERE is_deleted = false", consumer);
+    }
+
+    /**
+     * Returns the ids of up to {@code limit} of a host's live accommodations in {@code (created_at, id)} order.
+     */
+    @Transactional(readOnly = true)
+    public List<UUID> findIdsByHostId(UUID hostId, int limit) {
+        return jdbcTemplate.queryForList(
+                "SELECT id FROM accommodations WHERE host_id = ? AND is_deleted = false "
+                        + "ORDER BY created_at, id LIMIT ?",
+                UUID.class, hostId, limit);
+    }
+
+    @Transactional(readOnly = true)
+    public List<AccommodationResponse> findAllByIds(Collection<UUID> ids) {
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "SELECT " + AccommodationRowMapper.COLUMNS + " FROM accommodations "
+                            + "WHERE id = ANY(?) AND is_deleted = false");
+            statement.setArray(1, connection.createArrayOf("uuid", ids.toArray()));
+            return statement;
+        }, ROW_MAPPER);
+    }
+
+    /**
+     * Filters live accommodations by the non-null criteria, ordered by {@code (created_at, id)} and
+     * continuing after {@code after} when given.
+     */
+    @Transactional(readOnly = true)
+    public List<AccommodationResponse> search(AccommodationSearchRequest criteria, KeysetCursor after, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT " + AccommodationRowMapper.COLUMNS
+                + " FROM accommodations WHERE is_deleted = false");
+        List<Object> args = new ArrayList<>();
+
+        if (criteria.guests() != null) {
+            sql.append(" AND min_guests <= ? AND max_guests >= ?");
+            args.add(criteria.guests());
+            args.add(criteria.guests());
+        }
+        if (criteria.pricingMode() != null) {
+            sql.append(" AND pricing_mode = CAST(? AS pricing_mode)");
+            args.add(criteria.pricingMode().name());
+        }
+        if (criteria.approvalMode() != null) {
+            sql.append(" AND approval_mode = CAST(? AS approval_mode)");
+            args.add(criteria.approvalMode().name());
+        }
+        if (criteria.amenities() != null && !criteria.amenities().isEmpty()) {
+            short required = AmenityMask.of(criteria.amenities());
+            sql.append(" AND (amenity_mask & ?) = ?");
+            args.add(required);
+            args.add(required);
+        }
+        if (after != null) {
+            sql.append(" AND (created_at, id) > (?, ?)");
+            args.add(after.position());
+            args.add(after.id());
+        }
+        sql.append(" ORDER BY created_at, id LIMIT ?");
+        args.add(limit);
+
+        return jdbcTemplate.query(sql.toString(), ROW_MAPPER, args.toArray());
+    }
+
+    /**
+     * Returns rows, tombstones included, modified after {@code after} and no later than {@code until},
+     * ordered by {@code (updated_at, id)}.
+     */
+    @Transactional(readOnly = true)
+    public List<AccommodationChange> findChanges(KeysetCursor after, LocalDateTime until, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT " + AccommodationRowMapper.COLUMNS
+                + ", is_deleted FROM accommodations WHERE updated_at <= ?");
+        List<Object> args = new ArrayList<>();
+        args.add(until);
+        if (after != null) {
+            sql.append(" AND (updated_at, id) > (?, ?)");
+            args.add(after.position());
+            args.add(after.id());
+        }
+        sql.append(" ORDER BY updated_at, id LIMIT ?");
+        args.add(limit);
+
+        return jdbcTemplate.query(sql.toString(), (rs, rowNum) -> {
+            AccommodationResponse accommodation = ROW_MAPPER.mapRow(rs, rowNum);
+            boolean deleted = rs.getBoolean("is_deleted");
+            return new AccommodationChange(accommodation.id(), deleted, accommodation.updatedAt(),
+                    deleted ? null : accommodation);
+        }, args.toArray());
+    }
+
+    /**
+     * Applies the non-null fields of {@code request} in one {@code UPDATE ... RETURNING}. The row is only
+     * touched when it is live, owned by {@code hostId}, at one of {@code expectedVersions} (if given) and the
+     * resulting guest range is valid; otherwise the result is empty and {@link #findRowState} tells why.
+     */
+    public Optional<AccommodationResponse> update(UUID id, UUID hostId, UpdateAccommodationRequest request,
+                                                  Set<Long> expectedVersions) {
+        List<Object> args = new ArrayList<>();
+        String sql = partialUpdateSql(request, LocalDateTime.now(), id, hostId, expectedVersions, args);
+        return jdbcTemplate.query(sql, ROW_MAPPER, args.toArray()).stream().findFirst();
+    }
+
+    /**
+     * Soft-deletes under the same conditions as {@link #update}; returns whether a row was deleted.
+     */
+    public boolean softDelete(UUID id, UUID hostId, Set<Long> expectedVersions) {
+        List<Object> args = new ArrayList<>(List.of(LocalDateTime.now(), id, hostId));
+        String sql = "UPDATE accommodations SET is_deleted = true, updated_at = ?, version = version + 1"
+                + " WHERE id = ? AND host_id = ? AND is_deleted = false";
+        if (expectedVersions != null) {
+            sql += " AND version = ANY(?)";
+            args.add(expectedVersions.toArray(Long[]::new));
+        }
+        return jdbcTemplate.update(sql, args.toArray()) == 1;
+    }
+
+    /**
+     * Cheap probe of a live row, used only to explain why a conditional write matched nothing.
+     */
+    public Optional<RowState> findRowState(UUID id) {
+        return jdbcTemplate.query(
+                "SELECT host_id, version FROM accommodations WHERE id = ? AND is_deleted = false",
+                (rs, rowNum) -> new RowState(rs.getObject("host_id", UUID.class), rs.getLong("version")),
+                id).stream().findFirst();
+    }
+
+    static String partialUpdateSql(UpdateAccommodationRequest request, LocalDateTime now, UUID id, UUID hostId,
+                                   Set<Long> expectedVersions, List<Object> args) {
+        StringBuilder sql = new StringBuilder("UPDATE accommodations SET updated_at = ?, version = version + 1");
+        args.add(now);
+
+        if (request.name() != null) {
+            sql.append(", name = ?");
+            args.add(request.name());
+        }
+        if (request.address() != null) {
+            sql.append(", address = ?");
+            args.add(request.address());
+        }
+        if (request.minGuests() != null) {
+            sql.append(", min_guests = ?");
+            args.add(request.minGuests());
+        }
+        if (request.maxGuests() != null) {
+            sql.append(", max_guests = ?");
+            args.add(request.maxGuests());
+        }
+        if (request.pricingMode() != null) {
+            sql.append(", pricing_mode = CAST(? AS pricing_mode)");
+            args.add(request.pricingMode().name());
+        }
+        if (request.approvalMode() != null) {
+            sql.append(", approval_mode = CAST(? AS approval_mode)");
+            args.add(request.approvalMode().name());
+        }
+        if (request.amenities() != null) {
+            sql.append(", amenity_mask = ?");
+            args.add(AmenityMask.of(request.amenities()));
+        }
+
+        sql.append(" WHERE id = ? AND host_id = ? AND is_deleted = false");
+        args.add(id);
+        args.add(hostId);
+        if (expectedVersions != null) {
+            sql.append(" AND version = ANY(?)");
+            args.add(expectedVersions.toArray(Long[]::new));
+        }
+        if (request.minGuests() != null && request.maxGuests() == null) {
+            sql.append(" AND ? <= max_guests");
+            args.add(request.minGuests());
+        } else if (request.maxGuests() != null && request.minGuests() == null) {
+            sql.append(" AND min_guests <= ?");
+            args.add(request.maxGuests());
+        }
+        sql.append(" RETURNING ").append(AccommodationRowMapper.COLUMNS);
+        return sql.toString();
+    }
+
+    public record RowState(UUID hostId, long version) {
+    }
+
+    private void stream(String condition, Consumer<AccommodationResponse> consumer, Object... args) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "SELECT " + AccommodationRowMapper.COLUMNS + " FROM accommodations " + condition,
+                    ResultSet.TYPE_FORWARD_ONLY,
+                    ResultSet.CONCUR_READ_ONLY);
+            for (int i = 0; i < args.length; i++) {
+                statement.setObject(i + 1, args[i]);
+            }
+            statement.setFetchSize(STREAM_FETCH_SIZE);
+            return statement;
+        }, (RowCallbackHandler) rs -> consumer.accept(ROW_MAPPER.mapRow(rs, rs.getRow())));
+    }
+}
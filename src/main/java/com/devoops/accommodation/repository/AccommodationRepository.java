@@ -2,11 +2,31 @@ package com.devoops.accommodation.repository;
 
 import com.devoops.accommodation.entity.Accommodation;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
 public interface AccommodationRepository extends JpaRepository<Accommodation, UUID> {
 
-    List<Accommodation> findByHostId(UUID hostId);
+    @Transactional(readOnly = true)
+    @Query(value = """
+            SELECT * FROM accommodations
+            WHERE host_id = :hostId AND is_deleted = false
+            ORDER BY created_at, id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Accommodation> findByHostId(UUID hostId, int limit);
+
+    @Transactional(readOnly = true)
+    @Query(value = """
+            SELECT * FROM accommodations
+            WHERE host_id = :hostId AND is_deleted = false
+              AND (created_at, id) > (:createdAt, :id)
+            ORDER BY created_at, id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Accommodation> findByHostIdAfter(UUID hostId, LocalDateTime createdAt, UUID id, int limit);
 }
@@ -0,0 +1,40 @@
+package com.devoops.accommodation.repository;
+
+import com.devoops.accommodation.dto.response.AccommodationResponse;
+import com.devoops.accommodation.entity.AmenityMask;
+import com.devoops.accommodation.entity.ApprovalMode;
+import com.devoops.accommodation.entity.PricingMode;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Maps an {@code accommodations} row straight to {@link AccommodationResponse}, bypassing the
+ * persistence context for read paths that never need a managed entity.
+ */
+public class AccommodationRowMapper implements RowMapper<AccommodationResponse> {
+
+    public static final String COLUMNS =
+            "id, host_id, name, address, min_guests, max_guests, pricing_mode, approval_mode, amenity_mask, created_at, updated_at, version";
+
+    @Override
+    public AccommodationResponse mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return new AccommodationResponse(
+                rs.getObject("id", UUID.class),
+                rs.getObject("host_id", UUID.class),
+                rs.getString("name"),
+                rs.getString("address"),
+                rs.getInt("min_guests"),
+                rs.getInt("max_guests"),
+                PricingMode.valueOf(rs.getString("pricing_mode")),
+                ApprovalMode.valueOf(rs.getString("approval_mode")),
+                AmenityMask.toList(rs.getShort("amenity_mask")),
+                rs.getObject("created_at", LocalDateTime.class),
+                rs.getObject("updated_at", LocalDateTime.class),
+                rs.getLong("version")
+        );
+    }
+}
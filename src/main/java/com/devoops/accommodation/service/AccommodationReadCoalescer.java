@@ -0,0 +1,38 @@
+package com.devoops.accommodation.service;
+
+import com.devoops.accommodation.concurrency.SingleFlight;
+import com.devoops.accommodation.dto.response.AccommodationResponse;
+import com.devoops.accommodation.dto.response.CursorPage;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight groups for the hot read paths of {@link AccommodationService}.
+ */
+@Component
+public class AccommodationReadCoalescer {
+
+    private final SingleFlight<UUID, Optional<AccommodationResponse>> byId;
+    private final SingleFlight<HostPageKey, CursorPage<AccommodationResponse>> byHost;
+
+    public AccommodationReadCoalescer(MeterRegistry meterRegistry) {
+        this.byId = new SingleFlight<>("getById", meterRegistry);
+        this.byHost = new SingleFlight<>("getByHostId", meterRegistry);
+    }
+
+    Optional<AccommodationResponse> byId(UUID id, Supplier<Optional<AccommodationResponse>> loader) {
+        return byId.execute(id, loader);
+    }
+
+    CursorPage<AccommodationResponse> byHost(UUID hostId, String cursor, int limit,
+                                             Supplier<CursorPage<AccommodationResponse>> loader) {
+        return byHost.execute(new HostPageKey(hostId, cursor, limit), loader);
+    }
+
+    private record HostPageKey(UUID hostId, String cursor, int limit) {
+    }
+}
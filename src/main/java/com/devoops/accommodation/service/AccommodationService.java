@@ -1,107 +1,369 @@
 package com.devoops.accommodation.service;
 
+import com.devoops.accommodation.cache.AccommodationCache;
+import com.devoops.accommodation.cache.EncodedAccommodation;
 import com.devoops.accommodation.config.UserContext;
+import com.devoops.accommodation.dto.request.AccommodationSearchRequest;
 import com.devoops.accommodation.dto.request.CreateAccommodationRequest;
 import com.devoops.accommodation.dto.request.UpdateAccommodationRequest;
+import com.devoops.accommodation.dto.response.AccommodationChange;
 import com.devoops.accommodation.dto.response.AccommodationResponse;
+import com.devoops.accommodation.dto.response.BatchGetResponse;
+import com.devoops.accommodation.dto.response.BulkCreateItemResult;
+import com.devoops.accommodation.dto.response.BulkCreateResponse;
+import com.devoops.accommodation.dto.response.ChangeFeedPage;
+import com.devoops.accommodation.dto.response.CursorPage;
 import com.devoops.accommodation.entity.Accommodation;
+import com.devoops.accommodation.entity.AmenityMask;
 import com.devoops.accommodation.exception.AccommodationNotFoundException;
 import com.devoops.accommodation.exception.ForbiddenException;
+import com.devoops.accommodation.exception.PreconditionFailedException;
+import com.devoops.accommodation.index.AmenityIndex;
 import com.devoops.accommodation.mapper.AccommodationMapper;
+import com.devoops.accommodation.outbox.OutboxWriter;
+import com.devoops.accommodation.pagination.KeysetCursor;
+import com.devoops.accommodation.repository.AccommodationJdbcRepository;
 import com.devoops.accommodation.repository.AccommodationRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class AccommodationService {
 
+    public static final int MAX_PAGE_SIZE = 100;
+
+    /**
+     * Most ids kept in a host's cached listing. Hosts with more accommodations page past this window through the
+     * keyset query instead of caching an unbounded list.
+     */
+    static final int HOST_LISTING_MAX_IDS = 1000;
+
     private final AccommodationRepository accommodationRepository;
+    private final AccommodationJdbcRepository accommodationJdbcRepository;
     private final AccommodationMapper accommodationMapper;
+    private final AccommodationCache accommodationCache;
+    private final AmenityIndex amenityIndex;
+    private final OutboxWriter outboxWriter;
+    private final ChangeFeedProperties changeFeedProperties;
+    private final AccommodationReadCoalescer readCoalescer;
+    private final Validator validator;
 
+    /**
+     * The new id cannot be cached anywhere yet, so only the host's listing is invalidated.
+     */
     @Transactional
     public AccommodationResponse create(CreateAccommodationRequest request, UserContext userContext) {
         validateGuestCapacity(request.minGuests(), request.maxGuests());
 
-        Accommodation accommodation = accommodationMapper.toEntity(request);
-        accommodation.setHostId(userContext.userId());
+        Accommodation accommodation = accommodationRepository.saveAndFlush(toNewEntity(request, userContext));
+        accommodationCache.evictHostListing(accommodation.getHostId());
 
-        if (request.amenities() != null) {
-            accommodation.setAmenities(new ArrayList<>(request.amenities()));
+        AccommodationResponse response = accommodationMapper.toResponse(accommodation);
+        amenityIndex.upsert(response);
+        outboxWriter.created(List.of(response));
+        return response;
+    }
+
+    /**
+     * Like {@link #create}, invalidates only the host's listing, once for the whole batch.
+     */
+    @Transactional
+    public BulkCreateResponse createAll(List<CreateAccommodationRequest> requests, UserContext userContext) {
+        BulkCreateItemResult[] results = new BulkCreateItemResult[requests.size()];
+        List<Integer> acceptedIndexes = new ArrayList<>(requests.size());
+        List<Accommodation> accepted = new ArrayList<>(requests.size());
+
+        for (int i = 0; i < requests.size(); i++) {
+            CreateAccommodationRequest request = requests.get(i);
+            List<String> errors = validateBulkItem(request);
+            if (errors.isEmpty()) {
+                acceptedIndexes.add(i);
+                accepted.add(toNewEntity(request, userContext));
+            } else {
+                results[i] = BulkCreateItemResult.failed(i, errors);
+            }
+        }
+
+        List<Accommodation> saved = accommodationRepository.saveAll(accepted);
+        accommodationRepository.flush();
+
+        List<AccommodationResponse> created = new ArrayList<>(saved.size());
+        for (int i = 0; i < saved.size(); i++) {
+            Accommodation accommodation = saved.get(i);
+            AccommodationResponse response = accommodationMapper.toResponse(accommodation);
+            amenityIndex.upsert(response);
+            created.add(response);
+            int index = acceptedIndexes.get(i);
+            results[index] = BulkCreateItemResult.created(index, response);
         }
+        if (!saved.isEmpty()) {
+            accommodationCache.evictHostListing(userContext.userId());
+        }
+        outboxWriter.created(created);
 
-        accommodation = accommodationRepository.saveAndFlush(accommodation);
-        return accommodationMapper.toResponse(accommodation);
+        return new BulkCreateResponse(saved.size(), requests.size() - saved.size(), List.of(results));
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Concurrent calls for the same id share one cache lookup and, on a miss, one database load.
+     */
     public AccommodationResponse getById(UUID id) {
-        Accommodation accommodation = findAccommodationOrThrow(id);
-        return accommodationMapper.toResponse(accommodation);
+        return findCached(id).orElseThrow(() -> notFound(id));
+    }
+
+    /**
+     * Like {@link #getById} but with the serialized body, which is cached so hot listings skip serialization.
+     */
+    public EncodedAccommodation getEncodedById(UUID id) {
+        return accommodationCache.getEncoded(id, this::findCached).orElseThrow(() -> notFound(id));
+    }
+
+    public BatchGetResponse getByIds(List<UUID> ids) {
+        Set<UUID> requested = new LinkedHashSet<>(ids);
+        Map<UUID, AccommodationResponse> found = accommodationCache.getAll(requested, this::loadByIds);
+
+        List<AccommodationResponse> accommodations = new ArrayList<>(found.size());
+        List<UUID> missing = new ArrayList<>();
+        for (UUID id : requested) {
+            AccommodationResponse response = found.get(id);
+            if (response != null) {
+                accommodations.add(response);
+            } else {
+                missing.add(id);
+            }
+        }
+        return new BatchGetResponse(accommodations, missing);
+    }
+
+    /**
+     * Not transactional itself so that coalesced callers do not hold a connection while they wait; the
+     * repository queries run in their own read-only transactions.
+     */
+    public CursorPage<AccommodationResponse> getByHostId(UUID hostId, String cursor, int limit) {
+        validatePageSize(limit);
+        return readCoalescer.byHost(hostId, cursor, limit, () -> loadByHostId(hostId, cursor, limit));
+    }
+
+    public CursorPage<AccommodationResponse> search(AccommodationSearchRequest criteria, String cursor, int limit) {
+        validatePageSize(limit);
+
+        KeysetCursor after = cursor != null ? KeysetCursor.decode(cursor) : null;
+        List<AccommodationResponse> accommodations = amenityIndex.isReady()
+                ? searchIndex(criteria, after, limit + 1)
+                : accommodationJdbcRepository.search(criteria, after, limit + 1);
+
+        return CursorPage.of(accommodations, limit, AccommodationService::cursorOf);
+    }
+
+    /**
+     * Resolves index hits through the accommodation cache and drops rows that were deleted or no longer match
+     * since the index was read, continuing after the last hit until {@code wanted} rows are found or the index
+     * runs out. A page is therefore only short, and without a next cursor, at the end of the results.
+     */
+    private List<AccommodationResponse> searchIndex(AccommodationSearchRequest criteria, KeysetCursor after,
+                                                    int wanted) {
+        List<AccommodationResponse> accommodations = new ArrayList<>(wanted);
+        KeysetCursor position = after;
+        while (accommodations.size() < wanted) {
+            int batch = wanted - accommodations.size();
+            List<KeysetCursor> hits = amenityIndex.search(criteria, position, batch);
+            Map<UUID, AccommodationResponse> found = accommodationCache.getAll(
+                    hits.stream().map(KeysetCursor::id).toList(), this::loadByIds);
+            for (KeysetCursor hit : hits) {
+                AccommodationResponse accommodation = found.get(hit.id());
+                if (accommodation != null && AmenityIndex.matches(criteria, accommodation)) {
+                    accommodations.add(accommodation);
+                }
+            }
+            if (hits.size() < batch) {
+                break;
+            }
+            position = hits.getLast();
+        }
+        return accommodations;
+    }
+
+    /**
+     * Incremental sync: live rows and tombstones modified after {@code cursor}, oldest first.
+     */
+    public ChangeFeedPage getChanges(String cursor, int limit) {
+        if (limit < 1 || limit > changeFeedProperties.maxPageSize()) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + changeFeedProperties.maxPageSize());
+        }
+
+        KeysetCursor after = cursor != null ? KeysetCursor.decode(cursor) : null;
+        LocalDateTime until = LocalDateTime.now().minus(changeFeedProperties.settleTime());
+        List<AccommodationChange> rows = accommodationJdbcRepository.findChanges(after, until, limit + 1);
+
+        boolean hasMore = rows.size() > limit;
+        List<AccommodationChange> changes = hasMore ? rows.subList(0, limit) : rows;
+        String nextCursor = changes.isEmpty()
+                ? cursor
+                : new KeysetCursor(changes.getLast().updatedAt(), changes.getLast().id()).encode();
+        return new ChangeFeedPage(changes, nextCursor, hasMore);
     }
 
     @Transactional(readOnly = true)
-    public List<AccommodationResponse> getByHostId(UUID hostId) {
-        List<Accommodation> accommodations = accommodationRepository.findByHostId(hostId);
-        return accommodationMapper.toResponseList(accommodations);
+    public void streamByHostId(UUID hostId, Consumer<AccommodationResponse> consumer) {
+        accommodationJdbcRepository.streamByHostId(hostId, consumer);
     }
 
+    /**
+     * Applies the non-null fields in a single conditional {@code UPDATE ... RETURNING}; the row is only probed
+     * again when nothing matched, to decide between 404, 403, 412 and an invalid guest range.
+     *
+     * @param expectedVersions versions listed in the client's {@code If-Match}, or {@code null} for an unconditional
+     *                         update
+     */
     @Transactional
-    public AccommodationResponse update(UUID id, UpdateAccommodationRequest request, UserContext userContext) {
-        Accommodation accommodation = findAccommodationOrThrow(id);
-        validateOwnership(accommodation, userContext);
-
-        if (request.name() != null) {
-            accommodation.setName(request.name());
+    public AccommodationResponse update(UUID id, UpdateAccommodationRequest request, UserContext userContext,
+                                        Set<Long> expectedVersions) {
+        if (request.minGuests() != null && request.maxGuests() != null) {
+            validateGuestCapacity(request.minGuests(), request.maxGuests());
         }
-        if (request.address() != null) {
-            accommodation.setAddress(request.address());
+
+        AccommodationResponse response = accommodationJdbcRepository
+                .update(id, userContext.userId(), request, expectedVersions)
+                .orElseThrow(() -> rejectedWrite(id, userContext, expectedVersions));
+        accommodationCache.evict(id);
+        amenityIndex.upsert(response);
+        outboxWriter.updated(response);
+        return response;
+    }
+
+    @Transactional
+    public void delete(UUID id, UserContext userContext, Set<Long> expectedVersions) {
+        if (!accommodationJdbcRepository.softDelete(id, userContext.userId(), expectedVersions)) {
+            throw rejectedWrite(id, userContext, expectedVersions);
         }
-        if (request.minGuests() != null) {
-            accommodation.setMinGuests(request.minGuests());
+        accommodationCache.evict(id);
+        accommodationCache.evictHostListing(userContext.userId());
+        amenityIndex.remove(id);
+        outboxWriter.deleted(id);
+    }
+
+    private Accommodation toNewEntity(CreateAccommodationRequest request, UserContext userContext) {
+        Accommodation accommodation = accommodationMapper.toEntity(request);
+        accommodation.setHostId(userContext.userId());
+
+        if (request.amenities() != null) {
+            accommodation.setAmenities(AmenityMask.copyOf(request.amenities()));
         }
-        if (request.maxGuests() != null) {
-            accommodation.setMaxGuests(request.maxGuests());
+        return accommodation;
+    }
+
+    private List<String> validateBulkItem(CreateAccommodationRequest request) {
+        if (request == null) {
+            return List.of("Accommodation is required");
         }
-        if (request.pricingMode() != null) {
-            accommodation.setPricingMode(request.pricingMode());
+
+        List<String> errors = validator.validate(request).stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .toList();
+        if (!errors.isEmpty()) {
+            return errors;
         }
-        if (request.approvalMode() != null) {
-            accommodation.setApprovalMode(request.approvalMode());
+
+        try {
+            validateGuestCapacity(request.minGuests(), request.maxGuests());
+        } catch (IllegalArgumentException e) {
+            return List.of(e.getMessage());
         }
+        return List.of();
+    }
 
-        validateGuestCapacity(accommodation.getMinGuests(), accommodation.getMaxGuests());
+    private Optional<AccommodationResponse> findCached(UUID id) {
+        return readCoalescer.byId(id, () -> accommodationCache.get(id, this::loadById));
+    }
 
-        if (request.amenities() != null) {
-            accommodation.setAmenities(new ArrayList<>(request.amenities()));
+    /**
+     * Like the other cache loaders this runs in a read-only transaction and so is served by a replica;
+     * {@link AccommodationCache} bounds how long a lagging replica's answer can stay cached after a write.
+     */
+    private Optional<AccommodationResponse> loadById(UUID id) {
+        return accommodationRepository.findById(id).map(accommodationMapper::toResponse);
+    }
+
+    private Map<UUID, AccommodationResponse> loadByIds(Set<UUID> ids) {
+        return accommodationJdbcRepository.findAllByIds(ids).stream()
+                .collect(Collectors.toMap(AccommodationResponse::id, Function.identity()));
+    }
+
+    private List<UUID> loadHostListing(UUID hostId) {
+        return accommodationJdbcRepository.findIdsByHostId(hostId, HOST_LISTING_MAX_IDS + 1);
+    }
+
+    /**
+     * Pages through the host's cached listing ids and resolves them through the accommodation cache. The listing
+     * holds at most {@link #HOST_LISTING_MAX_IDS} ids plus one to tell whether it is complete; pages that start
+     * outside it (the cursor's accommodation was deleted, or lies past the window), run past the end of a
+     * truncated listing, or hit an id that no longer resolves are served by the keyset query instead, so a page
+     * is never short while more rows exist.
+     */
+    private CursorPage<AccommodationResponse> loadByHostId(UUID hostId, String cursor, int limit) {
+        KeysetCursor after = cursor != null ? KeysetCursor.decode(cursor) : null;
+        List<UUID> ids = accommodationCache.getHostListing(hostId, this::loadHostListing);
+        boolean complete = ids.size() <= HOST_LISTING_MAX_IDS;
+
+        int from = after != null ? ids.indexOf(after.id()) + 1 : 0;
+        int to = from + limit + 1;
+        if ((after == null || from > 0) && (complete || to <= ids.size())) {
+            List<UUID> pageIds = ids.subList(from, Math.min(ids.size(), to));
+            Map<UUID, AccommodationResponse> found = accommodationCache.getAll(pageIds, this::loadByIds);
+            if (found.keySet().containsAll(pageIds)) {
+                return CursorPage.of(pageIds.stream().map(found::get).toList(), limit, AccommodationService::cursorOf);
+            }
         }
 
-        accommodation = accommodationRepository.saveAndFlush(accommodation);
-        return accommodationMapper.toResponse(accommodation);
+        List<Accommodation> rows = after == null
+                ? accommodationRepository.findByHostId(hostId, limit + 1)
+                : accommodationRepository.findByHostIdAfter(hostId, after.position(), after.id(), limit + 1);
+        return CursorPage.of(accommodationMapper.toResponseList(rows), limit, AccommodationService::cursorOf);
     }
 
-    @Transactional
-    public void delete(UUID id, UserContext userContext) {
-        Accommodation accommodation = findAccommodationOrThrow(id);
-        validateOwnership(accommodation, userContext);
+    private static KeysetCursor cursorOf(AccommodationResponse response) {
+        return new KeysetCursor(response.createdAt(), response.id());
+    }
 
-        accommodation.setDeleted(true);
-        accommodationRepository.save(accommodation);
+    private AccommodationNotFoundException notFound(UUID id) {
+        return new AccommodationNotFoundException("Accommodation not found with id: " + id);
     }
 
-    private Accommodation findAccommodationOrThrow(UUID id) {
-        return accommodationRepository.findById(id)
-                .orElseThrow(() -> new AccommodationNotFoundException("Accommodation not found with id: " + id));
+    private RuntimeException rejectedWrite(UUID id, UserContext userContext, Set<Long> expectedVersions) {
+        Optional<AccommodationJdbcRepository.RowState> state = accommodationJdbcRepository.findRowState(id);
+        if (state.isEmpty()) {
+            return notFound(id);
+        }
+        if (!state.get().hostId().equals(userContext.userId())) {
+            return new ForbiddenException("You are not the owner of this accommodation");
+        }
+        if (expectedVersions != null && !expectedVersions.contains(state.get().version())) {
+            return new PreconditionFailedException("Accommodation has been modified (current version "
+                    + state.get().version() + ")");
+        }
+        return new IllegalArgumentException("Minimum guests cannot exceed maximum guests");
     }
 
-    private void validateOwnership(Accommodation accommodation, UserContext userContext) {
-        if (!accommodation.getHostId().equals(userContext.userId())) {
-            throw new ForbiddenException("You are not the owner of this accommodation");
+    private void validatePageSize(int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
         }
     }
 
@@ -0,0 +1,17 @@
+package com.devoops.accommodation.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * {@code settleTime} holds back rows modified within that window: {@code updated_at} is taken before commit,
+ * so a slower transaction can still commit a row behind a cursor the feed has already handed out.
+ */
+@ConfigurationProperties(prefix = "accommodation.change-feed")
+public record ChangeFeedProperties(
+        @DefaultValue("1000") int maxPageSize,
+        @DefaultValue("5s") Duration settleTime
+) {
+}
@@ -0,0 +1,15 @@
+-- Contract step of V6: drop the amenities array once no running instance reads or writes it.
+-- Not on spring.flyway.locations yet; add classpath:db/contract in the release after V6 is deployed everywhere.
+-- Containment filters are evaluated as (amenity_mask & required) = required.
+
+DROP TRIGGER trg_accommodations_sync_amenities ON accommodations;
+DROP FUNCTION accommodations_sync_amenities();
+DROP FUNCTION amenities_of(smallint);
+DROP FUNCTION amenity_mask_of(text[]);
+
+-- The GIN index from V5 only serves the previous version's amenities @> ARRAY[...] filter. It stays until here so
+-- that version's searches are not turned into sequential scans during rollout or rollback; it is write overhead
+-- only once every instance filters on amenity_mask. Dropped explicitly ahead of the column, which would also
+-- take it along.
+DROP INDEX idx_accommodations_amenities;
+ALTER TABLE accommodations DROP COLUMN amenities;
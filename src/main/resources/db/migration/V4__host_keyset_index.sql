@@ -0,0 +1,4 @@
+-- Composite index backing keyset pagination of a host's accommodations by (created_at, id)
+CREATE INDEX idx_accommodations_host_created_at_id
+    ON accommodations(host_id, created_at, id)
+    WHERE is_deleted = false;
@@ -0,0 +1,16 @@
+-- Indexes backing guest search over capacity, amenities and keyset order
+
+-- Amenity containment filters (amenities @> ARRAY[...])
+CREATE INDEX idx_accommodations_amenities
+    ON accommodations USING GIN (amenities)
+    WHERE is_deleted = false;
+
+-- Guest count range filters (min_guests <= ? AND max_guests >= ?)
+CREATE INDEX idx_accommodations_guests
+    ON accommodations(min_guests, max_guests)
+    WHERE is_deleted = false;
+
+-- Keyset pagination of search results by (created_at, id)
+CREATE INDEX idx_accommodations_created_at_id
+    ON accommodations(created_at, id)
+    WHERE is_deleted = false;
@@ -0,0 +1,46 @@
+-- Store amenities as a bitmask instead of a text[] array (expand step).
+-- Bit n is the amenity with position n + 1 in amenity_type, matching AmenityType ordinals.
+-- The amenities array and its GIN index stay until every instance reads and writes amenity_mask; a trigger keeps
+-- both forms in sync meanwhile, so instances of the previous version keep working during rollout and rollback.
+-- The contract step is db/contract/V10__drop_amenities_array.sql.
+
+ALTER TABLE accommodations ADD COLUMN amenity_mask SMALLINT NOT NULL DEFAULT 0;
+
+CREATE FUNCTION amenity_mask_of(amenities text[]) RETURNS smallint
+    LANGUAGE sql STABLE AS $$
+    SELECT COALESCE(bit_or(1 << (array_position(enum_range(NULL::amenity_type), am::amenity_type) - 1)), 0)::smallint
+    FROM unnest(amenities) AS am
+$$;
+
+CREATE FUNCTION amenities_of(mask smallint) RETURNS text[]
+    LANGUAGE sql STABLE AS $$
+    SELECT COALESCE(array_agg(e.type::text ORDER BY e.n), '{}')
+    FROM unnest(enum_range(NULL::amenity_type)) WITH ORDINALITY AS e(type, n)
+    WHERE (mask::int & (1 << (e.n::int - 1))) <> 0
+$$;
+
+-- Backfill from the existing array
+UPDATE accommodations SET amenity_mask = amenity_mask_of(amenities);
+
+-- Whichever form the writer changed is propagated to the other one
+CREATE FUNCTION accommodations_sync_amenities() RETURNS trigger
+    LANGUAGE plpgsql AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        IF NEW.amenity_mask = 0 AND cardinality(NEW.amenities) > 0 THEN
+            NEW.amenity_mask := amenity_mask_of(NEW.amenities);
+        ELSIF NEW.amenity_mask <> 0 AND cardinality(NEW.amenities) = 0 THEN
+            NEW.amenities := amenities_of(NEW.amenity_mask);
+        END IF;
+    ELSIF NEW.amenity_mask IS DISTINCT FROM OLD.amenity_mask THEN
+        NEW.amenities := amenities_of(NEW.amenity_mask);
+    ELSIF NEW.amenities IS DISTINCT FROM OLD.amenities THEN
+        NEW.amenity_mask := amenity_mask_of(NEW.amenities);
+    END IF;
+    RETURN NEW;
+END;
+$$;
+
+CREATE TRIGGER trg_accommodations_sync_amenities
+    BEFORE INSERT OR UPDATE ON accommodations
+    FOR EACH ROW EXECUTE FUNCTION accommodations_sync_amenities();
@@ -0,0 +1,2 @@
+-- Optimistic locking counter, exposed to clients as the ETag
+ALTER TABLE accommodations ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,8 @@
+-- Transactional outbox: change events written with the accommodation row and drained by OutboxRelay
+CREATE TABLE accommodation_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    accommodation_id UUID NOT NULL,
+    event_type VARCHAR(32) NOT NULL,
+    payload JSONB NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT now()
+);
@@ -0,0 +1,2 @@
+-- Change feed keyset; not partial, because tombstones are part of the feed
+CREATE INDEX idx_accommodations_updated_at_id ON accommodations (updated_at, id);
@@ -0,0 +1,369 @@
+package com.devoops.accommodation.cache;
+
+import com.devoops.accommodation.dto.response.AccommodationResponse;
+import com.devoops.accommodation.entity.ApprovalMode;
+import com.devoops.accommodation.entity.PricingMode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AccommodationCacheTest {
+
+    private static final AccommodationCacheProperties PROPERTIES =
+            new AccommodationCacheProperties(100, Duration.ofMinutes(10), Duration.ofSeconds(30), Duration.ZERO,
+                    new AccommodationCacheProperties.Encoded(true, true, 64));
+
+    private final SharedCache sharedCache = new InMemorySharedCache(100);
+    private final LocalInvalidationBus bus = new LocalInvalidationBus(new SimpleMeterRegistry());
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private AccommodationCache nodeA;
+    private AccommodationCache nodeB;
+    private AccommodationResponse response;
+
+    @BeforeEach
+    void setUp() {
+        nodeA = new AccommodationCache(PROPERTIES, sharedCache, bus, JsonMapper.builder().build(), meterRegistry);
+        nodeB = new AccommodationCache(PROPERTIES, sharedCache, bus, JsonMapper.builder().build(),
+                new SimpleMeterRegistry());
+        LocalDateTime now = LocalDateTime.of(2026, 1, 1, 12, 0);
+        response = new AccommodationResponse(UUID.randomUUID(), UUID.randomUUID(), "Cached", "1 Cache St",
+                1, 2, PricingMode.PER_GUEST, ApprovalMode.MANUAL, List.of(), now, now, 3L);
+    }
+
+    private Function<UUID, Optional<AccommodationResponse>> loader(AccommodationResponse value) {
+        return id -> {
+            loads.incrementAndGet();
+            return Optional.ofNullable(value);
+        };
+    }
+
+    private double requests(String tier, String result) {
+        return meterRegistry.get("accommodation.cache.requests")
+                .tags("cache", AccommodationCache.CACHE_NAME, "tier", tier, "result", result)
+                .counter()
+                .count();
+    }
+
+    private AccommodationCache replicaLagged(Duration replicaLag) {
+        return new AccommodationCache(
+                new AccommodationCacheProperties(100, Duration.ofMinutes(10), Duration.ofSeconds(30), replicaLag,
+                        new AccommodationCacheProperties.Encoded(true, true, 64)),
+                new InMemorySharedCache(100), bus, JsonMapper.builder().build(), new SimpleMeterRegistry());
+    }
+
+    @Nested
+    @DisplayName("Tiers")
+    class TierTests {
+
+        @Test
+        @DisplayName("Repeated get is served from the local tier")
+        void get_Twice_LoadsOnce() {
+            nodeA.get(response.id(), loader(response));
+            Optional<AccommodationResponse> result = nodeA.get(response.id(), loader(response));
+
+            assertThat(result).contains(response);
+            assertThat(loads).hasValue(1);
+            assertThat(requests("l1", "hit")).isEqualTo(1);
+            assertThat(requests("l1", "miss")).isEqualTo(1);
+            assertThat(requests("l2", "miss")).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Local tier keeps reporting Caffeine statistics under the cache name")
+        void get_RecordsCaffeineStatistics() {
+            nodeA.get(response.id(), loader(response));
+            nodeA.get(response.id(), loader(response));
+            nodeA.getAll(List.of(response.id(), UUID.randomUUID()), ids -> Map.of());
+
+            assertThat(meterRegistry.get("cache.gets").tags("cache", AccommodationCache.CACHE_NAME, "result", "hit")
+                    .functionCounter().count()).isEqualTo(2);
+            assertThat(meterRegistry.get("cache.gets").tags("cache", AccommodationCache.CACHE_NAME, "result", "miss")
+                    .functionCounter().count()).isEqualTo(2);
+            assertThat(meterRegistry.get("cache.size").tags("cache", AccommodationCache.HOST_LISTINGS).gauge())
+                    .isNotNull();
+        }
+
+        @Test
+        @DisplayName("Entry loaded by one node is served to another from the shared tier")
+        void get_OnOtherNode_ReadsSharedTier() {
+            nodeA.get(response.id(), loader(response));
+            Optional<AccommodationResponse> result = nodeB.get(response.id(), loader(response));
+
+            assertThat(result).contains(response);
+            assertThat(loads).hasValue(1);
+        }
+
+        @Test
+        @DisplayName("Local entry filled from the shared tier expires when the shared entry does")
+        void get_FromAgedSharedEntry_ExpiresWithIt() throws InterruptedException {
+            AccommodationCacheProperties shortTtl = new AccommodationCacheProperties(100, Duration.ofMillis(500),
+                    Duration.ofMillis(500), Duration.ZERO, new AccommodationCacheProperties.Encoded(true, true, 64));
+            SharedCache shared = new InMemorySharedCache(100);
+            AccommodationCache first = new AccommodationCache(shortTtl, shared, bus, JsonMapper.builder().build(),
+                    new SimpleMeterRegistry());
+            AccommodationCache second = new AccommodationCache(shortTtl, shared, bus, JsonMapper.builder().build(),
+                    new SimpleMeterRegistry());
+
+            first.get(response.id(), loader(response));
+            Thread.sleep(300);
+            second.get(response.id(), loader(response));
+            Thread.sleep(300);
+            second.get(response.id(), loader(response));
+
+            assertThat(loads).hasValue(2);
+        }
+
+        @Test
+        @DisplayName("Unknown ID is cached as a negative entry in both tiers")
+        void get_WithUnknownId_CachesNegativeEntry() {
+            UUID unknown = UUID.randomUUID();
+
+            assertThat(nodeA.get(unknown, loader(null))).isEmpty();
+            assertThat(nodeB.get(unknown, loader(null))).isEmpty();
+            assertThat(loads).hasValue(1);
+        }
+
+        @Test
+        @DisplayName("getAll loads only IDs that neither tier holds")
+        void getAll_WithPartiallyCachedIds_LoadsRemainder() {
+            UUID unknown = UUID.randomUUID();
+            nodeA.get(response.id(), loader(response));
+
+            Map<UUID, AccommodationResponse> found = nodeB.getAll(List.of(response.id(), unknown), ids -> {
+                assertThat(ids).containsExactly(unknown);
+                return Map.of();
+            });
+
+            assertThat(found).containsOnly(Map.entry(response.id(), response));
+        }
+    }
+
+    @Nested
+    @DisplayName("Invalidation")
+    class InvalidationTests {
+
+        @Test
+        @DisplayName("Evict on one node drops the entry from every node and the shared tier")
+        void evict_DropsEntryEverywhere() {
+            nodeA.get(response.id(), loader(response));
+            nodeB.get(response.id(), loader(response));
+
+            nodeA.evict(response.id());
+            nodeB.get(response.id(), loader(response));
+
+            assertThat(loads).hasValue(2);
+        }
+
+        @Test
+        @DisplayName("Host listing eviction is independent of accommodation entries")
+        void evictHostListing_ReloadsListingOnly() {
+            UUID hostId = response.hostId();
+            AtomicInteger listingLoads = new AtomicInteger();
+            Function<UUID, List<UUID>> listingLoader = id -> {
+                listingLoads.incrementAndGet();
+                return List.of(response.id());
+            };
+
+            nodeA.get(response.id(), loader(response));
+            assertThat(nodeA.getHostListing(hostId, listingLoader)).containsExactly(response.id());
+            nodeB.evictHostListing(hostId);
+
+            assertThat(nodeA.getHostListing(hostId, listingLoader)).containsExactly(response.id());
+            assertThat(nodeA.get(response.id(), loader(response))).contains(response);
+            assertThat(listingLoads).hasValue(2);
+            assertThat(loads).hasValue(1);
+        }
+
+        @Test
+        @DisplayName("With a replica lag an invalidation is applied again once replicas have caught up")
+        void evict_WithReplicaLag_EvictsAgainAfterLag() throws InterruptedException {
+            AccommodationCache cache = replicaLagged(Duration.ofMillis(100));
+            cache.get(response.id(), loader(response));
+
+            cache.evict(response.id());
+            // refilled before the replica replayed the write
+            cache.get(response.id(), loader(response));
+            Thread.sleep(300);
+            cache.get(response.id(), loader(response));
+
+            assertThat(loads).hasValue(3);
+        }
+
+        @Test
+        @DisplayName("With a replica lag a not-found is cached no longer than the lag")
+        void get_Absent_WithReplicaLag_ExpiresAfterLag() throws InterruptedException {
+            AccommodationCache cache = replicaLagged(Duration.ofMillis(100));
+            cache.get(response.id(), loader(null));
+
+            Thread.sleep(300);
+            Optional<AccommodationResponse> result = cache.get(response.id(), loader(response));
+
+            assertThat(result).contains(response);
+            assertThat(loads).hasValue(2);
+        }
+
+        @Test
+        @DisplayName("Reset after missed invalidations also clears the in-process shared tier")
+        void invalidateAll_ClearsInMemorySharedTier() {
+            nodeA.get(response.id(), loader(response));
+
+            bus.publish(Invalidation.all("node"));
+            nodeA.get(response.id(), loader(response));
+
+            assertThat(loads).hasValue(2);
+        }
+
+        @Test
+        @DisplayName("Evictions inside a transaction are published as one batch when it commits")
+        void evict_InTransaction_PublishesOneBatchOnCommit() {
+            List<List<Invalidation>> batches = new ArrayList<>();
+            LocalInvalidationBus recordingBus = new LocalInvalidationBus(new SimpleMeterRegistry()) {
+                @Override
+                public void publishAll(List<Invalidation> invalidations) {
+                    batches.add(invalidations);
+                    super.publishAll(invalidations);
+                }
+            };
+            AccommodationCache cache = new AccommodationCache(PROPERTIES, new InMemorySharedCache(100), recordingBus,
+                    JsonMapper.builder().build(), new SimpleMeterRegistry());
+
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                cache.evict(UUID.randomUUID());
+                cache.evict(UUID.randomUUID());
+                cache.evictHostListing(response.hostId());
+                assertThat(batches).isEmpty();
+
+                TransactionSynchronizationUtils.triggerBeforeCommit(false);
+                TransactionSynchronizationUtils.triggerAfterCommit();
+            } finally {
+                TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+
+            assertThat(batches).hasSize(1);
+            assertThat(batches.getFirst()).hasSize(3);
+            assertThat(TransactionSynchronizationManager.getResource(cache)).isNull();
+        }
+
+        @Test
+        @DisplayName("Payload survives an encode and decode round trip")
+        void decode_OfEncoded_ReturnsSameInvalidation() {
+            Invalidation invalidation = Invalidation.of(Invalidation.Target.HOST_LISTING, UUID.randomUUID(), "node");
+
+            assertThat(Invalidation.decode(invalidation.encode())).isEqualTo(invalidation);
+            assertThat(Invalidation.decode(Invalidation.all("node").encode()).id()).isNull();
+        }
+
+        @Test
+        @DisplayName("Malformed payload throws IllegalArgumentException")
+        void decode_WithMalformedPayload_Throws() {
+            assertThatThrownBy(() -> Invalidation.decode("ACCOMMODATION|not-a-uuid|node|1"))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> Invalidation.decode("garbage"))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Encoded")
+    class EncodedTests {
+
+        @Test
+        @DisplayName("Body is the JSON of the response and gzip decompresses to it")
+        void getEncoded_ReturnsJsonAndGzip() throws IOException {
+            EncodedAccommodation encoded = nodeA.getEncoded(response.id(), loader(response)).orElseThrow();
+
+            assertThat(JsonMapper.builder().build().readValue(encoded.json(), AccommodationResponse.class))
+                    .isEqualTo(response);
+            try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(encoded.gzip()))) {
+                assertThat(in.readAllBytes()).isEqualTo(encoded.json());
+            }
+        }
+
+        @Test
+        @DisplayName("Body below the gzip threshold is not compressed")
+        void getEncoded_BelowThreshold_SkipsGzip() {
+            AccommodationCache cache = new AccommodationCache(
+                    new AccommodationCacheProperties(100, Duration.ofMinutes(10), Duration.ofSeconds(30), Duration.ZERO,
+                            new AccommodationCacheProperties.Encoded(true, true, 100_000)),
+                    new InMemorySharedCache(100), bus, JsonMapper.builder().build(), new SimpleMeterRegistry());
+
+            assertThat(cache.getEncoded(response.id(), loader(response)).orElseThrow().gzip()).isNull();
+        }
+
+        @Test
+        @DisplayName("Remote eviction drops the encoded body")
+        void evict_OnOtherNode_DropsEncodedBody() {
+            EncodedAccommodation first = nodeA.getEncoded(response.id(), loader(response)).orElseThrow();
+            nodeB.evict(response.id());
+
+            assertThat(nodeA.getEncoded(response.id(), loader(response)).orElseThrow()).isNotSameAs(first);
+            assertThat(loads).hasValue(2);
+        }
+
+        @Test
+        @DisplayName("Body expires no later than the cached response it was encoded from")
+        void getEncoded_FromAgedResponse_ExpiresWithIt() throws InterruptedException {
+            AccommodationCache cache = new AccommodationCache(
+                    new AccommodationCacheProperties(100, Duration.ofMillis(500), Duration.ofMillis(500), Duration.ZERO,
+                            new AccommodationCacheProperties.Encoded(true, true, 64)),
+                    new InMemorySharedCache(100), bus, JsonMapper.builder().build(), new SimpleMeterRegistry());
+
+            cache.get(response.id(), loader(response));
+            Thread.sleep(300);
+            cache.getEncoded(response.id(), id -> cache.get(id, loader(response)));
+            Thread.sleep(300);
+            cache.getEncoded(response.id(), id -> cache.get(id, loader(response)));
+
+            assertThat(loads).hasValue(2);
+        }
+
+        @Test
+        @DisplayName("With encoding disabled every call serializes again")
+        void getEncoded_WhenDisabled_DoesNotCacheBody() {
+            AccommodationCache cache = new AccommodationCache(
+                    new AccommodationCacheProperties(100, Duration.ofMinutes(10), Duration.ofSeconds(30), Duration.ZERO,
+                            new AccommodationCacheProperties.Encoded(false, true, 64)),
+                    new InMemorySharedCache(100), bus, JsonMapper.builder().build(), new SimpleMeterRegistry());
+
+            EncodedAccommodation first = cache.getEncoded(response.id(), loader(response)).orElseThrow();
+            EncodedAccommodation second = cache.getEncoded(response.id(), loader(response)).orElseThrow();
+
+            assertThat(second).isNotSameAs(first);
+        }
+    }
+
+    @Test
+    @DisplayName("getAll with no IDs returns empty map without loading")
+    void getAll_WithNoIds_ReturnsEmpty() {
+        assertThat(nodeA.getAll(Set.of(), ids -> {
+            throw new AssertionError("loader must not be called");
+        })).isEmpty();
+    }
+}
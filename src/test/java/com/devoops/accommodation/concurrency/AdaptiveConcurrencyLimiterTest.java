@@ -0,0 +1,94 @@
+package com.devoops.accommodation.concurrency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final Duration FAST = Duration.ofMillis(1);
+    private static final Duration SLOW = Duration.ofMillis(20);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AdaptiveConcurrencyProperties properties = new AdaptiveConcurrencyProperties(true, 20, 4, 100, 2.0,
+            1.0, 100, Map.of("createAll", new AdaptiveConcurrencyProperties.Limit(2, 1, 10)));
+    private final AdaptiveConcurrencyLimiter limiter =
+            new AdaptiveConcurrencyLimiter(AdaptiveConcurrencyLimiter.DEFAULT_ENDPOINT, properties, meterRegistry);
+
+    @Test
+    @DisplayName("Sheds requests beyond the current limit")
+    void tryAcquire_AtLimit_Rejects() {
+        for (int i = 0; i < 20; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+        }
+
+        assertThat(limiter.tryAcquire()).isFalse();
+        assertThat(meterRegistry.get("accommodation.concurrency.adaptive.rejected").counter().count()).isEqualTo(1);
+
+        limiter.release();
+        assertThat(limiter.tryAcquire()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Shrinks the limit when statement latency rises and grows it back when latency recovers")
+    void release_FollowsDatabaseLatency() {
+        cycle(FAST);
+        int steady = limiter.limit();
+        assertThat(steady).isGreaterThan(20);
+
+        cycle(SLOW);
+        cycle(SLOW);
+        int shed = limiter.limit();
+        assertThat(shed).isLessThan(steady);
+
+        for (int i = 0; i < 5; i++) {
+            cycle(FAST);
+        }
+        assertThat(limiter.limit()).isGreaterThan(shed);
+        assertThat(limiter.inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Leaves the limit alone when load is too low to judge it")
+    void release_UnderLightLoad_KeepsLimit() {
+        limiter.tryAcquire();
+        limiter.release(1, SLOW);
+        limiter.tryAcquire();
+        limiter.release(1, FAST);
+
+        assertThat(limiter.limit()).isEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("Gives an overridden endpoint its own limit and meters")
+    void forEndpoint_WithOverride_LimitsSeparately() {
+        AdaptiveConcurrencyLimiter createAll =
+                new AdaptiveConcurrencyLimiter("createAll", properties.forEndpoint("createAll"), meterRegistry);
+
+        assertThat(createAll.tryAcquire()).isTrue();
+        assertThat(createAll.tryAcquire()).isTrue();
+        assertThat(createAll.tryAcquire()).isFalse();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(meterRegistry.get("accommodation.concurrency.adaptive.rejected").tag("endpoint", "createAll")
+                .counter().count()).isEqualTo(1);
+        assertThat(properties.forEndpoint("getById")).isSameAs(properties);
+    }
+
+    /**
+     * Fills the limit, then releases every permit with the given per-request JDBC time for one statement.
+     */
+    private void cycle(Duration jdbcTime) {
+        int admitted = 0;
+        while (limiter.tryAcquire()) {
+            admitted++;
+        }
+        for (int i = 0; i < admitted; i++) {
+            limiter.release(1, jdbcTime);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.devoops.accommodation.concurrency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.DispatcherType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcurrencyLimitInterceptorTest {
+
+    private final ConcurrencyLimiter limiter = new ConcurrencyLimiter(
+            2, new ConcurrencyLimiterProperties(0, 10, Duration.ofMillis(10)), new SimpleMeterRegistry());
+    private final ConcurrencyLimitInterceptor interceptor = new ConcurrencyLimitInterceptor(limiter);
+    private final MockHttpServletRequest request = new MockHttpServletRequest();
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    private final HandlerMethod handler = handler();
+
+    private static HandlerMethod handler() {
+        try {
+            return new HandlerMethod(new Object(), Object.class.getMethod("toString"));
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Test
+    @DisplayName("Releases the permit when a synchronous call completes")
+    void afterCompletion_ReleasesPermit() {
+        interceptor.preHandle(request, response, handler);
+        assertThat(limiter.inUse()).isEqualTo(1);
+
+        interceptor.afterCompletion(request, response, handler, null);
+        assertThat(limiter.inUse()).isZero();
+    }
+
+    @Test
+    @DisplayName("Keeps the permit while async work runs and releases it when the ASYNC dispatch completes")
+    void asyncHandler_HoldsPermitUntilAsyncDispatchCompletes() {
+        interceptor.preHandle(request, response, handler);
+        assertThat(limiter.inUse()).isEqualTo(1);
+
+        request.setDispatcherType(DispatcherType.ASYNC);
+        interceptor.preHandle(request, response, handler);
+        assertThat(limiter.inUse()).isEqualTo(1);
+
+        interceptor.afterCompletion(request, response, handler, null);
+        assertThat(limiter.inUse()).isZero();
+
+        interceptor.afterCompletion(request, response, handler, null);
+        assertThat(limiter.inUse()).isZero();
+    }
+}
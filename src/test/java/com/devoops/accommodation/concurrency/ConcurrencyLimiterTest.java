@@ -0,0 +1,56 @@
+package com.devoops.accommodation.concurrency;
+
+import com.devoops.accommodation.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConcurrencyLimiterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ConcurrencyLimiter limiter(int permits, int maxQueue, Duration timeout) {
+        return new ConcurrencyLimiter(permits, new ConcurrencyLimiterProperties(0, maxQueue, timeout), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Hands out permits up to the limit and reuses released ones")
+    void acquire_WithinLimit_TracksPermitsInUse() {
+        ConcurrencyLimiter limiter = limiter(2, 10, Duration.ofMillis(10));
+
+        limiter.acquire();
+        limiter.acquire();
+        assertThat(limiter.inUse()).isEqualTo(2);
+
+        limiter.release();
+        limiter.acquire();
+        assertThat(limiter.inUse()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Rejects after the acquire timeout and counts the rejection")
+    void acquire_WhenExhausted_TimesOut() {
+        ConcurrencyLimiter limiter = limiter(1, 10, Duration.ofMillis(10));
+        limiter.acquire();
+
+        assertThatThrownBy(limiter::acquire).isInstanceOf(ServiceOverloadedException.class);
+        assertThat(limiter.queueDepth()).isZero();
+        assertThat(meterRegistry.get("accommodation.concurrency.rejected").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Rejects immediately when the wait queue is full")
+    void acquire_WhenQueueFull_RejectsWithoutWaiting() {
+        ConcurrencyLimiter limiter = limiter(1, 0, Duration.ofMinutes(1));
+        limiter.acquire();
+
+        long start = System.nanoTime();
+        assertThatThrownBy(limiter::acquire).isInstanceOf(ServiceOverloadedException.class);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+    }
+}
@@ -0,0 +1,111 @@
+package com.devoops.accommodation.concurrency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SingleFlight<String, Integer> singleFlight = new SingleFlight<>("test", meterRegistry);
+
+    private double calls(String result) {
+        return meterRegistry.get("accommodation.singleflight.calls").tag("result", result).counter().count();
+    }
+
+    /**
+     * Starts {@link #CALLERS} concurrent calls for one key whose loader blocks until all followers have joined.
+     */
+    private List<Future<Integer>> callConcurrently(ExecutorService executor, AtomicInteger loads, RuntimeException failure)
+            throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+
+        List<Future<Integer>> results = new ArrayList<>();
+        results.add(executor.submit(() -> singleFlight.execute("key", () -> {
+            leaderStarted.countDown();
+            loads.incrementAndGet();
+            await(release);
+            if (failure != null) {
+                throw failure;
+            }
+            return 42;
+        })));
+        leaderStarted.await();
+        for (int i = 1; i < CALLERS; i++) {
+            results.add(executor.submit(() -> singleFlight.execute("key", () -> {
+                loads.incrementAndGet();
+                return -1;
+            })));
+        }
+        while (calls("coalesced") < CALLERS - 1) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+        return results;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Test
+    @DisplayName("Concurrent callers share one load and its result")
+    void execute_ConcurrentCallers_ShareOneLoad() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Future<Integer> result : callConcurrently(executor, loads, null)) {
+                assertThat(result.get(10, TimeUnit.SECONDS)).isEqualTo(42);
+            }
+        }
+
+        assertThat(loads).hasValue(1);
+        assertThat(calls("load")).isEqualTo(1);
+        assertThat(calls("coalesced")).isEqualTo(CALLERS - 1);
+        assertThat(singleFlight.inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("Concurrent callers share the loader's exception")
+    void execute_WhenLoaderFails_AllCallersSeeException() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        IllegalStateException failure = new IllegalStateException("database down");
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Future<Integer> result : callConcurrently(executor, loads, failure)) {
+                assertThatThrownBy(() -> result.get(10, TimeUnit.SECONDS)).hasCause(failure);
+            }
+        }
+
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Sequential calls each run their own load")
+    void execute_SequentialCalls_DoNotShare() {
+        AtomicInteger loads = new AtomicInteger();
+
+        singleFlight.execute("key", loads::incrementAndGet);
+        singleFlight.execute("key", loads::incrementAndGet);
+
+        assertThat(loads).hasValue(2);
+        assertThat(calls("coalesced")).isZero();
+    }
+}
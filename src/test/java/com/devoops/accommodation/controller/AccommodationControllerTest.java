@@ -1,14 +1,22 @@
 package com.devoops.accommodation.controller;
 
+import com.devoops.accommodation.cache.EncodedAccommodation;
 import com.devoops.accommodation.config.RoleAuthorizationInterceptor;
 import com.devoops.accommodation.config.UserContext;
 import com.devoops.accommodation.config.UserContextResolver;
+import com.devoops.accommodation.dto.request.AccommodationSearchRequest;
 import com.devoops.accommodation.dto.response.AccommodationResponse;
+import com.devoops.accommodation.dto.response.BatchGetResponse;
+import com.devoops.accommodation.dto.response.BulkCreateItemResult;
+import com.devoops.accommodation.dto.response.BulkCreateResponse;
+import com.devoops.accommodation.dto.response.CursorPage;
+import com.devoops.accommodation.entity.AmenityType;
 import com.devoops.accommodation.entity.ApprovalMode;
 import com.devoops.accommodation.entity.PricingMode;
 import com.devoops.accommodation.exception.AccommodationNotFoundException;
 import com.devoops.accommodation.exception.ForbiddenException;
 import com.devoops.accommodation.exception.GlobalExceptionHandler;
+import com.devoops.accommodation.exception.PreconditionFailedException;
 import com.devoops.accommodation.service.AccommodationService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -23,13 +31,22 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
@@ -65,7 +82,7 @@ class AccommodationControllerTest {
         return new AccommodationResponse(
                 ACCOMMODATION_ID, HOST_ID, "Test Apartment", "123 Test St",
                 1, 4, PricingMode.PER_GUEST, ApprovalMode.MANUAL,
-                List.of(), LocalDateTime.now(), LocalDateTime.now()
+                List.of(), LocalDateTime.now(), LocalDateTime.now(), 3L
         );
     }
 
@@ -140,25 +157,164 @@ class AccommodationControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("POST /api/accommodation/bulk")
+    class BulkCreateEndpoint {
+
+        @Test
+        @DisplayName("With valid request returns 200 with per-item results")
+        void createAll_WithValidRequest_Returns200() throws Exception {
+            when(accommodationService.createAll(any(), any(UserContext.class)))
+                    .thenReturn(new BulkCreateResponse(1, 1, List.of(
+                            BulkCreateItemResult.created(0, createResponse()),
+                            BulkCreateItemResult.failed(1, List.of("Name is required")))));
+
+            mockMvc.perform(post("/api/accommodation/bulk")
+                            .header("X-User-Id", HOST_ID.toString())
+                            .header("X-User-Role", "HOST")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(
+                                    Map.of("items", List.of(validCreateRequest(), Map.of())))))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.created").value(1))
+                    .andExpect(jsonPath("$.results[0].accommodation.id").value(ACCOMMODATION_ID.toString()))
+                    .andExpect(jsonPath("$.results[1].errors[0]").value("Name is required"));
+        }
+
+        @Test
+        @DisplayName("With empty items returns 400")
+        void createAll_WithEmptyItems_Returns400() throws Exception {
+            mockMvc.perform(post("/api/accommodation/bulk")
+                            .header("X-User-Id", HOST_ID.toString())
+                            .header("X-User-Role", "HOST")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(Map.of("items", List.of()))))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("With GUEST role returns 403")
+        void createAll_WithGuestRole_Returns403() throws Exception {
+            mockMvc.perform(post("/api/accommodation/bulk")
+                            .header("X-User-Id", HOST_ID.toString())
+                            .header("X-User-Role", "GUEST")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(Map.of("items", List.of(validCreateRequest())))))
+                    .andExpect(status().isForbidden());
+        }
+    }
+
     @Nested
     @DisplayName("GET /api/accommodation/{id}")
     class GetByIdEndpoint {
 
+        private final byte[] json = ("{\"id\":\"" + ACCOMMODATION_ID + "\"}").getBytes(StandardCharsets.UTF_8);
+
+        private EncodedAccommodation encoded(byte[] gzip) {
+            return new EncodedAccommodation(createResponse(), json, gzip);
+        }
+
+        private byte[] gzip(byte[] bytes) throws IOException {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+                out.write(bytes);
+            }
+            return buffer.toByteArray();
+        }
+
         @Test
-        @DisplayName("With existing ID returns 200")
+        @DisplayName("With existing ID returns 200 with the pre-encoded body")
         void getById_WithExistingId_Returns200() throws Exception {
-            when(accommodationService.getById(ACCOMMODATION_ID)).thenReturn(createResponse());
+            when(accommodationService.getEncodedById(ACCOMMODATION_ID)).thenReturn(encoded(null));
 
             mockMvc.perform(get("/api/accommodation/{id}", ACCOMMODATION_ID))
                     .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", "\"3\""))
+                    .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                     .andExpect(jsonPath("$.id").value(ACCOMMODATION_ID.toString()));
         }
 
+        @Test
+        @DisplayName("With gzip accepted returns the compressed body")
+        void getById_WithGzipAccepted_ReturnsGzipBody() throws Exception {
+            when(accommodationService.getEncodedById(ACCOMMODATION_ID)).thenReturn(encoded(gzip(json)));
+
+            byte[] body = mockMvc.perform(get("/api/accommodation/{id}", ACCOMMODATION_ID)
+                            .header("Accept-Encoding", "br, gzip;q=0.8"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("Content-Encoding", "gzip"))
+                    .andExpect(header().string("ETag", "\"3-gzip\""))
+                    .andExpect(header().string("Vary", "Accept-Encoding"))
+                    .andReturn().getResponse().getContentAsByteArray();
+
+            try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+                assertThat(in.readAllBytes()).isEqualTo(json);
+            }
+        }
+
+        @Test
+        @DisplayName("With gzip refused returns the identity body")
+        void getById_WithGzipRefused_ReturnsIdentityBody() throws Exception {
+            when(accommodationService.getEncodedById(ACCOMMODATION_ID)).thenReturn(encoded(gzip(json)));
+
+            mockMvc.perform(get("/api/accommodation/{id}", ACCOMMODATION_ID)
+                            .header("Accept-Encoding", "gzip;q=0"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().doesNotExist("Content-Encoding"))
+                    .andExpect(content().bytes(json));
+        }
+
+        @Test
+        @DisplayName("With matching If-None-Match returns 304 without body")
+        void getById_WithMatchingIfNoneMatch_Returns304() throws Exception {
+            when(accommodationService.getEncodedById(ACCOMMODATION_ID)).thenReturn(encoded(null));
+
+            mockMvc.perform(get("/api/accommodation/{id}", ACCOMMODATION_ID)
+                            .header("If-None-Match", "\"3\""))
+                    .andExpect(status().isNotModified())
+                    .andExpect(content().string(""));
+        }
+
+        @Test
+        @DisplayName("With identity ETag in If-None-Match and gzip accepted returns 304 with the gzip ETag")
+        void getById_WithIdentityTagAndGzipAccepted_Returns304() throws Exception {
+            when(accommodationService.getEncodedById(ACCOMMODATION_ID)).thenReturn(encoded(gzip(json)));
+
+            mockMvc.perform(get("/api/accommodation/{id}", ACCOMMODATION_ID)
+                            .header("Accept-Encoding", "gzip")
+                            .header("If-None-Match", "\"3\""))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string("ETag", "\"3-gzip\""))
+                    .andExpect(content().string(""));
+        }
+
+        @Test
+        @DisplayName("With gzip ETag in If-None-Match and identity served returns 304")
+        void getById_WithGzipTagAndIdentityServed_Returns304() throws Exception {
+            when(accommodationService.getEncodedById(ACCOMMODATION_ID)).thenReturn(encoded(gzip(json)));
+
+            mockMvc.perform(get("/api/accommodation/{id}", ACCOMMODATION_ID)
+                            .header("If-None-Match", "\"2\", W/\"3-gzip\""))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string("ETag", "\"3\""));
+        }
+
+        @Test
+        @DisplayName("With stale If-None-Match returns 200")
+        void getById_WithStaleIfNoneMatch_Returns200() throws Exception {
+            when(accommodationService.getEncodedById(ACCOMMODATION_ID)).thenReturn(encoded(null));
+
+            mockMvc.perform(get("/api/accommodation/{id}", ACCOMMODATION_ID)
+                            .header("If-None-Match", "\"2-gzip\""))
+                    .andExpect(status().isOk())
+                    .andExpect(content().bytes(json));
+        }
+
         @Test
         @DisplayName("With non-existing ID returns 404")
         void getById_WithNonExistingId_Returns404() throws Exception {
             UUID id = UUID.randomUUID();
-            when(accommodationService.getById(id))
+            when(accommodationService.getEncodedById(id))
                     .thenThrow(new AccommodationNotFoundException("Not found"));
 
             mockMvc.perform(get("/api/accommodation/{id}", id))
@@ -166,19 +322,102 @@ class AccommodationControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("POST /api/accommodation/batch-get")
+    class BatchGetEndpoint {
+
+        @Test
+        @DisplayName("Returns 200 with found and missing IDs")
+        void getByIds_Returns200() throws Exception {
+            UUID missingId = UUID.randomUUID();
+            when(accommodationService.getByIds(List.of(ACCOMMODATION_ID, missingId)))
+                    .thenReturn(new BatchGetResponse(List.of(createResponse()), List.of(missingId)));
+
+            mockMvc.perform(post("/api/accommodation/batch-get")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(
+                                    Map.of("ids", List.of(ACCOMMODATION_ID, missingId)))))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.accommodations[0].id").value(ACCOMMODATION_ID.toString()))
+                    .andExpect(jsonPath("$.missing[0]").value(missingId.toString()));
+        }
+
+        @Test
+        @DisplayName("With empty IDs returns 400")
+        void getByIds_WithEmptyIds_Returns400() throws Exception {
+            mockMvc.perform(post("/api/accommodation/batch-get")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(Map.of("ids", List.of()))))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
     @Nested
     @DisplayName("GET /api/accommodation/host/{hostId}")
     class GetByHostIdEndpoint {
 
         @Test
-        @DisplayName("Returns 200 with list")
-        void getByHostId_Returns200WithList() throws Exception {
-            when(accommodationService.getByHostId(HOST_ID))
-                    .thenReturn(List.of(createResponse()));
+        @DisplayName("Returns 200 with page")
+        void getByHostId_Returns200WithPage() throws Exception {
+            when(accommodationService.getByHostId(HOST_ID, null, 20))
+                    .thenReturn(new CursorPage<>(List.of(createResponse()), "next"));
 
             mockMvc.perform(get("/api/accommodation/host/{hostId}", HOST_ID))
                     .andExpect(status().isOk())
-                    .andExpect(jsonPath("$[0].id").value(ACCOMMODATION_ID.toString()));
+                    .andExpect(jsonPath("$.items[0].id").value(ACCOMMODATION_ID.toString()))
+                    .andExpect(jsonPath("$.nextCursor").value("next"));
+        }
+
+        @Test
+        @DisplayName("Passes cursor and limit to service")
+        void getByHostId_WithCursorAndLimit_Returns200() throws Exception {
+            when(accommodationService.getByHostId(HOST_ID, "abc", 5))
+                    .thenReturn(new CursorPage<>(List.of(), null));
+
+            mockMvc.perform(get("/api/accommodation/host/{hostId}", HOST_ID)
+                            .param("cursor", "abc")
+                            .param("limit", "5"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.items").isEmpty());
+        }
+
+        @Test
+        @DisplayName("With invalid cursor returns 400")
+        void getByHostId_WithInvalidCursor_Returns400() throws Exception {
+            when(accommodationService.getByHostId(HOST_ID, "bad", 20))
+                    .thenThrow(new IllegalArgumentException("Invalid cursor"));
+
+            mockMvc.perform(get("/api/accommodation/host/{hostId}", HOST_ID)
+                            .param("cursor", "bad"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/accommodation/search")
+    class SearchEndpoint {
+
+        @Test
+        @DisplayName("Binds filters and returns 200 with page")
+        void search_WithFilters_Returns200() throws Exception {
+            var criteria = new AccommodationSearchRequest(
+                    4, PricingMode.PER_GUEST, null, Set.of(AmenityType.WIFI, AmenityType.POOL));
+            when(accommodationService.search(criteria, null, 20))
+                    .thenReturn(new CursorPage<>(List.of(createResponse()), null));
+
+            mockMvc.perform(get("/api/accommodation/search")
+                            .param("guests", "4")
+                            .param("pricingMode", "PER_GUEST")
+                            .param("amenities", "WIFI", "POOL"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.items[0].id").value(ACCOMMODATION_ID.toString()));
+        }
+
+        @Test
+        @DisplayName("With zero guests returns 400")
+        void search_WithZeroGuests_Returns400() throws Exception {
+            mockMvc.perform(get("/api/accommodation/search").param("guests", "0"))
+                    .andExpect(status().isBadRequest());
         }
     }
 
@@ -189,7 +428,7 @@ class AccommodationControllerTest {
         @Test
         @DisplayName("With valid request returns 200")
         void update_WithValidRequest_Returns200() throws Exception {
-            when(accommodationService.update(eq(ACCOMMODATION_ID), any(), any(UserContext.class)))
+            when(accommodationService.update(eq(ACCOMMODATION_ID), any(), any(UserContext.class), isNull()))
                     .thenReturn(createResponse());
 
             var request = Map.of("name", "Updated Name");
@@ -202,10 +441,68 @@ class AccommodationControllerTest {
                     .andExpect(status().isOk());
         }
 
+        @Test
+        @DisplayName("With If-Match passes expected version and returns new ETag")
+        void update_WithIfMatch_PassesExpectedVersion() throws Exception {
+            when(accommodationService.update(eq(ACCOMMODATION_ID), any(), any(UserContext.class), eq(Set.of(2L))))
+                    .thenReturn(createResponse());
+
+            mockMvc.perform(put("/api/accommodation/{id}", ACCOMMODATION_ID)
+                            .header("X-User-Id", HOST_ID.toString())
+                            .header("X-User-Role", "HOST")
+                            .header("If-Match", "\"2\"")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(Map.of("name", "Updated Name"))))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", "\"3\""));
+        }
+
+        @Test
+        @DisplayName("With If-Match list passes every strong version and skips weak tags")
+        void update_WithIfMatchList_PassesCandidateVersions() throws Exception {
+            when(accommodationService.update(eq(ACCOMMODATION_ID), any(), any(UserContext.class), eq(Set.of(1L, 2L))))
+                    .thenReturn(createResponse());
+
+            mockMvc.perform(put("/api/accommodation/{id}", ACCOMMODATION_ID)
+                            .header("X-User-Id", HOST_ID.toString())
+                            .header("X-User-Role", "HOST")
+                            .header("If-Match", "\"1\", W/\"3\", \"2-gzip\"")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(Map.of("name", "Updated Name"))))
+                    .andExpect(status().isOk());
+        }
+
+        @Test
+        @DisplayName("With stale If-Match returns 412")
+        void update_WithStaleIfMatch_Returns412() throws Exception {
+            when(accommodationService.update(eq(ACCOMMODATION_ID), any(), any(UserContext.class), eq(Set.of(2L))))
+                    .thenThrow(new PreconditionFailedException("Modified"));
+
+            mockMvc.perform(put("/api/accommodation/{id}", ACCOMMODATION_ID)
+                            .header("X-User-Id", HOST_ID.toString())
+                            .header("X-User-Role", "HOST")
+                            .header("If-Match", "\"2\"")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(Map.of("name", "Updated Name"))))
+                    .andExpect(status().isPreconditionFailed());
+        }
+
+        @Test
+        @DisplayName("With weak If-Match returns 412")
+        void update_WithWeakIfMatch_Returns412() throws Exception {
+            mockMvc.perform(put("/api/accommodation/{id}", ACCOMMODATION_ID)
+                            .header("X-User-Id", HOST_ID.toString())
+                            .header("X-User-Role", "HOST")
+                            .header("If-Match", "W/\"3\"")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(Map.of("name", "Updated Name"))))
+                    .andExpect(status().isPreconditionFailed());
+        }
+
         @Test
         @DisplayName("With wrong owner returns 403")
         void update_WithWrongOwner_Returns403() throws Exception {
-            when(accommodationService.update(eq(ACCOMMODATION_ID), any(), any(UserContext.class)))
+            when(accommodationService.update(eq(ACCOMMODATION_ID), any(), any(UserContext.class), isNull()))
                     .thenThrow(new ForbiddenException("Not the owner"));
 
             var request = Map.of("name", "Updated Name");
@@ -226,7 +523,7 @@ class AccommodationControllerTest {
         @Test
         @DisplayName("With valid request returns 204")
         void delete_WithValidRequest_Returns204() throws Exception {
-            doNothing().when(accommodationService).delete(eq(ACCOMMODATION_ID), any(UserContext.class));
+            doNothing().when(accommodationService).delete(eq(ACCOMMODATION_ID), any(UserContext.class), isNull());
 
             mockMvc.perform(delete("/api/accommodation/{id}", ACCOMMODATION_ID)
                             .header("X-User-Id", HOST_ID.toString())
@@ -239,7 +536,7 @@ class AccommodationControllerTest {
         void delete_WithNonExistingId_Returns404() throws Exception {
             UUID id = UUID.randomUUID();
             doThrow(new AccommodationNotFoundException("Not found"))
-                    .when(accommodationService).delete(eq(id), any(UserContext.class));
+                    .when(accommodationService).delete(eq(id), any(UserContext.class), isNull());
 
             mockMvc.perform(delete("/api/accommodation/{id}", id)
                             .header("X-User-Id", HOST_ID.toString())
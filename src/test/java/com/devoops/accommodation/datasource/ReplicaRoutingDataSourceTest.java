@@ -0,0 +1,104 @@
+package com.devoops.accommodation.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource first;
+
+    @Mock
+    private DataSource second;
+
+    @Mock
+    private Connection primaryConnection;
+
+    @Mock
+    private Connection firstConnection;
+
+    @Mock
+    private Connection secondConnection;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() {
+        routing = new ReplicaRoutingDataSource(primary, List.of(
+                new ReplicaRoutingDataSource.Replica("replica-0", first),
+                new ReplicaRoutingDataSource.Replica("replica-1", second)
+        ), Duration.ofSeconds(1), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Alternates between healthy replicas")
+    void getConnection_WithHealthyReplicas_RoundRobins() throws SQLException {
+        when(first.getConnection()).thenReturn(firstConnection);
+        when(second.getConnection()).thenReturn(secondConnection);
+
+        assertThat(List.of(routing.getConnection(), routing.getConnection(), routing.getConnection()))
+                .containsExactly(firstConnection, secondConnection, firstConnection);
+        verifyNoInteractions(primary);
+    }
+
+    @Test
+    @DisplayName("Skips a failing replica and keeps it out of rotation")
+    void getConnection_WhenReplicaFails_UsesNextReplica() throws SQLException {
+        when(first.getConnection()).thenThrow(new SQLException("down"));
+        when(second.getConnection()).thenReturn(secondConnection);
+
+        assertThat(routing.getConnection()).isSameAs(secondConnection);
+        assertThat(routing.getConnection()).isSameAs(secondConnection);
+        assertThat(routing.isHealthy("replica-0")).isFalse();
+        verify(first, times(1)).getConnection();
+    }
+
+    @Test
+    @DisplayName("Falls back to the primary when no replica is usable")
+    void getConnection_WhenAllReplicasFail_FallsBackToPrimary() throws SQLException {
+        when(first.getConnection()).thenThrow(new SQLException("down"));
+        when(second.getConnection()).thenThrow(new SQLException("down"));
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        assertThat(routing.getConnection()).isSameAs(primaryConnection);
+        assertThat(meterRegistry.get("accommodation.datasource.replica.fallback").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Health check returns a recovered replica to rotation")
+    void checkHealth_WhenReplicaRecovers_MarksHealthy() throws SQLException {
+        when(first.getConnection()).thenThrow(new SQLException("down")).thenReturn(firstConnection);
+        when(second.getConnection()).thenReturn(secondConnection);
+        when(firstConnection.isValid(anyInt())).thenReturn(true);
+        when(secondConnection.isValid(anyInt())).thenReturn(true);
+
+        routing.checkHealth();
+        assertThat(routing.isHealthy("replica-0")).isFalse();
+
+        routing.checkHealth();
+        assertThat(routing.isHealthy("replica-0")).isTrue();
+        assertThat(meterRegistry.get("accommodation.datasource.replica.healthy").tag("replica", "replica-0").gauge().value())
+                .isEqualTo(1.0);
+    }
+}
@@ -0,0 +1,49 @@
+package com.devoops.accommodation.entity;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AmenityMaskTest {
+
+    @Test
+    @DisplayName("Sets the bit of each amenity's ordinal")
+    void of_SetsOrdinalBits() {
+        short mask = AmenityMask.of(List.of(AmenityType.WIFI, AmenityType.POOL, AmenityType.BALCONY));
+
+        assertThat(mask).isEqualTo((short) (1 | 1 << 5 | 1 << 9));
+    }
+
+    @Test
+    @DisplayName("Round-trips every amenity")
+    void toSet_RoundTripsAllAmenities() {
+        Set<AmenityType> all = EnumSet.allOf(AmenityType.class);
+
+        assertThat(AmenityMask.toSet(AmenityMask.of(all))).isEqualTo(all);
+    }
+
+    @Test
+    @DisplayName("Treats null and empty collections as no amenities")
+    void of_WithNullOrEmpty_ReturnsZero() {
+        assertThat(AmenityMask.of(null)).isZero();
+        assertThat(AmenityMask.of(List.of())).isZero();
+        assertThat(AmenityMask.copyOf(null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Converter maps between set and smallint column")
+    void converter_RoundTripsThroughColumnValue() {
+        var converter = new AmenitySetConverter();
+        Set<AmenityType> amenities = EnumSet.of(AmenityType.AC, AmenityType.TV);
+
+        Short column = converter.convertToDatabaseColumn(amenities);
+
+        assertThat(converter.convertToEntityAttribute(column)).isEqualTo(amenities);
+        assertThat(converter.convertToEntityAttribute(null)).isEmpty();
+    }
+}
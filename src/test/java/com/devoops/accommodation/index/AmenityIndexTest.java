@@ -0,0 +1,161 @@
+package com.devoops.accommodation.index;
+
+import com.devoops.accommodation.dto.request.AccommodationSearchRequest;
+import com.devoops.accommodation.dto.response.AccommodationResponse;
+import com.devoops.accommodation.entity.AmenityType;
+import com.devoops.accommodation.entity.ApprovalMode;
+import com.devoops.accommodation.entity.PricingMode;
+import com.devoops.accommodation.pagination.KeysetCursor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AmenityIndexTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 1, 1, 12, 0);
+
+    private AmenityIndex amenityIndex;
+
+    @BeforeEach
+    void setUp() {
+        amenityIndex = new AmenityIndex(new AmenityIndexProperties(true, Duration.ofMinutes(5)), new SimpleMeterRegistry());
+        amenityIndex.rebuild(sink -> { });
+    }
+
+    private AccommodationResponse accommodation(LocalDateTime createdAt, int minGuests, int maxGuests,
+                                                PricingMode pricingMode, AmenityType... amenities) {
+        return new AccommodationResponse(
+                UUID.randomUUID(), UUID.randomUUID(), "Name", "Address",
+                minGuests, maxGuests, pricingMode, ApprovalMode.MANUAL,
+                List.of(amenities), createdAt, createdAt, 0L);
+    }
+
+    private AccommodationSearchRequest criteria(Integer guests, AmenityType... amenities) {
+        return new AccommodationSearchRequest(guests, null, null, Set.of(amenities));
+    }
+
+    @Test
+    @DisplayName("Matches on required amenities and guest range")
+    void search_WithAmenitiesAndGuests_ReturnsOnlyMatches() {
+        var wifiPool = accommodation(NOW, 1, 4, PricingMode.PER_GUEST, AmenityType.WIFI, AmenityType.POOL);
+        var wifiOnly = accommodation(NOW.plusSeconds(1), 1, 4, PricingMode.PER_GUEST, AmenityType.WIFI);
+        var tooSmall = accommodation(NOW.plusSeconds(2), 1, 2, PricingMode.PER_GUEST, AmenityType.WIFI, AmenityType.POOL);
+        List.of(wifiPool, wifiOnly, tooSmall).forEach(amenityIndex::upsert);
+
+        List<KeysetCursor> result = amenityIndex.search(criteria(4, AmenityType.WIFI, AmenityType.POOL), null, 10);
+
+        assertThat(result).extracting(KeysetCursor::id).containsExactly(wifiPool.id());
+    }
+
+    @Test
+    @DisplayName("Filters on pricing mode")
+    void search_WithPricingMode_ReturnsOnlyMatches() {
+        var perGuest = accommodation(NOW, 1, 4, PricingMode.PER_GUEST);
+        var perUnit = accommodation(NOW, 1, 4, PricingMode.PER_UNIT);
+        List.of(perGuest, perUnit).forEach(amenityIndex::upsert);
+
+        List<KeysetCursor> result = amenityIndex.search(
+                new AccommodationSearchRequest(null, PricingMode.PER_UNIT, null, null), null, 10);
+
+        assertThat(result).extracting(KeysetCursor::id).containsExactly(perUnit.id());
+    }
+
+    @Test
+    @DisplayName("Orders by creation time and continues after cursor")
+    void search_WithCursor_PagesInCreationOrder() {
+        var first = accommodation(NOW, 1, 4, PricingMode.PER_GUEST);
+        var second = accommodation(NOW.plusSeconds(1), 1, 4, PricingMode.PER_GUEST);
+        var third = accommodation(NOW.plusSeconds(2), 1, 4, PricingMode.PER_GUEST);
+        List.of(third, first, second).forEach(amenityIndex::upsert);
+
+        List<KeysetCursor> firstPage = amenityIndex.search(criteria(null), null, 2);
+        List<KeysetCursor> secondPage = amenityIndex.search(
+                criteria(null), new KeysetCursor(second.createdAt(), second.id()), 2);
+
+        assertThat(firstPage).extracting(KeysetCursor::id).containsExactly(first.id(), second.id());
+        assertThat(secondPage).extracting(KeysetCursor::id).containsExactly(third.id());
+    }
+
+    @Test
+    @DisplayName("Keeps the first matches in creation order whatever order they were indexed in")
+    void search_WithMoreMatchesThanLimit_ReturnsFirstInOrder() {
+        List<AccommodationResponse> accommodations = new ArrayList<>(IntStream.range(0, 50)
+                .mapToObj(i -> accommodation(NOW.plusSeconds(i), 1, 4, PricingMode.PER_GUEST))
+                .toList());
+        Collections.shuffle(accommodations, new Random(7));
+        accommodations.forEach(amenityIndex::upsert);
+
+        List<KeysetCursor> result = amenityIndex.search(criteria(null), null, 5);
+
+        assertThat(result).extracting(KeysetCursor::position)
+                .containsExactly(NOW, NOW.plusSeconds(1), NOW.plusSeconds(2), NOW.plusSeconds(3), NOW.plusSeconds(4));
+    }
+
+    @Test
+    @DisplayName("Returns each match's creation time so callers can continue after it")
+    void search_ReturnsKeysetPositions() {
+        var accommodation = accommodation(NOW.plusNanos(123_456_000), 1, 4, PricingMode.PER_GUEST);
+        amenityIndex.upsert(accommodation);
+
+        assertThat(amenityIndex.search(criteria(null), null, 10))
+                .containsExactly(new KeysetCursor(accommodation.createdAt(), accommodation.id()));
+    }
+
+    @Test
+    @DisplayName("Upsert replaces and remove drops the entry")
+    void upsertAndRemove_KeepIndexInSync() {
+        var accommodation = accommodation(NOW, 1, 4, PricingMode.PER_GUEST, AmenityType.WIFI);
+        amenityIndex.upsert(accommodation);
+        amenityIndex.upsert(new AccommodationResponse(
+                accommodation.id(), accommodation.hostId(), "Name", "Address",
+                1, 4, PricingMode.PER_GUEST, ApprovalMode.MANUAL,
+                List.of(AmenityType.TV), NOW, NOW, 1L));
+
+        assertThat(amenityIndex.search(criteria(null, AmenityType.WIFI), null, 10)).isEmpty();
+        assertThat(amenityIndex.search(criteria(null, AmenityType.TV), null, 10))
+                .extracting(KeysetCursor::id).containsExactly(accommodation.id());
+
+        amenityIndex.remove(accommodation.id());
+
+        assertThat(amenityIndex.search(criteria(null), null, 10)).isEmpty();
+        assertThat(amenityIndex.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Rebuild keeps writes that arrive while loading")
+    void rebuild_WithConcurrentWrite_ReplaysWrite() {
+        var loaded = accommodation(NOW, 1, 4, PricingMode.PER_GUEST);
+        var writtenDuringLoad = accommodation(NOW.plusSeconds(1), 1, 4, PricingMode.PER_GUEST);
+
+        amenityIndex.rebuild(sink -> {
+            sink.accept(loaded);
+            amenityIndex.upsert(writtenDuringLoad);
+        });
+
+        assertThat(amenityIndex.search(criteria(null), null, 10))
+                .extracting(KeysetCursor::id).containsExactly(loaded.id(), writtenDuringLoad.id());
+    }
+
+    @Test
+    @DisplayName("Orders UUIDs like Postgres, by unsigned bytes")
+    void compareUuids_UsesUnsignedOrder() {
+        UUID low = UUID.fromString("00000000-0000-0000-0000-000000000000");
+        UUID high = UUID.fromString("ffffffff-0000-0000-0000-000000000000");
+
+        assertThat(AmenityIndex.compareUuids(low, high)).isNegative();
+        assertThat(low.compareTo(high)).isPositive();
+    }
+}
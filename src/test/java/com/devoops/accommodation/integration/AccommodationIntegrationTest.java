@@ -1,44 +1,40 @@
 package com.devoops.accommodation.integration;
 
+import com.devoops.accommodation.support.PostgresContainerSupport;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
-import org.springframework.test.context.DynamicPropertyRegistry;
-import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
-import org.testcontainers.containers.PostgreSQLContainer;
-import org.testcontainers.junit.jupiter.Container;
-import org.testcontainers.junit.jupiter.Testcontainers;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @SpringBootTest
 @AutoConfigureMockMvc
-@Testcontainers
 @ActiveProfiles("test")
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
-class AccommodationIntegrationTest {
-
-    @Container
-    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
-            .withDatabaseName("accommodation_db_test")
-            .withUsername("test")
-            .withPassword("test");
+class AccommodationIntegrationTest extends PostgresContainerSupport {
 
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     private static String accommodationId;
@@ -47,16 +43,6 @@ class AccommodationIntegrationTest {
 
     private static final String BASE_PATH = "/api/accommodation";
 
-    @DynamicPropertySource
-    static void configureProperties(DynamicPropertyRegistry registry) {
-        registry.add("spring.datasource.url", postgres::getJdbcUrl);
-        registry.add("spring.datasource.username", postgres::getUsername);
-        registry.add("spring.datasource.password", postgres::getPassword);
-        registry.add("spring.flyway.url", postgres::getJdbcUrl);
-        registry.add("spring.flyway.user", postgres::getUsername);
-        registry.add("spring.flyway.password", postgres::getPassword);
-    }
-
     private Map<String, Object> validCreateRequest() {
         return Map.of(
                 "name", "Integration Test Apartment",
@@ -199,11 +185,87 @@ class AccommodationIntegrationTest {
 
     @Test
     @Order(9)
-    @DisplayName("Get by host ID returns list of accommodations")
-    void getByHostId_ReturnsListOfAccommodations() throws Exception {
+    @DisplayName("Get by host ID returns page of accommodations")
+    void getByHostId_ReturnsPageOfAccommodations() throws Exception {
         mockMvc.perform(get(BASE_PATH + "/host/" + HOST_ID))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(greaterThanOrEqualTo(1))));
+                .andExpect(jsonPath("$.items", hasSize(greaterThanOrEqualTo(1))));
+    }
+
+    @Test
+    @Order(9)
+    @DisplayName("Get by host ID pages through accommodations with cursor")
+    void getByHostId_WithLimit_PagesThroughAccommodations() throws Exception {
+        MvcResult firstPage = mockMvc.perform(get(BASE_PATH + "/host/" + HOST_ID).param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.nextCursor").isNotEmpty())
+                .andReturn();
+
+        var firstBody = objectMapper.readTree(firstPage.getResponse().getContentAsString());
+        String cursor = firstBody.get("nextCursor").asText();
+        String firstId = firstBody.get("items").get(0).get("id").asText();
+
+        mockMvc.perform(get(BASE_PATH + "/host/" + HOST_ID)
+                        .param("limit", "1")
+                        .param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].id", not(firstId)));
+    }
+
+    @Test
+    @Order(9)
+    @DisplayName("Export by host ID streams one JSON document per line")
+    void exportByHostId_StreamsNdjson() throws Exception {
+        MvcResult result = mockMvc.perform(get(BASE_PATH + "/host/" + HOST_ID + "/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result.getAsyncResult();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON));
+
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        Assertions.assertEquals(2, lines.length);
+        for (String line : lines) {
+            Assertions.assertEquals(HOST_ID.toString(), objectMapper.readTree(line).get("hostId").asText());
+        }
+    }
+
+    @Test
+    @Order(9)
+    @DisplayName("Batch get returns found accommodations and reports missing IDs")
+    void getByIds_WithFoundAndMissingIds_Returns200() throws Exception {
+        UUID missingId = UUID.randomUUID();
+
+        mockMvc.perform(post(BASE_PATH + "/batch-get")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                Map.of("ids", List.of(missingId.toString(), accommodationId)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accommodations", hasSize(1)))
+                .andExpect(jsonPath("$.accommodations[0].id").value(accommodationId))
+                .andExpect(jsonPath("$.missing[0]").value(missingId.toString()));
+    }
+
+    @Test
+    @Order(9)
+    @DisplayName("Search filters by guests and required amenities")
+    void search_WithGuestsAndAmenities_ReturnsMatchingAccommodations() throws Exception {
+        mockMvc.perform(get(BASE_PATH + "/search")
+                        .param("guests", "2")
+                        .param("amenities", "WIFI", "AC"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].name", hasItem("Amenity Apartment")))
+                .andExpect(jsonPath("$.items[*].name", not(hasItem("Integration Test Apartment"))));
+
+        mockMvc.perform(get(BASE_PATH + "/search")
+                        .param("guests", "3")
+                        .param("amenities", "WIFI"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].name", not(hasItem("Amenity Apartment"))));
     }
 
     @Test
@@ -236,6 +298,27 @@ class AccommodationIntegrationTest {
                 .andExpect(status().isForbidden());
     }
 
+    @Test
+    @Order(11)
+    @DisplayName("Update with stale If-Match returns 412 and GET honours If-None-Match")
+    void update_WithStaleIfMatch_Returns412() throws Exception {
+        String etag = mockMvc.perform(get(BASE_PATH + "/" + accommodationId))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1\""))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get(BASE_PATH + "/" + accommodationId).header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(put(BASE_PATH + "/" + accommodationId)
+                        .header("X-User-Id", HOST_ID.toString())
+                        .header("X-User-Role", "HOST")
+                        .header("If-Match", "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("name", "Stale Name"))))
+                .andExpect(status().isPreconditionFailed());
+    }
+
     @Test
     @Order(12)
     @DisplayName("Update accommodation with partial fields only updates provided")
@@ -252,6 +335,85 @@ class AccommodationIntegrationTest {
                 .andExpect(jsonPath("$.name").value("Updated Apartment Name"));
     }
 
+    @Test
+    @Order(12)
+    @DisplayName("Update with only minGuests above the stored maxGuests returns 400 and leaves the row unchanged")
+    void update_WithOnlyMinGuestsAboveStoredMax_Returns400() throws Exception {
+        String id = createAccommodation();
+
+        mockMvc.perform(put(BASE_PATH + "/" + id)
+                        .header("X-User-Id", HOST_ID.toString())
+                        .header("X-User-Role", "HOST")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("minGuests", 5))))
+                .andExpect(status().isBadRequest());
+
+        assertUnchangedGuestRange(id, 1, 4);
+    }
+
+    @Test
+    @Order(12)
+    @DisplayName("Update with only maxGuests below the stored minGuests returns 400 and leaves the row unchanged")
+    void update_WithOnlyMaxGuestsBelowStoredMin_Returns400() throws Exception {
+        String id = createAccommodation(Map.of("minGuests", 3, "maxGuests", 4));
+
+        mockMvc.perform(put(BASE_PATH + "/" + id)
+                        .header("X-User-Id", HOST_ID.toString())
+                        .header("X-User-Role", "HOST")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("maxGuests", 2))))
+                .andExpect(status().isBadRequest());
+
+        assertUnchangedGuestRange(id, 3, 4);
+    }
+
+    @Test
+    @Order(12)
+    @DisplayName("Update with an If-Match list applies when any listed version is current")
+    void update_WithIfMatchListContainingCurrentVersion_Returns200() throws Exception {
+        String id = createAccommodation();
+
+        mockMvc.perform(put(BASE_PATH + "/" + id)
+                        .header("X-User-Id", HOST_ID.toString())
+                        .header("X-User-Role", "HOST")
+                        .header("If-Match", "\"7\", \"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("name", "Listed Version"))))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1\""));
+
+        mockMvc.perform(delete(BASE_PATH + "/" + id)
+                        .header("X-User-Id", HOST_ID.toString())
+                        .header("X-User-Role", "HOST")
+                        .header("If-Match", "\"0\", \"2\""))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    private String createAccommodation() throws Exception {
+        return createAccommodation(Map.of());
+    }
+
+    private String createAccommodation(Map<String, Object> overrides) throws Exception {
+        Map<String, Object> request = new HashMap<>(validCreateRequest());
+        request.putAll(overrides);
+        MvcResult result = mockMvc.perform(post(BASE_PATH)
+                        .header("X-User-Id", HOST_ID.toString())
+                        .header("X-User-Role", "HOST")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString()).get("id").asText();
+    }
+
+    private void assertUnchangedGuestRange(String id, int minGuests, int maxGuests) throws Exception {
+        mockMvc.perform(get(BASE_PATH + "/" + id))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"0\""))
+                .andExpect(jsonPath("$.minGuests").value(minGuests))
+                .andExpect(jsonPath("$.maxGuests").value(maxGuests));
+    }
+
     @Test
     @Order(13)
     @DisplayName("Delete accommodation with valid owner returns 204")
@@ -269,4 +431,75 @@ class AccommodationIntegrationTest {
         mockMvc.perform(get(BASE_PATH + "/" + accommodationId))
                 .andExpect(status().isNotFound());
     }
+
+    @Test
+    @Order(14)
+    @DisplayName("Change feed reports the deleted accommodation as a tombstone")
+    void changes_AfterDelete_ContainTombstone() throws Exception {
+        String cursor = null;
+        JsonNode found = null;
+        boolean hasMore = true;
+        while (hasMore && found == null) {
+            var request = get(BASE_PATH + "/changes").param("limit", "1000");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            JsonNode page = objectMapper.readTree(mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString());
+            for (JsonNode change : page.get("changes")) {
+                if (change.get("id").asText().equals(accommodationId)) {
+                    found = change;
+                }
+            }
+            cursor = page.get("nextCursor").asText();
+            hasMore = page.get("hasMore").asBoolean();
+        }
+
+        assertThat(found).isNotNull();
+        assertThat(found.get("deleted").asBoolean()).isTrue();
+        assertThat(found.get("accommodation").isNull()).isTrue();
+    }
+
+    @Test
+    @Order(14)
+    @DisplayName("With the outbox relay disabled, create, update and delete record no outbox events")
+    void writes_WithRelayDisabled_LeaveOutboxEmpty() {
+        Integer events = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM accommodation_outbox WHERE accommodation_id = ?",
+                Integer.class, UUID.fromString(accommodationId));
+
+        assertThat(events).isZero();
+    }
+
+    @Test
+    @Order(15)
+    @DisplayName("Bulk create returns a result per item and persists valid ones")
+    void createAll_WithMixedItems_CreatesValidOnes() throws Exception {
+        UUID bulkHostId = UUID.randomUUID();
+        var badCapacity = Map.of(
+                "name", "Bad Capacity",
+                "address", "123 St",
+                "minGuests", 5,
+                "maxGuests", 2,
+                "pricingMode", "PER_GUEST",
+                "approvalMode", "MANUAL"
+        );
+
+        mockMvc.perform(post(BASE_PATH + "/bulk")
+                        .header("X-User-Id", bulkHostId.toString())
+                        .header("X-User-Role", "HOST")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                Map.of("items", List.of(validCreateRequest(), badCapacity, validCreateRequest())))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.results[1].created").value(false))
+                .andExpect(jsonPath("$.results[2].accommodation.hostId").value(bulkHostId.toString()));
+
+        mockMvc.perform(get(BASE_PATH + "/host/" + bulkHostId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(2)));
+    }
 }
@@ -0,0 +1,71 @@
+package com.devoops.accommodation.integration;
+
+import com.devoops.accommodation.entity.AmenityMask;
+import com.devoops.accommodation.entity.AmenityType;
+import com.devoops.accommodation.support.PostgresContainerSupport;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Array;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Until the contract migration runs, instances of the previous version still write the {@code amenities} array.
+ * The V6 trigger keeps it and {@code amenity_mask} in sync in both directions.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class AmenityMaskMigrationIntegrationTest extends PostgresContainerSupport {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Rows written with the amenities array get the matching mask")
+    void arrayWriter_FillsMask() {
+        UUID id = jdbcTemplate.queryForObject(
+                "INSERT INTO accommodations (host_id, name, address, min_guests, max_guests, pricing_mode, approval_mode, amenities) "
+                        + "VALUES (?, 'Old Writer', 'Old St', 1, 2, 'PER_GUEST', 'MANUAL', '{WIFI,POOL}') RETURNING id",
+                UUID.class, UUID.randomUUID());
+
+        assertThat(mask(id)).isEqualTo(AmenityMask.of(List.of(AmenityType.WIFI, AmenityType.POOL)));
+
+        jdbcTemplate.update("UPDATE accommodations SET amenities = '{TV}' WHERE id = ?", id);
+        assertThat(mask(id)).isEqualTo(AmenityMask.of(List.of(AmenityType.TV)));
+    }
+
+    @Test
+    @DisplayName("Rows written with the mask get the matching amenities array")
+    void maskWriter_FillsArray() {
+        short mask = AmenityMask.of(List.of(AmenityType.KITCHEN, AmenityType.BALCONY));
+        UUID id = jdbcTemplate.queryForObject(
+                "INSERT INTO accommodations (host_id, name, address, min_guests, max_guests, pricing_mode, approval_mode, amenity_mask) "
+                        + "VALUES (?, 'New Writer', 'New St', 1, 2, 'PER_GUEST', 'MANUAL', ?) RETURNING id",
+                UUID.class, UUID.randomUUID(), mask);
+
+        assertThat(amenities(id)).containsExactly("KITCHEN", "BALCONY");
+
+        jdbcTemplate.update("UPDATE accommodations SET amenity_mask = ? WHERE id = ?",
+                AmenityMask.of(List.of(AmenityType.AC)), id);
+        assertThat(amenities(id)).containsExactly("AC");
+    }
+
+    private short mask(UUID id) {
+        return jdbcTemplate.queryForObject("SELECT amenity_mask FROM accommodations WHERE id = ?", Short.class, id);
+    }
+
+    private String[] amenities(UUID id) {
+        return jdbcTemplate.queryForObject("SELECT amenities FROM accommodations WHERE id = ?",
+                (rs, rowNum) -> {
+                    Array array = rs.getArray(1);
+                    return (String[]) array.getArray();
+                }, id);
+    }
+}
@@ -0,0 +1,167 @@
+package com.devoops.accommodation.integration;
+
+import com.devoops.accommodation.cache.Invalidation;
+import com.devoops.accommodation.cache.PostgresInvalidationBus;
+import com.devoops.accommodation.config.UserContext;
+import com.devoops.accommodation.dto.request.AccommodationSearchRequest;
+import com.devoops.accommodation.dto.request.CreateAccommodationRequest;
+import com.devoops.accommodation.dto.response.AccommodationResponse;
+import com.devoops.accommodation.entity.AmenityType;
+import com.devoops.accommodation.entity.ApprovalMode;
+import com.devoops.accommodation.entity.PricingMode;
+import com.devoops.accommodation.index.AmenityIndex;
+import com.devoops.accommodation.index.AmenityIndexLoader;
+import com.devoops.accommodation.index.AmenityIndexProperties;
+import com.devoops.accommodation.repository.AccommodationJdbcRepository;
+import com.devoops.accommodation.service.AccommodationService;
+import com.devoops.accommodation.support.PostgresContainerSupport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+
+/**
+ * Plays a second instance by listening on the channel with its own {@link PostgresInvalidationBus}.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class CacheInvalidationIntegrationTest extends PostgresContainerSupport {
+
+    @Autowired
+    private AccommodationService accommodationService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private AccommodationJdbcRepository accommodationJdbcRepository;
+
+    private final BlockingQueue<Invalidation> received = new LinkedBlockingQueue<>();
+    private PostgresInvalidationBus otherNode;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        otherNode = new PostgresInvalidationBus(jdbcTemplate, postgres.getJdbcUrl(), postgres.getUsername(),
+                postgres.getPassword(), new SimpleMeterRegistry());
+        otherNode.subscribe(received::add);
+        otherNode.start();
+        // the first delivery after LISTEN is the local reset
+        assertThat(received.poll(10, TimeUnit.SECONDS)).extracting(Invalidation::target)
+                .isEqualTo(Invalidation.Target.ALL);
+    }
+
+    @AfterEach
+    void tearDown() {
+        otherNode.stop();
+    }
+
+    private CreateAccommodationRequest request() {
+        return new CreateAccommodationRequest("Invalidated", "1 Notify St", 1, 2,
+                PricingMode.PER_GUEST, ApprovalMode.MANUAL, Set.of(AmenityType.POOL));
+    }
+
+    @Test
+    @DisplayName("Committed create is broadcast as the host's listing invalidation")
+    void create_Committed_NotifiesOtherInstance() throws InterruptedException {
+        UUID hostId = UUID.randomUUID();
+        accommodationService.create(request(), new UserContext(hostId, "HOST"));
+
+        Invalidation invalidation = received.poll(10, TimeUnit.SECONDS);
+
+        assertThat(invalidation)
+                .extracting(Invalidation::target, Invalidation::id)
+                .containsExactly(Invalidation.Target.HOST_LISTING, hostId);
+        assertThat(invalidation.origin()).isNotEqualTo(otherNode.nodeId());
+        assertThat(received.poll(1, TimeUnit.SECONDS)).isNull();
+    }
+
+    @Test
+    @DisplayName("Listing created on one instance is found by amenity search on another")
+    void create_OnThisInstance_IsIndexedByOtherInstance() throws InterruptedException {
+        AmenityIndexProperties properties = new AmenityIndexProperties(true, Duration.ofMinutes(5));
+        AmenityIndex otherIndex = new AmenityIndex(properties, new SimpleMeterRegistry());
+        AmenityIndexLoader otherLoader = new AmenityIndexLoader(otherIndex, properties, accommodationJdbcRepository,
+                transactionManager, otherNode);
+        otherLoader.onApplicationReady();
+        try {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (!otherIndex.isReady() && System.nanoTime() < deadline) {
+                Thread.sleep(50);
+            }
+            assertThat(otherIndex.isReady()).isTrue();
+
+            AccommodationResponse created =
+                    accommodationService.create(request(), new UserContext(UUID.randomUUID(), "HOST"));
+
+            AccommodationSearchRequest criteria =
+                    new AccommodationSearchRequest(null, null, null, Set.of(AmenityType.POOL));
+            boolean found = false;
+            while (!found && System.nanoTime() < deadline) {
+                found = otherIndex.search(criteria, null, 1_000).stream()
+                        .anyMatch(cursor -> cursor.id().equals(created.id()));
+                if (!found) {
+                    Thread.sleep(50);
+                }
+            }
+            assertThat(found).isTrue();
+        } finally {
+            otherLoader.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Invalidations of one transaction are delivered together after commit")
+    void writes_InOneTransaction_AreDeliveredTogether() throws InterruptedException {
+        UUID hostId = UUID.randomUUID();
+        UserContext host = new UserContext(hostId, "HOST");
+        AccommodationResponse created = accommodationService.create(request(), host);
+        assertThat(received.poll(10, TimeUnit.SECONDS)).isNotNull();
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            accommodationService.delete(created.id(), host, null);
+            assertThat(received).isEmpty();
+        });
+
+        Invalidation first = received.poll(10, TimeUnit.SECONDS);
+        Invalidation second = received.poll(10, TimeUnit.SECONDS);
+        assertThat(List.of(first, second))
+                .extracting(Invalidation::target, Invalidation::id)
+                .containsExactlyInAnyOrder(
+                        tuple(Invalidation.Target.ACCOMMODATION, created.id()),
+                        tuple(Invalidation.Target.HOST_LISTING, hostId));
+    }
+
+    @Test
+    @DisplayName("Rolled back write is not broadcast")
+    void create_RolledBack_DoesNotNotify() throws InterruptedException {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            accommodationService.create(request(), new UserContext(UUID.randomUUID(), "HOST"));
+            status.setRollbackOnly();
+        });
+
+        assertThat(received.poll(2, TimeUnit.SECONDS)).isNull();
+    }
+}
@@ -0,0 +1,82 @@
+package com.devoops.accommodation.integration;
+
+import com.devoops.accommodation.support.PostgresContainerSupport;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "accommodation.observability.debug-header=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ObservabilityIntegrationTest extends PostgresContainerSupport {
+
+    private static final String BASE_PATH = "/api/accommodation";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Create reports DB time and statement count in the Server-Timing header")
+    void create_ReportsServerTiming() throws Exception {
+        var request = Map.of(
+                "name", "Observed Apartment",
+                "address", "1 Metric St",
+                "minGuests", 1,
+                "maxGuests", 2,
+                "pricingMode", "PER_GUEST",
+                "approvalMode", "MANUAL"
+        );
+
+        String serverTiming = mockMvc.perform(post(BASE_PATH)
+                        .header("X-User-Id", UUID.randomUUID().toString())
+                        .header("X-User-Role", "HOST")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(header().exists("Server-Timing"))
+                .andReturn().getResponse().getHeader("Server-Timing");
+
+        assertThat(serverTiming).matches("db;dur=\\d+\\.\\d{3};desc=\"[1-9]\\d* queries\", app;dur=\\d+\\.\\d{3}");
+    }
+
+    @Test
+    @DisplayName("Host listing records service and repository observations and per-request query metrics")
+    void getByHostId_RecordsObservationsAndRequestMetrics() throws Exception {
+        mockMvc.perform(get(BASE_PATH + "/host/" + UUID.randomUUID()))
+                .andExpect(status().isOk());
+
+        assertThat(meterRegistry.find("accommodation.service")
+                .tags("component", "AccommodationService", "method", "getByHostId").timer())
+                .isNotNull();
+        assertThat(meterRegistry.find("accommodation.repository.rows")
+                .tags("component", "AccommodationJdbcRepository", "method", "findIdsByHostId").summary())
+                .isNotNull();
+        assertThat(meterRegistry.find("accommodation.request.queries")
+                .tags("method", "GET", "uri", "/api/accommodation/host/{hostId}").summary().max())
+                .isGreaterThanOrEqualTo(1);
+        assertThat(meterRegistry.find("accommodation.request.db.time")
+                .tags("method", "GET", "uri", "/api/accommodation/host/{hostId}").timer().count())
+                .isPositive();
+    }
+}
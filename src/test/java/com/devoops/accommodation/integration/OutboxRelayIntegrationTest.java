@@ -0,0 +1,189 @@
+package com.devoops.accommodation.integration;
+
+import com.devoops.accommodation.outbox.OutboxEvent;
+import com.devoops.accommodation.outbox.OutboxEventType;
+import com.devoops.accommodation.outbox.OutboxRelay;
+import com.devoops.accommodation.outbox.OutboxRepository;
+import com.devoops.accommodation.support.InMemoryOutboxSink;
+import com.devoops.accommodation.support.PostgresContainerSupport;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "accommodation.outbox.relay-enabled=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class OutboxRelayIntegrationTest extends PostgresContainerSupport {
+
+    private static final String BASE_PATH = "/api/accommodation";
+
+    @TestConfiguration
+    static class SinkConfig {
+
+        @Bean
+        @Primary
+        InMemoryOutboxSink inMemoryOutboxSink() {
+            return new InMemoryOutboxSink();
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private OutboxRepository outboxRepository;
+
+    @Autowired
+    private InMemoryOutboxSink sink;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void setUp() {
+        sink.setFailing(false);
+        sink.setCapacity(true);
+        sink.clear();
+    }
+
+    private UUID create(UUID hostId) throws Exception {
+        var request = Map.of(
+                "name", "Outbox Apartment",
+                "address", "1 Outbox St",
+                "minGuests", 1,
+                "maxGuests", 2,
+                "pricingMode", "PER_GUEST",
+                "approvalMode", "MANUAL"
+        );
+        String body = mockMvc.perform(post(BASE_PATH)
+                        .header("X-User-Id", hostId.toString())
+                        .header("X-User-Role", "HOST")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return UUID.fromString(objectMapper.readTree(body).get("id").asText());
+    }
+
+    private List<OutboxEvent> eventsFor(UUID id) {
+        return sink.events().stream().filter(event -> event.accommodationId().equals(id)).toList();
+    }
+
+    @Test
+    @DisplayName("Create, update and delete are relayed in order and removed from the outbox")
+    void relay_PublishesWritesInOrder() throws Exception {
+        UUID hostId = UUID.randomUUID();
+        UUID id = create(hostId);
+
+        mockMvc.perform(put(BASE_PATH + "/" + id)
+                        .header("X-User-Id", hostId.toString())
+                        .header("X-User-Role", "HOST")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("name", "Renamed"))))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete(BASE_PATH + "/" + id)
+                        .header("X-User-Id", hostId.toString())
+                        .header("X-User-Role", "HOST"))
+                .andExpect(status().isNoContent());
+
+        outboxRelay.drain();
+
+        List<OutboxEvent> events = eventsFor(id);
+        assertThat(events).extracting(OutboxEvent::type)
+                .containsExactly(OutboxEventType.CREATED, OutboxEventType.UPDATED, OutboxEventType.DELETED);
+        JsonNode updated = objectMapper.readTree(events.get(1).payload());
+        assertThat(updated.get("name").asText()).isEqualTo("Renamed");
+        assertThat(outboxRepository.countPending()).isZero();
+    }
+
+    @Test
+    @DisplayName("Rejected write leaves no outbox event")
+    void relay_RejectedWrite_RecordsNothing() throws Exception {
+        UUID hostId = UUID.randomUUID();
+        UUID id = create(hostId);
+
+        mockMvc.perform(put(BASE_PATH + "/" + id)
+                        .header("X-User-Id", UUID.randomUUID().toString())
+                        .header("X-User-Role", "HOST")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("name", "Hijacked"))))
+                .andExpect(status().isForbidden());
+
+        outboxRelay.drain();
+
+        assertThat(eventsFor(id)).extracting(OutboxEvent::type).containsExactly(OutboxEventType.CREATED);
+    }
+
+    @Test
+    @DisplayName("Failing sink keeps events in the outbox for a later retry")
+    void relay_WhenSinkFails_KeepsEvents() throws Exception {
+        sink.setFailing(true);
+        UUID id = create(UUID.randomUUID());
+
+        assertThat(outboxRelay.drain()).isZero();
+        assertThat(outboxRepository.countPending()).isPositive();
+
+        sink.setFailing(false);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (eventsFor(id).isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+            outboxRelay.drain();
+        }
+
+        assertThat(eventsFor(id)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Sink without capacity pauses draining")
+    void relay_WhenSinkHasNoCapacity_DoesNotDrain() throws Exception {
+        sink.setCapacity(false);
+        create(UUID.randomUUID());
+
+        assertThat(outboxRelay.drain()).isZero();
+        assertThat(outboxRepository.countPending()).isPositive();
+
+        sink.setCapacity(true);
+        outboxRelay.drain();
+        assertThat(outboxRepository.countPending()).isZero();
+    }
+
+    @Test
+    @DisplayName("Backlog reads pending events and their age from the outbox")
+    void backlog_ReflectsPendingEvents() throws Exception {
+        sink.setCapacity(false);
+        create(UUID.randomUUID());
+        create(UUID.randomUUID());
+
+        OutboxRepository.Backlog backlog = outboxRepository.backlog();
+        assertThat(backlog.pending()).isGreaterThanOrEqualTo(2);
+        assertThat(backlog.lagMillis()).isNotNegative();
+
+        sink.setCapacity(true);
+        outboxRelay.drain();
+        assertThat(outboxRepository.backlog()).isEqualTo(new OutboxRepository.Backlog(0, 0));
+    }
+}
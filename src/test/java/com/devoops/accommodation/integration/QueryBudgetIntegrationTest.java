@@ -0,0 +1,102 @@
+package com.devoops.accommodation.integration;
+
+import com.devoops.accommodation.config.UserContext;
+import com.devoops.accommodation.dto.request.CreateAccommodationRequest;
+import com.devoops.accommodation.dto.response.AccommodationResponse;
+import com.devoops.accommodation.entity.ApprovalMode;
+import com.devoops.accommodation.entity.PricingMode;
+import com.devoops.accommodation.service.AccommodationService;
+import com.devoops.accommodation.support.PostgresContainerSupport;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static com.devoops.accommodation.support.QueryCountAssert.assertQueries;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "accommodation.observability.query-budget.endpoints.getChanges=0")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class QueryBudgetIntegrationTest extends PostgresContainerSupport {
+
+    @Autowired
+    private AccommodationService accommodationService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private UUID hostWith(int accommodations) {
+        UUID hostId = UUID.randomUUID();
+        List<CreateAccommodationRequest> requests = IntStream.range(0, accommodations)
+                .mapToObj(i -> new CreateAccommodationRequest("Budget " + i, i + " Query St", 1, 2,
+                        PricingMode.PER_GUEST, ApprovalMode.MANUAL, List.of()))
+                .toList();
+        accommodationService.createAll(requests, new UserContext(hostId, "HOST"));
+        return hostId;
+    }
+
+    @ParameterizedTest(name = "host with {0} accommodations")
+    @ValueSource(ints = {1, 20})
+    @DisplayName("getByHostId costs the same statements regardless of host size and none once cached")
+    void getByHostId_StatementCountIndependentOfHostSize(int accommodations) {
+        UUID hostId = hostWith(accommodations);
+
+        assertQueries(() -> accommodationService.getByHostId(hostId, null, 20)).hasStatementCount(2);
+        assertQueries(() -> accommodationService.getByHostId(hostId, null, 20)).hasNoStatements();
+    }
+
+    @Test
+    @DisplayName("getByIds resolves a batch with one statement")
+    void getByIds_UsesSingleStatement() {
+        UUID hostId = hostWith(5);
+        List<UUID> ids = accommodationService.getByHostId(hostId, null, 20).items().stream()
+                .map(AccommodationResponse::id)
+                .toList();
+
+        List<UUID> uncached = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        assertQueries(() -> accommodationService.getByIds(uncached)).hasStatementCount(1);
+        assertQueries(() -> accommodationService.getByIds(ids)).hasNoStatements();
+    }
+
+    @Test
+    @DisplayName("createAll batches its inserts and sends one cache invalidation however many rows it creates")
+    void createAll_StatementCountIndependentOfBatchSize() {
+        List<CreateAccommodationRequest> requests = IntStream.range(0, 200)
+                .mapToObj(i -> new CreateAccommodationRequest("Bulk " + i, i + " Batch St", 1, 2,
+                        PricingMode.PER_GUEST, ApprovalMode.MANUAL, List.of()))
+                .toList();
+
+        assertQueries(() -> accommodationService.createAll(requests, new UserContext(UUID.randomUUID(), "HOST")))
+                .hasAtMostStatements(10);
+    }
+
+    @Test
+    @DisplayName("Request over its budget is counted")
+    void request_OverBudget_IsCounted() throws Exception {
+        assertQueries(() -> mockMvc.perform(get("/api/accommodation/changes")).andExpect(status().isOk()))
+                .hasStatementCount(1);
+
+        Counter exceeded = meterRegistry.find("accommodation.request.query.budget.exceeded")
+                .tags("method", "GET", "uri", "/api/accommodation/changes")
+                .counter();
+        assertThat(exceeded).isNotNull();
+        assertThat(exceeded.count()).isPositive();
+    }
+}
@@ -0,0 +1,244 @@
+package com.devoops.accommodation.integration;
+
+import com.devoops.accommodation.cache.InvalidationBus;
+import com.devoops.accommodation.dto.request.AccommodationSearchRequest;
+import com.devoops.accommodation.index.AmenityIndex;
+import com.devoops.accommodation.index.AmenityIndexLoader;
+import com.devoops.accommodation.index.AmenityIndexProperties;
+import com.devoops.accommodation.pagination.KeysetCursor;
+import com.devoops.accommodation.repository.AccommodationJdbcRepository;
+import com.devoops.accommodation.support.PostgresContainerSupport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Uses a second, independently migrated container as the "replica". There is no replication between the two,
+ * which makes it visible which database served each request; tests that need the replica to catch up copy rows to
+ * it themselves.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReplicaRoutingIntegrationTest extends PostgresContainerSupport {
+
+    private static final PostgreSQLContainer<?> replica = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("accommodation_db_replica")
+            .withUsername("test")
+            .withPassword("test");
+
+    private static final String BASE_PATH = "/api/accommodation";
+    private static final Duration REPLICA_LAG = Duration.ofMillis(300);
+    /** Plays replication: the replica only sees a row once a test inserts it there. */
+    private static final String INSERT_ACCOMMODATION = "INSERT INTO accommodations "
+            + "(id, host_id, name, address, min_guests, max_guests, pricing_mode, approval_mode) "
+            + "VALUES (?, ?, ?, '1 Primary St', 1, 2, 'PER_GUEST', 'MANUAL')";
+
+    static {
+        replica.start();
+        Flyway.configure()
+                .dataSource(replica.getJdbcUrl(), replica.getUsername(), replica.getPassword())
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+    }
+
+    @DynamicPropertySource
+    static void replicaProperties(DynamicPropertyRegistry registry) {
+        registry.add("accommodation.datasource.replica.urls", replica::getJdbcUrl);
+        registry.add("accommodation.amenity-index.enabled", () -> "false");
+        registry.add("accommodation.cache.replica-lag", REPLICA_LAG::toString);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AccommodationJdbcRepository accommodationJdbcRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private InvalidationBus invalidationBus;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final JdbcTemplate primaryJdbc = new JdbcTemplate(new DriverManagerDataSource(
+            postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword()));
+
+    private final JdbcTemplate replicaJdbc = new JdbcTemplate(new DriverManagerDataSource(
+            replica.getJdbcUrl(), replica.getUsername(), replica.getPassword()));
+
+    @Test
+    @DisplayName("Read-only transactions are served by the replica")
+    void search_ReadsFromReplica() throws Exception {
+        UUID hostId = UUID.randomUUID();
+        replicaJdbc.update("INSERT INTO accommodations (host_id, name, address, min_guests, max_guests, pricing_mode, approval_mode) "
+                + "VALUES (?, 'Replica Only', 'Nowhere', 1, 2, 'PER_GUEST', 'MANUAL')", hostId);
+
+        mockMvc.perform(get(BASE_PATH + "/search").param("limit", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].name", hasItem("Replica Only")));
+    }
+
+    @Test
+    @DisplayName("Cache fills for reads by id are served by the replica")
+    void getById_FillsCacheFromReplica() throws Exception {
+        UUID id = UUID.randomUUID();
+        replicaJdbc.update(INSERT_ACCOMMODATION, id, UUID.randomUUID(), "Replica Only By Id");
+
+        mockMvc.perform(get(BASE_PATH + "/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Replica Only By Id"));
+    }
+
+    @Test
+    @DisplayName("A create the replica has not replayed yet is found once the replica lag has passed")
+    void createThenGet_FoundOnceReplicaCatchesUp() throws Exception {
+        UUID hostId = UUID.randomUUID();
+        UUID id = create(hostId, "Fresh Listing");
+        mockMvc.perform(get(BASE_PATH + "/{id}", id))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get(BASE_PATH + "/host/{hostId}", hostId))
+                .andExpect(status().isOk());
+
+        replicaJdbc.update(INSERT_ACCOMMODATION, id, hostId, "Fresh Listing");
+        Thread.sleep(REPLICA_LAG.toMillis() * 3);
+
+        mockMvc.perform(get(BASE_PATH + "/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Fresh Listing"));
+        mockMvc.perform(get(BASE_PATH + "/host/{hostId}", hostId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[*].name", hasItem("Fresh Listing")));
+    }
+
+    @Test
+    @DisplayName("State re-cached from a lagging replica after an update is dropped once the replica lag has passed")
+    void updateThenGet_ServesNewStateOnceReplicaCatchesUp() throws Exception {
+        UUID hostId = UUID.randomUUID();
+        UUID id = create(hostId, "Before Update");
+        replicaJdbc.update(INSERT_ACCOMMODATION, id, hostId, "Before Update");
+        mockMvc.perform(get(BASE_PATH + "/{id}", id))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(put(BASE_PATH + "/{id}", id)
+                        .header("X-User-Id", hostId.toString())
+                        .header("X-User-Role", "HOST")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("name", "After Update"))))
+                .andExpect(status().isOk());
+        mockMvc.perform(get(BASE_PATH + "/{id}", id))
+                .andExpect(status().isOk());
+
+        replicaJdbc.update("UPDATE accommodations SET name = 'After Update' WHERE id = ?", id);
+        Thread.sleep(REPLICA_LAG.toMillis() * 3);
+
+        mockMvc.perform(get(BASE_PATH + "/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("After Update"));
+        mockMvc.perform(post(BASE_PATH + "/batch-get")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("ids", List.of(id)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accommodations[0].name").value("After Update"));
+    }
+
+    @Test
+    @DisplayName("Amenity index rebuilds read the primary")
+    void amenityIndexRebuild_ReadsFromPrimary() throws Exception {
+        UUID id = UUID.randomUUID();
+        primaryJdbc.update(INSERT_ACCOMMODATION, id, UUID.randomUUID(), "Primary Only");
+        AmenityIndexProperties properties = new AmenityIndexProperties(true, Duration.ofMinutes(5));
+        AmenityIndex index = new AmenityIndex(properties, new SimpleMeterRegistry());
+        AmenityIndexLoader loader = new AmenityIndexLoader(index, properties, accommodationJdbcRepository,
+                transactionManager, invalidationBus);
+
+        loader.onApplicationReady();
+        try {
+            long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+            while (!index.isReady() && System.nanoTime() < deadline) {
+                Thread.sleep(50);
+            }
+
+            assertThat(index.isReady()).isTrue();
+            assertThat(index.search(new AccommodationSearchRequest(null, null, null, null), null, 1_000))
+                    .extracting(KeysetCursor::id)
+                    .contains(id);
+        } finally {
+            loader.shutdown();
+        }
+    }
+
+    private UUID create(UUID hostId, String name) throws Exception {
+        var request = Map.of(
+                "name", name,
+                "address", "1 Primary St",
+                "minGuests", 1,
+                "maxGuests", 2,
+                "pricingMode", "PER_GUEST",
+                "approvalMode", "MANUAL"
+        );
+        String body = mockMvc.perform(post(BASE_PATH)
+                        .header("X-User-Id", hostId.toString())
+                        .header("X-User-Role", "HOST")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return UUID.fromString(objectMapper.readTree(body).get("id").asText());
+    }
+
+    @Test
+    @DisplayName("Writes go to the primary only")
+    void create_WritesToPrimary() throws Exception {
+        UUID hostId = UUID.randomUUID();
+        var request = Map.of(
+                "name", "Primary Write",
+                "address", "1 Primary St",
+                "minGuests", 1,
+                "maxGuests", 2,
+                "pricingMode", "PER_GUEST",
+                "approvalMode", "MANUAL"
+        );
+
+        mockMvc.perform(post(BASE_PATH)
+                        .header("X-User-Id", hostId.toString())
+                        .header("X-User-Role", "HOST")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated());
+
+        String countSql = "SELECT count(*) FROM accommodations WHERE host_id = ?";
+        assertThat(primaryJdbc.queryForObject(countSql, Integer.class, hostId)).isEqualTo(1);
+        assertThat(replicaJdbc.queryForObject(countSql, Integer.class, hostId)).isZero();
+    }
+}
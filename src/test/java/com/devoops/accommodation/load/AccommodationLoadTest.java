@@ -0,0 +1,313 @@
+package com.devoops.accommodation.load;
+
+import com.devoops.accommodation.support.PostgresContainerSupport;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Open-model load test: seeds hosts and listings, then fires a fixed-seed mix of requests against every
+ * accommodation endpoint at a constant arrival rate. Latency is measured from each request's scheduled
+ * start, so a slow server cannot hide queueing delay (no coordinated omission). Throughput is reported as offered
+ * (requests scheduled in the measurement window) and achieved (responses received within it).
+ * Run with {@code ./gradlew loadTest [-Pload.rate=500 -Pload.durationSeconds=120 ...]}.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class AccommodationLoadTest extends PostgresContainerSupport {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccommodationLoadTest.class);
+
+    private static final String BASE_PATH = "/api/accommodation";
+    private static final int BULK_SIZE = 500;
+    private static final int BATCH_GET_SIZE = 50;
+    private static final String[] AMENITY_FILTERS = {"WIFI", "POOL", "WIFI,PARKING", "AC,TV,HEATING"};
+
+    private enum Operation {
+        GET_BY_ID(45),
+        GET_BY_HOST(15),
+        SEARCH(10),
+        BATCH_GET(10),
+        EXPORT(2),
+        CREATE(8),
+        UPDATE(7),
+        DELETE(3);
+
+        private final int weight;
+
+        Operation(int weight) {
+            this.weight = weight;
+        }
+    }
+
+    private record Listing(UUID id, UUID hostId) {
+    }
+
+    @Value("${local.server.port}")
+    private int port;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    private final List<Listing> listings = new ArrayList<>();
+    private final ConcurrentLinkedQueue<Listing> deletable = new ConcurrentLinkedQueue<>();
+    private final Map<Operation, LatencyRecorder> recorders = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> completed = new EnumMap<>(Operation.class);
+    private final LongAdder deleteFallbacks = new LongAdder();
+
+    private long measureFrom;
+    private long measureUntil;
+
+    @Test
+    void mixedWorkloadAtFixedArrivalRate() throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new LatencyRecorder());
+            completed.put(operation, new LongAdder());
+        }
+
+        Random random = new Random(settings.seed());
+        seed(settings, random);
+        run(settings, random);
+        writeReport(settings);
+
+        assertThat(settings.output()).exists();
+    }
+
+    private void seed(LoadTestSettings settings, Random random) throws Exception {
+        for (int h = 0; h < settings.hosts(); h++) {
+            UUID hostId = new UUID(random.nextLong(), random.nextLong());
+            for (int offset = 0; offset < settings.listingsPerHost(); offset += BULK_SIZE) {
+                int size = Math.min(BULK_SIZE, settings.listingsPerHost() - offset);
+                List<Map<String, Object>> items = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    items.add(listingBody(random, "Seed " + h + "-" + (offset + i)));
+                }
+
+                HttpResponse<String> response = send(HttpRequest.newBuilder(uri("/bulk"))
+                        .header("X-User-Id", hostId.toString())
+                        .header("X-User-Role", "HOST")
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(Map.of("items", items))))
+                        .build());
+                assertThat(response.statusCode()).isEqualTo(200);
+
+                for (JsonNode result : objectMapper.readTree(response.body()).get("results")) {
+                    listings.add(new Listing(UUID.fromString(result.get("accommodation").get("id").asText()), hostId));
+                }
+            }
+        }
+        logger.info("Seeded {} listings for {} hosts", listings.size(), settings.hosts());
+    }
+
+    private void run(LoadTestSettings settings, Random random) {
+        int totalWeight = 0;
+        for (Operation operation : Operation.values()) {
+            totalWeight += operation.weight;
+        }
+
+        long intervalNanos = 1_000_000_000L / settings.requestsPerSecond();
+        long start = System.nanoTime();
+        measureFrom = start + settings.warmup().toNanos();
+        measureUntil = measureFrom + settings.duration().toNanos();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; ; i++) {
+                long scheduledAt = start + i * intervalNanos;
+                if (scheduledAt >= measureUntil) {
+                    break;
+                }
+                long wait = scheduledAt - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+
+                boolean measured = scheduledAt >= measureFrom;
+                Operation picked = pick(random, totalWeight);
+                Listing deleteTarget = picked == Operation.DELETE ? deletable.poll() : null;
+                if (picked == Operation.DELETE && deleteTarget == null) {
+                    // Nothing created yet to delete: keep the arrival, recorded as the read it is sent as.
+                    picked = Operation.GET_BY_ID;
+                    if (measured) {
+                        deleteFallbacks.increment();
+                    }
+                }
+                Operation operation = picked;
+                HttpRequest request = buildRequest(operation, random, deleteTarget);
+                executor.submit(() -> execute(operation, request, scheduledAt, measured));
+            }
+        }
+    }
+
+    private Operation pick(Random random, int totalWeight) {
+        int roll = random.nextInt(totalWeight);
+        for (Operation operation : Operation.values()) {
+            roll -= operation.weight;
+            if (roll < 0) {
+                return operation;
+            }
+        }
+        throw new IllegalStateException("Unreachable");
+    }
+
+    private HttpRequest buildRequest(Operation operation, Random random, Listing deleteTarget) {
+        Listing listing = listings.get(random.nextInt(listings.size()));
+        return switch (operation) {
+            case GET_BY_ID -> HttpRequest.newBuilder(uri("/" + listing.id())).GET().build();
+            case GET_BY_HOST -> HttpRequest.newBuilder(uri("/host/" + listing.hostId() + "?limit=20")).GET().build();
+            case SEARCH -> HttpRequest.newBuilder(uri("/search?guests=" + (1 + random.nextInt(6))
+                    + "&amenities=" + AMENITY_FILTERS[random.nextInt(AMENITY_FILTERS.length)])).GET().build();
+            case BATCH_GET -> {
+                List<UUID> ids = new ArrayList<>(BATCH_GET_SIZE);
+                for (int i = 0; i < BATCH_GET_SIZE; i++) {
+                    ids.add(listings.get(random.nextInt(listings.size())).id());
+                }
+                yield jsonRequest(uri("/batch-get"), "POST", Map.of("ids", ids), null);
+            }
+            case EXPORT -> HttpRequest.newBuilder(uri("/host/" + listing.hostId() + "/export")).GET().build();
+            case CREATE -> jsonRequest(uri(""), "POST", listingBody(random, "Load"), listing.hostId());
+            case UPDATE -> jsonRequest(uri("/" + listing.id()), "PUT",
+                    Map.of("name", "Updated " + random.nextInt(1000)), listing.hostId());
+            case DELETE -> withHost(HttpRequest.newBuilder(uri("/" + deleteTarget.id())), deleteTarget.hostId())
+                    .DELETE()
+                    .build();
+        };
+    }
+
+    private void execute(Operation operation, HttpRequest request, long scheduledAt, boolean measured) {
+        boolean error;
+        try {
+            HttpResponse<String> response = send(request);
+            error = response.statusCode() >= 400;
+            if (operation == Operation.CREATE && !error) {
+                UUID id = UUID.fromString(objectMapper.readTree(response.body()).get("id").asText());
+                deletable.add(new Listing(id, UUID.fromString(request.headers().firstValue("X-User-Id").orElseThrow())));
+            }
+        } catch (IOException | InterruptedException e) {
+            error = true;
+        }
+        long completedAt = System.nanoTime();
+        if (measured) {
+            recorders.get(operation).record(completedAt - scheduledAt, error);
+        }
+        if (completedAt >= measureFrom && completedAt < measureUntil) {
+            completed.get(operation).increment();
+        }
+    }
+
+    private void writeReport(LoadTestSettings settings) throws IOException {
+        double measuredSeconds = settings.duration().toMillis() / 1000.0;
+
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        long totalCompleted = 0;
+        for (Operation operation : Operation.values()) {
+            Map<String, Object> summary = recorders.get(operation).summarize(measuredSeconds);
+            long responses = completed.get(operation).sum();
+            summary.put("offeredPerSecond", summary.remove("throughputPerSecond"));
+            summary.put("throughputPerSecond", perSecond(responses, measuredSeconds));
+            endpoints.put(operation.name(), summary);
+            totalCompleted += responses;
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("commit", gitCommit());
+        report.put("timestamp", Instant.now().toString());
+        report.put("settings", Map.of(
+                "hosts", settings.hosts(),
+                "listingsPerHost", settings.listingsPerHost(),
+                "requestsPerSecond", settings.requestsPerSecond(),
+                "warmupSeconds", settings.warmup().toSeconds(),
+                "durationSeconds", settings.duration().toSeconds(),
+                "seed", settings.seed()));
+        report.put("throughputPerSecond", perSecond(totalCompleted, measuredSeconds));
+        report.put("deleteFallbacksToGetById", deleteFallbacks.sum());
+        report.put("endpoints", endpoints);
+
+        Files.createDirectories(settings.output().toAbsolutePath().getParent());
+        objectMapper.writer(SerializationFeature.INDENT_OUTPUT).writeValue(settings.output().toFile(), report);
+        logger.info("Load test report written to {}", settings.output().toAbsolutePath());
+    }
+
+    private static double perSecond(long count, double seconds) {
+        return Math.round(count / seconds * 1000.0) / 1000.0;
+    }
+
+    private Map<String, Object> listingBody(Random random, String name) {
+        int minGuests = 1 + random.nextInt(3);
+        return Map.of(
+                "name", name,
+                "address", "Load Street " + random.nextInt(10_000),
+                "minGuests", minGuests,
+                "maxGuests", minGuests + random.nextInt(6),
+                "pricingMode", random.nextBoolean() ? "PER_GUEST" : "PER_UNIT",
+                "approvalMode", random.nextBoolean() ? "AUTOMATIC" : "MANUAL",
+                "amenities", List.of("WIFI", "KITCHEN", "AC", "PARKING", "POOL", "TV", "HEATING")
+                        .subList(0, random.nextInt(8))
+        );
+    }
+
+    private HttpRequest jsonRequest(URI uri, String method, Object body, UUID hostId) {
+        try {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                    .header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)));
+            return hostId != null ? withHost(builder, hostId).build() : builder.build();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private HttpRequest.Builder withHost(HttpRequest.Builder builder, UUID hostId) {
+        return builder.header("X-User-Id", hostId.toString()).header("X-User-Role", "HOST");
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + BASE_PATH + path);
+    }
+
+    private static String gitCommit() {
+        try {
+            Process process = new ProcessBuilder("git", "rev-parse", "--short", "HEAD").start();
+            String commit = new String(process.getInputStream().readAllBytes()).trim();
+            return process.waitFor() == 0 && !commit.isEmpty() ? commit : "unknown";
+        } catch (IOException | InterruptedException e) {
+            return "unknown";
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.devoops.accommodation.load;
+
+import com.devoops.accommodation.AccommodationApplication;
+import com.devoops.benchmark.persistence.StaticUpdateAccommodation;
+import org.junit.jupiter.api.Tag;
+import org.springframework.boot.persistence.autoconfigure.EntityScan;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.test.context.ActiveProfiles;
+
+@Tag("load")
+@SpringBootTest
+@ActiveProfiles("test")
+class BaselinePersistenceWriteBenchmarkTest extends PersistenceWriteBenchmark<StaticUpdateAccommodation> {
+
+    BaselinePersistenceWriteBenchmarkTest() {
+        super("baseline", StaticUpdateAccommodation.class, StaticUpdateAccommodation::setName);
+    }
+
+    /**
+     * Adds the static-update mapping to the application's entities for this context only.
+     */
+    @TestConfiguration
+    @EntityScan(basePackageClasses = {AccommodationApplication.class, StaticUpdateAccommodation.class})
+    static class StaticUpdateMapping {
+    }
+}
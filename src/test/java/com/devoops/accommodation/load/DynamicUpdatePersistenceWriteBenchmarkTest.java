@@ -0,0 +1,16 @@
+package com.devoops.accommodation.load;
+
+import com.devoops.accommodation.entity.Accommodation;
+import org.junit.jupiter.api.Tag;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@Tag("load")
+@SpringBootTest
+@ActiveProfiles("test")
+class DynamicUpdatePersistenceWriteBenchmarkTest extends PersistenceWriteBenchmark<Accommodation> {
+
+    DynamicUpdatePersistenceWriteBenchmarkTest() {
+        super("dynamic", Accommodation.class, Accommodation::setName);
+    }
+}
@@ -0,0 +1,57 @@
+package com.devoops.accommodation.load;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Collects raw latency samples of one endpoint; percentiles are computed exactly once the run is over.
+ */
+class LatencyRecorder {
+
+    private long[] samples = new long[1024];
+    private int count;
+    private int errors;
+
+    synchronized void record(long latencyNanos, boolean error) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = latencyNanos;
+        if (error) {
+            errors++;
+        }
+    }
+
+    synchronized Map<String, Object> summarize(double measuredSeconds) {
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", count);
+        summary.put("errors", errors);
+        summary.put("throughputPerSecond", round(count / measuredSeconds));
+        summary.put("p50Ms", percentile(sorted, 0.50));
+        summary.put("p95Ms", percentile(sorted, 0.95));
+        summary.put("p99Ms", percentile(sorted, 0.99));
+        summary.put("p999Ms", percentile(sorted, 0.999));
+        summary.put("maxMs", sorted.length == 0 ? 0.0 : toMillis(sorted[sorted.length - 1]));
+        return summary;
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return toMillis(sorted[Math.max(index, 0)]);
+    }
+
+    private static double toMillis(long nanos) {
+        return round(nanos / 1_000_000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000.0) / 1000.0;
+    }
+}
@@ -0,0 +1,30 @@
+package com.devoops.accommodation.load;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Load test knobs, read from {@code load.*} system properties (Gradle passes {@code -Pload.*} through).
+ */
+record LoadTestSettings(
+        int hosts,
+        int listingsPerHost,
+        int requestsPerSecond,
+        Duration warmup,
+        Duration duration,
+        long seed,
+        Path output
+) {
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Integer.getInteger("load.hosts", 50),
+                Integer.getInteger("load.listingsPerHost", 20),
+                Integer.getInteger("load.rate", 200),
+                Duration.ofSeconds(Long.getLong("load.warmupSeconds", 10)),
+                Duration.ofSeconds(Long.getLong("load.durationSeconds", 60)),
+                Long.getLong("load.seed", 42),
+                Path.of(System.getProperty("load.output", "build/reports/load/load-test-results.json"))
+        );
+    }
+}
@@ -0,0 +1,193 @@
+package com.devoops.accommodation.load;
+
+import com.devoops.accommodation.dto.request.UpdateAccommodationRequest;
+import com.devoops.accommodation.entity.Accommodation;
+import com.devoops.accommodation.entity.AmenityType;
+import com.devoops.accommodation.entity.ApprovalMode;
+import com.devoops.accommodation.entity.BaseEntity;
+import com.devoops.accommodation.entity.PricingMode;
+import com.devoops.accommodation.repository.AccommodationJdbcRepository;
+import com.devoops.accommodation.repository.AccommodationRepository;
+import com.devoops.accommodation.support.PostgresContainerSupport;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.IntToLongFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures per-write latency against the integration-test database for one entity mapping: the static-update
+ * baseline or {@code Accommodation} with {@code @DynamicUpdate}. Subclasses pick the mapping; run both with
+ * {@code ./gradlew loadTest} and compare {@code build/reports/load/persistence-<name>.json}, or the
+ * {@code persistence-summary.json} written once both reports exist.
+ *
+ * <p>Only the write itself is timed: the entity flush, or the repository's conditional update statement.
+ * Loading the entities and committing happen outside the measured span.
+ */
+abstract class PersistenceWriteBenchmark<T extends BaseEntity> extends PostgresContainerSupport {
+
+    private static final Logger logger = LoggerFactory.getLogger(PersistenceWriteBenchmark.class);
+
+    private static final int ROWS = 200;
+    private static final int BATCH = 50;
+    private static final List<String> MAPPINGS = List.of("baseline", "dynamic");
+
+    private final String name;
+    private final Class<T> entityType;
+    private final BiConsumer<T, String> rename;
+
+    @Autowired
+    private AccommodationRepository accommodationRepository;
+
+    @Autowired
+    private AccommodationJdbcRepository accommodationJdbcRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    PersistenceWriteBenchmark(String name, Class<T> entityType, BiConsumer<T, String> rename) {
+        this.name = name;
+        this.entityType = entityType;
+        this.rename = rename;
+    }
+
+    @Test
+    void measureWriteLatency() throws IOException {
+        int warmup = Integer.getInteger("load.writeWarmup", 500);
+        int iterations = Integer.getInteger("load.writeIterations", 5_000);
+
+        UUID hostId = UUID.randomUUID();
+        List<UUID> ids = seed(hostId);
+
+        Map<String, Object> results = new LinkedHashMap<>();
+        results.put("entityRename", measure(warmup, iterations, i -> timedFlush(() ->
+                rename.accept(entityManager.find(entityType, ids.get(i % ROWS)), "Entity " + i))));
+        results.put("entityBatchRename", measure(warmup / BATCH, iterations / BATCH, i -> timedFlush(() ->
+                ids.subList(0, BATCH).forEach(id -> rename.accept(entityManager.find(entityType, id), "Batch " + i)))));
+        results.put("conditionalUpdate", measure(warmup, iterations, i -> {
+            UpdateAccommodationRequest request =
+                    new UpdateAccommodationRequest("Statement " + i, null, null, null, null, null, null);
+            long begin = System.nanoTime();
+            accommodationJdbcRepository.update(ids.get(i % ROWS), hostId, request, null);
+            return System.nanoTime() - begin;
+        }));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("mapping", name);
+        report.put("entity", entityType.getSimpleName());
+        report.put("iterations", iterations);
+        report.put("writes", results);
+
+        Path outputDir = Path.of(System.getProperty("load.outputDir", "build/reports/load"));
+        Path output = outputDir.resolve("persistence-" + name + ".json");
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        objectMapper.writer(SerializationFeature.INDENT_OUTPUT).writeValue(output.toFile(), report);
+        logger.info("Persistence write benchmark ({}) written to {}", name, output.toAbsolutePath());
+        summarize(outputDir);
+
+        assertThat(output).exists();
+    }
+
+    private List<UUID> seed(UUID hostId) {
+        List<Accommodation> accommodations = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            accommodations.add(Accommodation.builder()
+                    .hostId(hostId)
+                    .name("Benchmark " + i)
+                    .address("Benchmark Street " + i)
+                    .minGuests(1)
+                    .maxGuests(4)
+                    .pricingMode(PricingMode.PER_GUEST)
+                    .approvalMode(ApprovalMode.MANUAL)
+                    .amenities(EnumSet.of(AmenityType.WIFI, AmenityType.KITCHEN, AmenityType.AC))
+                    .build());
+        }
+        return transactionTemplate.execute(status -> accommodationRepository.saveAll(accommodations).stream()
+                .map(Accommodation::getId)
+                .toList());
+    }
+
+    /**
+     * Applies {@code changes} to managed entities and returns how long flushing them took.
+     */
+    private long timedFlush(Runnable changes) {
+        return transactionTemplate.execute(status -> {
+            changes.run();
+            long begin = System.nanoTime();
+            entityManager.flush();
+            return System.nanoTime() - begin;
+        });
+    }
+
+    private Map<String, Object> measure(int warmup, int iterations, IntToLongFunction timedWrite) {
+        for (int i = 0; i < warmup; i++) {
+            timedWrite.applyAsLong(i);
+        }
+
+        LatencyRecorder recorder = new LatencyRecorder();
+        long measured = 0;
+        for (int i = 0; i < iterations; i++) {
+            long latency = timedWrite.applyAsLong(warmup + i);
+            recorder.record(latency, false);
+            measured += latency;
+        }
+        return recorder.summarize(measured / 1_000_000_000.0);
+    }
+
+    /**
+     * Once both mappings have reported, writes their p50/p99 per write side by side with the dynamic/baseline
+     * ratio, so one file answers whether dynamic updates paid off.
+     */
+    private void summarize(Path outputDir) throws IOException {
+        Map<String, JsonNode> reports = new LinkedHashMap<>();
+        for (String mapping : MAPPINGS) {
+            Path report = outputDir.resolve("persistence-" + mapping + ".json");
+            if (!Files.exists(report)) {
+                return;
+            }
+            reports.put(mapping, objectMapper.readTree(report.toFile()).get("writes"));
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        reports.get("baseline").fieldNames().forEachRemaining(write -> {
+            JsonNode baseline = reports.get("baseline").get(write);
+            JsonNode dynamic = reports.get("dynamic").get(write);
+            Map<String, Object> comparison = new LinkedHashMap<>();
+            for (String percentile : List.of("p50Ms", "p99Ms")) {
+                double before = baseline.get(percentile).asDouble();
+                double after = dynamic.get(percentile).asDouble();
+                comparison.put(percentile, Map.of("baseline", before, "dynamic", after,
+                        "ratio", before == 0 ? 0.0 : Math.round(after / before * 1000.0) / 1000.0));
+            }
+            summary.put(write, comparison);
+        });
+
+        Path output = outputDir.resolve("persistence-summary.json");
+        objectMapper.writer(SerializationFeature.INDENT_OUTPUT).writeValue(output.toFile(), summary);
+        logger.info("Persistence write comparison written to {}", output.toAbsolutePath());
+    }
+}
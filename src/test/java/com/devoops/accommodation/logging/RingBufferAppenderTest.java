@@ -0,0 +1,141 @@
+package com.devoops.accommodation.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RingBufferAppenderTest {
+
+    private final LoggerContext context = new LoggerContext();
+    private final Logger logger = context.getLogger("test");
+    private final GatedAppender downstream = new GatedAppender();
+    private final RingBufferAppender appender = new RingBufferAppender();
+
+    @AfterEach
+    void tearDown() {
+        downstream.release.countDown();
+        appender.stop();
+    }
+
+    @Test
+    @DisplayName("Sheds DEBUG at half full, INFO at 80% full and WARN only when the ring is full")
+    void dropsByLevelUnderPressure() throws InterruptedException {
+        start(8);
+        append(Level.WARN, "blocks the worker");
+        assertThat(downstream.entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        for (int i = 0; i < 5; i++) {
+            append(Level.DEBUG, "debug " + i);
+        }
+        for (int i = 0; i < 4; i++) {
+            append(Level.INFO, "info " + i);
+        }
+        append(Level.WARN, "warn 0");
+        append(Level.WARN, "warn 1");
+
+        assertThat(appender.depth()).isEqualTo(8);
+        assertThat(appender.enqueued()).isEqualTo(9);
+        assertThat(appender.dropped(Level.DEBUG)).isEqualTo(1);
+        assertThat(appender.dropped(Level.INFO)).isEqualTo(1);
+        assertThat(appender.dropped(Level.WARN)).isEqualTo(1);
+        assertThat(appender.dropped(Level.ERROR)).isZero();
+
+        downstream.release.countDown();
+        appender.stop();
+
+        assertThat(downstream.received)
+                .extracting(ILoggingEvent::getFormattedMessage)
+                .containsExactly("blocks the worker", "debug 0", "debug 1", "debug 2", "debug 3",
+                        "info 0", "info 1", "info 2", "warn 0");
+    }
+
+    @Test
+    @DisplayName("Flushes queued events to the attached appender on stop")
+    void flushesOnStop() {
+        downstream.release.countDown();
+        start(16);
+
+        for (int i = 0; i < 10; i++) {
+            append(Level.ERROR, "event " + i);
+        }
+        appender.stop();
+
+        assertThat(downstream.received).hasSize(10);
+        assertThat(appender.depth()).isZero();
+        assertThat(downstream.isStarted()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Wakes the parked worker when an event is published")
+    void wakesParkedWorker() throws InterruptedException {
+        downstream.release.countDown();
+        start(16);
+
+        Thread worker = Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().equals("logback-ring-buffer-TEST"))
+                .findFirst()
+                .orElseThrow();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (worker.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertThat(worker.getState()).isEqualTo(Thread.State.WAITING);
+
+        append(Level.ERROR, "after park");
+
+        assertThat(downstream.entered.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Refuses to start with a ring size that is not a power of two")
+    void rejectsInvalidSize() {
+        start(100);
+
+        assertThat(appender.isStarted()).isFalse();
+    }
+
+    private void start(int size) {
+        downstream.setContext(context);
+        downstream.start();
+        appender.setContext(context);
+        appender.setName("TEST");
+        appender.setRingBufferSize(size);
+        appender.addAppender(downstream);
+        appender.start();
+    }
+
+    private void append(Level level, String message) {
+        appender.doAppend(new LoggingEvent(Logger.FQCN, logger, level, message, null, null));
+    }
+
+    private static class GatedAppender extends AppenderBase<ILoggingEvent> {
+
+        private final List<ILoggingEvent> received = new CopyOnWriteArrayList<>();
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            received.add(event);
+        }
+    }
+}
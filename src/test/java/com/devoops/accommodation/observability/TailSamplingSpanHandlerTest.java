@@ -0,0 +1,162 @@
+package com.devoops.accommodation.observability;
+
+import brave.Span;
+import brave.Tracer;
+import brave.Tracing;
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import brave.sampler.Sampler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TailSamplingSpanHandlerTest {
+
+    private static final long START_MICROS = 1_700_000_000_000_000L;
+
+    private final List<MutableSpan> exported = new CopyOnWriteArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private Tracing tracing;
+
+    private final SpanHandler reporter = new SpanHandler() {
+        @Override
+        public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+            exported.add(span);
+            return true;
+        }
+    };
+
+    @AfterEach
+    void tearDown() {
+        if (tracing != null) {
+            tracing.close();
+        }
+    }
+
+    private Tracer tracer(double baselinePerSecond, Map<String, TraceSamplingProperties.Endpoint> endpoints) {
+        TraceSamplingProperties properties = new TraceSamplingProperties(true, baselinePerSecond,
+                Duration.ofMillis(500), true, 100, 10, Duration.ofSeconds(30), endpoints);
+        TailSamplingSpanHandler handler = new TailSamplingSpanHandler(properties, () -> List.of(reporter),
+                meterRegistry);
+        tracing = Tracing.newBuilder()
+                .sampler(Sampler.ALWAYS_SAMPLE)
+                .addSpanHandler(handler)
+                .build();
+        return tracing.tracer();
+    }
+
+    /**
+     * Records a root span with one child; durations are in milliseconds.
+     */
+    private void trace(Tracer tracer, String uri, long rootMillis, boolean childFails) {
+        Span root = tracer.newTrace().name("http get").tag("uri", uri).start(START_MICROS);
+        Span child = tracer.newChild(root.context()).name("query").start(START_MICROS + 100);
+        if (childFails) {
+            child.error(new IllegalStateException("boom"));
+        }
+        child.finish(START_MICROS + 200);
+        root.finish(START_MICROS + rootMillis * 1_000);
+    }
+
+    private double spans(String result) {
+        return meterRegistry.get("accommodation.tracing.spans").tag("result", result).counter().count();
+    }
+
+    @Test
+    @DisplayName("Fast successful trace is dropped when no baseline is configured")
+    void end_FastTraceWithoutBaseline_DropsTrace() {
+        trace(tracer(0, Map.of()), "/api/accommodation/{id}", 5, false);
+
+        assertThat(exported).isEmpty();
+        assertThat(spans("dropped")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Failed child keeps the whole trace")
+    void end_WithFailedChild_ExportsWholeTrace() {
+        trace(tracer(0, Map.of()), "/api/accommodation/{id}", 5, true);
+
+        assertThat(exported).extracting(MutableSpan::name).containsExactly("query", "http get");
+        assertThat(spans("exported")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Slow root keeps the trace")
+    void end_WithSlowRoot_ExportsTrace() {
+        trace(tracer(0, Map.of()), "/api/accommodation/{id}", 800, false);
+
+        assertThat(exported).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Endpoint override lowers the slow threshold for that endpoint only")
+    void end_WithEndpointOverride_UsesEndpointThreshold() {
+        Tracer tracer = tracer(0, Map.of("/api/accommodation/{id}",
+                new TraceSamplingProperties.Endpoint(null, Duration.ofMillis(20))));
+
+        trace(tracer, "/api/accommodation/{id}", 50, false);
+        trace(tracer, "/api/accommodation/search", 50, false);
+
+        assertThat(exported).extracting(span -> span.tag("uri")).containsOnly("/api/accommodation/{id}", null);
+        assertThat(exported).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Baseline rate exports a limited number of ordinary traces")
+    void end_WithBaseline_ExportsUpToRate() {
+        Tracer tracer = tracer(1, Map.of());
+
+        trace(tracer, "/api/accommodation/{id}", 5, false);
+        trace(tracer, "/api/accommodation/{id}", 5, false);
+
+        assertThat(exported).hasSize(2);
+        assertThat(meterRegistry.get("accommodation.tracing.traces").tag("decision", "baseline").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("accommodation.tracing.traces").tag("decision", "dropped").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Children are held back until the local root finishes")
+    void end_BeforeRootFinishes_ExportsNothing() {
+        Tracer tracer = tracer(0, Map.of());
+        Span root = tracer.newTrace().name("http get").start(START_MICROS);
+        Span child = tracer.newChild(root.context()).name("query").start(START_MICROS + 100);
+        child.error(new IllegalStateException("boom"));
+        child.finish(START_MICROS + 200);
+
+        assertThat(exported).isEmpty();
+        assertThat(meterRegistry.get("accommodation.tracing.buffered.traces").gauge().value()).isEqualTo(1);
+
+        root.finish(START_MICROS + 1_000);
+        assertThat(exported).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Children finishing after their local root follow its decision without being buffered")
+    void end_AfterRootFinishes_AppliesRootDecision() {
+        Tracer tracer = tracer(0, Map.of());
+        Span slowRoot = tracer.newTrace().name("http get").start(START_MICROS);
+        Span kept = tracer.newChild(slowRoot.context()).name("async export").start(START_MICROS + 100);
+        slowRoot.finish(START_MICROS + 800_000);
+        Span fastRoot = tracer.newTrace().name("http get").start(START_MICROS);
+        Span dropped = tracer.newChild(fastRoot.context()).name("async export").start(START_MICROS + 100);
+        fastRoot.finish(START_MICROS + 1_000);
+
+        kept.finish(START_MICROS + 900_000);
+        dropped.finish(START_MICROS + 2_000);
+
+        assertThat(exported).extracting(MutableSpan::name).containsExactly("http get", "async export");
+        assertThat(spans("dropped")).isEqualTo(2);
+        assertThat(meterRegistry.get("accommodation.tracing.buffered.traces").gauge().value()).isZero();
+    }
+}
@@ -0,0 +1,108 @@
+package com.devoops.accommodation.ratelimit;
+
+import com.devoops.accommodation.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RateLimiterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong now = new AtomicLong(TimeUnit.SECONDS.toNanos(1000));
+
+    private final RateLimiter rateLimiter = new RateLimiter(
+            new RateLimitProperties(
+                    true,
+                    new RateLimitProperties.Limit(10, 5),
+                    Map.of("getByHostId", new RateLimitProperties.Limit(1, 2)),
+                    new RateLimitProperties.Anonymous(100, 3, Map.of()),
+                    1000,
+                    Duration.ofMinutes(10)),
+            meterRegistry,
+            now::get);
+
+    @Test
+    @DisplayName("Allows a burst, then rejects with the time until the next token")
+    void acquire_AfterBurst_Rejects() {
+        for (int i = 0; i < 5; i++) {
+            rateLimiter.acquire("user-1", "getById");
+        }
+
+        assertThatThrownBy(() -> rateLimiter.acquire("user-1", "getById"))
+                .isInstanceOfSatisfying(RateLimitExceededException.class, ex ->
+                        assertThat(ex.getRetryAfter()).isEqualTo(Duration.ofMillis(100)));
+        assertThat(requests("getById", "allowed")).isEqualTo(5);
+        assertThat(requests("getById", "rejected")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Refills at the configured rate")
+    void acquire_AfterWaiting_AllowsAgain() {
+        for (int i = 0; i < 5; i++) {
+            rateLimiter.acquire("user-1", "getById");
+        }
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        rateLimiter.acquire("user-1", "getById");
+
+        assertThatThrownBy(() -> rateLimiter.acquire("user-1", "getById"))
+                .isInstanceOf(RateLimitExceededException.class);
+    }
+
+    @Test
+    @DisplayName("Keeps separate buckets per client and applies per-endpoint limits")
+    void acquire_IsolatesClientsAndEndpoints() {
+        rateLimiter.acquire("user-1", "getByHostId");
+        rateLimiter.acquire("user-1", "getByHostId");
+
+        assertThatThrownBy(() -> rateLimiter.acquire("user-1", "getByHostId"))
+                .isInstanceOfSatisfying(RateLimitExceededException.class, ex ->
+                        assertThat(ex.getRetryAfter()).isEqualTo(Duration.ofSeconds(1)));
+        rateLimiter.acquire("user-2", "getByHostId");
+        rateLimiter.acquire("user-1", "getById");
+    }
+
+    @Test
+    @DisplayName("Charges anonymous requests to one route-level bucket that is separate from users' buckets")
+    void acquire_Anonymous_SharesRouteBucket() {
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.acquire(null, "getById");
+        }
+
+        assertThatThrownBy(() -> rateLimiter.acquire(null, "getById"))
+                .isInstanceOf(RateLimitExceededException.class);
+        rateLimiter.acquire(null, "search");
+        rateLimiter.acquire("user-1", "getById");
+        assertThat(meterRegistry.get("accommodation.ratelimit.requests")
+                .tags("client", "anonymous", "endpoint", "getById", "result", "rejected")
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Exports the configured limits")
+    void registersLimitGauges() {
+        assertThat(meterRegistry.get("accommodation.ratelimit.limit")
+                .tags("client", "identified", "endpoint", "default").gauge().value()).isEqualTo(10);
+        assertThat(meterRegistry.get("accommodation.ratelimit.burst")
+                .tags("client", "identified", "endpoint", "getByHostId").gauge().value()).isEqualTo(2);
+        assertThat(meterRegistry.get("accommodation.ratelimit.limit")
+                .tags("client", "anonymous", "endpoint", "default").gauge().value()).isEqualTo(100);
+    }
+
+    private double requests(String endpoint, String result) {
+        return meterRegistry.get("accommodation.ratelimit.requests")
+                .tag("client", "identified")
+                .tag("endpoint", endpoint)
+                .tag("result", result)
+                .counter()
+                .count();
+    }
+}
@@ -1,26 +1,49 @@
 package com.devoops.accommodation.service;
 
+import com.devoops.accommodation.cache.AccommodationCache;
+import com.devoops.accommodation.cache.AccommodationCacheProperties;
+import com.devoops.accommodation.cache.EncodedAccommodation;
+import com.devoops.accommodation.cache.InMemorySharedCache;
+import com.devoops.accommodation.cache.LocalInvalidationBus;
 import com.devoops.accommodation.config.UserContext;
+import com.devoops.accommodation.dto.request.AccommodationSearchRequest;
 import com.devoops.accommodation.dto.request.CreateAccommodationRequest;
 import com.devoops.accommodation.dto.request.UpdateAccommodationRequest;
+import com.devoops.accommodation.dto.response.AccommodationChange;
 import com.devoops.accommodation.dto.response.AccommodationResponse;
+import com.devoops.accommodation.dto.response.BatchGetResponse;
+import com.devoops.accommodation.dto.response.BulkCreateResponse;
+import com.devoops.accommodation.dto.response.ChangeFeedPage;
+import com.devoops.accommodation.dto.response.CursorPage;
 import com.devoops.accommodation.entity.Accommodation;
 import com.devoops.accommodation.entity.AmenityType;
 import com.devoops.accommodation.entity.ApprovalMode;
 import com.devoops.accommodation.entity.PricingMode;
 import com.devoops.accommodation.exception.AccommodationNotFoundException;
 import com.devoops.accommodation.exception.ForbiddenException;
+import com.devoops.accommodation.exception.PreconditionFailedException;
+import com.devoops.accommodation.index.AmenityIndex;
 import com.devoops.accommodation.mapper.AccommodationMapper;
+import com.devoops.accommodation.outbox.OutboxWriter;
+import com.devoops.accommodation.pagination.KeysetCursor;
+import com.devoops.accommodation.repository.AccommodationJdbcRepository;
 import com.devoops.accommodation.repository.AccommodationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -29,6 +52,10 @@ import java.util.UUID;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,15 +64,41 @@ class AccommodationServiceTest {
     @Mock
     private AccommodationRepository accommodationRepository;
 
+    @Mock
+    private AccommodationJdbcRepository accommodationJdbcRepository;
+
     @Mock
     private AccommodationMapper accommodationMapper;
 
+    @Mock
+    private Validator validator;
+
+    @Mock
+    private AmenityIndex amenityIndex;
+
+    @Mock
+    private OutboxWriter outboxWriter;
+
+    @Spy
+    private AccommodationCache accommodationCache = new AccommodationCache(
+            new AccommodationCacheProperties(100, Duration.ofMinutes(10), Duration.ofSeconds(30), Duration.ZERO,
+                    new AccommodationCacheProperties.Encoded(true, true, 64)),
+            new InMemorySharedCache(100), new LocalInvalidationBus(new SimpleMeterRegistry()),
+            JsonMapper.builder().build(), new SimpleMeterRegistry());
+
+    @Spy
+    private AccommodationReadCoalescer readCoalescer = new AccommodationReadCoalescer(new SimpleMeterRegistry());
+
+    @Spy
+    private ChangeFeedProperties changeFeedProperties = new ChangeFeedProperties(2, Duration.ofSeconds(5));
+
     @InjectMocks
     private AccommodationService accommodationService;
 
     private static final UUID HOST_ID = UUID.randomUUID();
     private static final UUID ACCOMMODATION_ID = UUID.randomUUID();
     private static final UserContext HOST_CONTEXT = new UserContext(HOST_ID, "HOST");
+    private static final int LISTING_LIMIT = AccommodationService.HOST_LISTING_MAX_IDS + 1;
 
     private Accommodation createAccommodation() {
         return Accommodation.builder()
@@ -64,7 +117,7 @@ class AccommodationServiceTest {
         return new AccommodationResponse(
                 ACCOMMODATION_ID, HOST_ID, "Test Apartment", "123 Test St",
                 1, 4, PricingMode.PER_GUEST, ApprovalMode.MANUAL,
-                List.of(), LocalDateTime.now(), LocalDateTime.now()
+                List.of(), LocalDateTime.now(), LocalDateTime.now(), 0L
         );
     }
 
@@ -89,6 +142,10 @@ class AccommodationServiceTest {
 
             assertThat(result).isEqualTo(response);
             verify(accommodationRepository).saveAndFlush(accommodation);
+            verify(accommodationCache, never()).evict(any());
+            verify(accommodationCache).evictHostListing(HOST_ID);
+            verify(amenityIndex).upsert(response);
+            verify(outboxWriter).created(List.of(response));
         }
 
         @Test
@@ -141,6 +198,63 @@ class AccommodationServiceTest {
         }
     }
 
+    @Nested
+    @DisplayName("CreateAll")
+    class CreateAllTests {
+
+        @Test
+        @DisplayName("With valid and invalid items creates only the valid ones")
+        void createAll_WithMixedItems_ReturnsResultPerItem() {
+            var valid = new CreateAccommodationRequest(
+                    "Test", "Addr", 1, 4,
+                    PricingMode.PER_GUEST, ApprovalMode.MANUAL, null);
+            var badCapacity = new CreateAccommodationRequest(
+                    "Test", "Addr", 5, 2,
+                    PricingMode.PER_GUEST, ApprovalMode.MANUAL, null);
+            var accommodation = createAccommodation();
+            var response = createResponse();
+
+            when(accommodationMapper.toEntity(valid)).thenReturn(accommodation);
+            when(accommodationRepository.saveAll(List.of(accommodation))).thenReturn(List.of(accommodation));
+            when(accommodationMapper.toResponse(accommodation)).thenReturn(response);
+
+            BulkCreateResponse result = accommodationService.createAll(List.of(badCapacity, valid), HOST_CONTEXT);
+
+            assertThat(result.created()).isEqualTo(1);
+            assertThat(result.failed()).isEqualTo(1);
+            assertThat(result.results().get(0).created()).isFalse();
+            assertThat(result.results().get(0).errors())
+                    .containsExactly("Minimum guests cannot exceed maximum guests");
+            assertThat(result.results().get(1).created()).isTrue();
+            assertThat(result.results().get(1).accommodation()).isEqualTo(response);
+            assertThat(accommodation.getHostId()).isEqualTo(HOST_ID);
+            verify(accommodationRepository).flush();
+            verify(accommodationCache, never()).evict(any());
+            verify(accommodationCache).evictHostListing(HOST_ID);
+            verify(outboxWriter).created(List.of(response));
+        }
+
+        @Test
+        @DisplayName("With constraint violations reports messages and skips item")
+        @SuppressWarnings("unchecked")
+        void createAll_WithConstraintViolations_ReportsMessages() {
+            var request = new CreateAccommodationRequest(
+                    null, "Addr", 1, 4,
+                    PricingMode.PER_GUEST, ApprovalMode.MANUAL, null);
+            ConstraintViolation<CreateAccommodationRequest> violation = mock(ConstraintViolation.class);
+
+            when(violation.getMessage()).thenReturn("Name is required");
+            when(validator.validate(request)).thenReturn(Set.of(violation));
+            when(accommodationRepository.saveAll(List.of())).thenReturn(List.of());
+
+            BulkCreateResponse result = accommodationService.createAll(List.of(request), HOST_CONTEXT);
+
+            assertThat(result.created()).isZero();
+            assertThat(result.results().getFirst().errors()).containsExactly("Name is required");
+            verify(accommodationMapper, never()).toEntity(any());
+        }
+    }
+
     @Nested
     @DisplayName("GetById")
     class GetByIdTests {
@@ -168,83 +282,450 @@ class AccommodationServiceTest {
             assertThatThrownBy(() -> accommodationService.getById(id))
                     .isInstanceOf(AccommodationNotFoundException.class);
         }
+
+        @Test
+        @DisplayName("Repeated lookups are served from the cache")
+        void getById_CalledTwice_HitsRepositoryOnce() {
+            var accommodation = createAccommodation();
+            var response = createResponse();
+
+            when(accommodationRepository.findById(ACCOMMODATION_ID)).thenReturn(Optional.of(accommodation));
+            when(accommodationMapper.toResponse(accommodation)).thenReturn(response);
+
+            accommodationService.getById(ACCOMMODATION_ID);
+            AccommodationResponse result = accommodationService.getById(ACCOMMODATION_ID);
+
+            assertThat(result).isEqualTo(response);
+            verify(accommodationRepository, times(1)).findById(ACCOMMODATION_ID);
+        }
+
+        @Test
+        @DisplayName("Unknown IDs are negatively cached")
+        void getById_WithNonExistingIdTwice_HitsRepositoryOnce() {
+            UUID id = UUID.randomUUID();
+            when(accommodationRepository.findById(id)).thenReturn(Optional.empty());
+
+            assertThatThrownBy(() -> accommodationService.getById(id))
+                    .isInstanceOf(AccommodationNotFoundException.class);
+            assertThatThrownBy(() -> accommodationService.getById(id))
+                    .isInstanceOf(AccommodationNotFoundException.class);
+
+            verify(accommodationRepository, times(1)).findById(id);
+        }
+
+        @Test
+        @DisplayName("Encoded lookup reuses the cached body until the accommodation is evicted")
+        void getEncodedById_CalledTwice_ReusesBodyUntilUpdate() {
+            var accommodation = createAccommodation();
+            var response = createResponse();
+
+            when(accommodationRepository.findById(ACCOMMODATION_ID)).thenReturn(Optional.of(accommodation));
+            when(accommodationMapper.toResponse(accommodation)).thenReturn(response);
+
+            EncodedAccommodation first = accommodationService.getEncodedById(ACCOMMODATION_ID);
+            EncodedAccommodation second = accommodationService.getEncodedById(ACCOMMODATION_ID);
+            accommodationCache.evict(ACCOMMODATION_ID);
+            EncodedAccommodation third = accommodationService.getEncodedById(ACCOMMODATION_ID);
+
+            assertThat(first.response()).isEqualTo(response);
+            assertThat(second).isSameAs(first);
+            assertThat(third).isNotSameAs(first);
+            verify(accommodationRepository, times(2)).findById(ACCOMMODATION_ID);
+        }
+
+        @Test
+        @DisplayName("Encoded lookup of unknown ID throws AccommodationNotFoundException")
+        void getEncodedById_WithNonExistingId_ThrowsNotFound() {
+            UUID id = UUID.randomUUID();
+            when(accommodationRepository.findById(id)).thenReturn(Optional.empty());
+
+            assertThatThrownBy(() -> accommodationService.getEncodedById(id))
+                    .isInstanceOf(AccommodationNotFoundException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("GetByIds")
+    class GetByIdsTests {
+
+        @Test
+        @DisplayName("Returns found accommodations in requested order and reports missing IDs")
+        void getByIds_WithFoundAndMissingIds_PreservesOrder() {
+            UUID missingId = UUID.randomUUID();
+            var response = createResponse();
+
+            when(accommodationJdbcRepository.findAllByIds(Set.of(missingId, ACCOMMODATION_ID)))
+                    .thenReturn(List.of(response));
+
+            BatchGetResponse result = accommodationService.getByIds(List.of(missingId, ACCOMMODATION_ID, missingId));
+
+            assertThat(result.accommodations()).containsExactly(response);
+            assertThat(result.missing()).containsExactly(missingId);
+        }
+
+        @Test
+        @DisplayName("Only loads IDs that are not already cached")
+        void getByIds_WithCachedId_LoadsOnlyUncachedIds() {
+            var accommodation = createAccommodation();
+            var response = createResponse();
+            UUID otherId = UUID.randomUUID();
+
+            when(accommodationRepository.findById(ACCOMMODATION_ID)).thenReturn(Optional.of(accommodation));
+            when(accommodationMapper.toResponse(accommodation)).thenReturn(response);
+            when(accommodationJdbcRepository.findAllByIds(Set.of(otherId))).thenReturn(List.of());
+
+            accommodationService.getById(ACCOMMODATION_ID);
+            BatchGetResponse result = accommodationService.getByIds(List.of(ACCOMMODATION_ID, otherId));
+
+            assertThat(result.accommodations()).containsExactly(response);
+            assertThat(result.missing()).containsExactly(otherId);
+            verify(accommodationJdbcRepository).findAllByIds(Set.of(otherId));
+        }
     }
 
     @Nested
     @DisplayName("GetByHostId")
     class GetByHostIdTests {
 
+        private AccommodationResponse responseCreatedAt(LocalDateTime createdAt) {
+            return new AccommodationResponse(
+                    UUID.randomUUID(), HOST_ID, "Listing", "Addr",
+                    1, 4, PricingMode.PER_GUEST, ApprovalMode.MANUAL,
+                    List.of(), createdAt, createdAt, 0L);
+        }
+
         @Test
-        @DisplayName("With existing host returns accommodation list")
-        void getByHostId_WithExistingHost_ReturnsAccommodationList() {
-            var accommodations = List.of(createAccommodation());
-            var responses = List.of(createResponse());
+        @DisplayName("With existing host returns accommodation page")
+        void getByHostId_WithExistingHost_ReturnsAccommodationPage() {
+            var response = createResponse();
 
-            when(accommodationRepository.findByHostId(HOST_ID)).thenReturn(accommodations);
-            when(accommodationMapper.toResponseList(accommodations)).thenReturn(responses);
+            when(accommodationJdbcRepository.findIdsByHostId(HOST_ID, LISTING_LIMIT)).thenReturn(List.of(ACCOMMODATION_ID));
+            when(accommodationJdbcRepository.findAllByIds(Set.of(ACCOMMODATION_ID))).thenReturn(List.of(response));
 
-            List<AccommodationResponse> result = accommodationService.getByHostId(HOST_ID);
+            CursorPage<AccommodationResponse> result = accommodationService.getByHostId(HOST_ID, null, 20);
 
-            assertThat(result).hasSize(1);
+            assertThat(result.items()).containsExactly(response);
+            assertThat(result.nextCursor()).isNull();
         }
 
         @Test
-        @DisplayName("With no accommodations returns empty list")
-        void getByHostId_WithNoAccommodations_ReturnsEmptyList() {
+        @DisplayName("With no accommodations returns empty page")
+        void getByHostId_WithNoAccommodations_ReturnsEmptyPage() {
             UUID hostId = UUID.randomUUID();
-            when(accommodationRepository.findByHostId(hostId)).thenReturn(List.of());
+            when(accommodationJdbcRepository.findIdsByHostId(hostId, LISTING_LIMIT)).thenReturn(List.of());
+
+            CursorPage<AccommodationResponse> result = accommodationService.getByHostId(hostId, null, 20);
+
+            assertThat(result.items()).isEmpty();
+            assertThat(result.nextCursor()).isNull();
+            verify(accommodationJdbcRepository, never()).findAllByIds(any());
+        }
+
+        @Test
+        @DisplayName("With more rows than limit returns cursor of last item")
+        void getByHostId_WithMoreRowsThanLimit_ReturnsNextCursor() {
+            var first = responseCreatedAt(LocalDateTime.now().minusHours(1));
+            var second = responseCreatedAt(LocalDateTime.now());
+
+            when(accommodationJdbcRepository.findIdsByHostId(HOST_ID, LISTING_LIMIT)).thenReturn(List.of(first.id(), second.id()));
+            when(accommodationJdbcRepository.findAllByIds(Set.of(first.id(), second.id())))
+                    .thenReturn(List.of(first, second));
+
+            CursorPage<AccommodationResponse> result = accommodationService.getByHostId(HOST_ID, null, 1);
+
+            assertThat(result.items()).containsExactly(first);
+            assertThat(KeysetCursor.decode(result.nextCursor()))
+                    .isEqualTo(new KeysetCursor(first.createdAt(), first.id()));
+        }
+
+        @Test
+        @DisplayName("With cursor in cached listing continues after cursor position")
+        void getByHostId_WithCursorInListing_PagesFromListing() {
+            var first = responseCreatedAt(LocalDateTime.now().minusHours(1));
+            var second = responseCreatedAt(LocalDateTime.now());
+            var after = new KeysetCursor(first.createdAt(), first.id());
+
+            when(accommodationJdbcRepository.findIdsByHostId(HOST_ID, LISTING_LIMIT)).thenReturn(List.of(first.id(), second.id()));
+            when(accommodationJdbcRepository.findAllByIds(Set.of(second.id()))).thenReturn(List.of(second));
+
+            CursorPage<AccommodationResponse> result =
+                    accommodationService.getByHostId(HOST_ID, after.encode(), 20);
+
+            assertThat(result.items()).containsExactly(second);
+            verify(accommodationRepository, never()).findByHostIdAfter(any(), any(), any(), anyInt());
+        }
+
+        @Test
+        @DisplayName("With cursor missing from listing falls back to keyset query")
+        void getByHostId_WithCursorNotInListing_QueriesAfterCursor() {
+            var after = new KeysetCursor(LocalDateTime.now(), UUID.randomUUID());
+
+            when(accommodationJdbcRepository.findIdsByHostId(HOST_ID, LISTING_LIMIT)).thenReturn(List.of(ACCOMMODATION_ID));
+            when(accommodationRepository.findByHostIdAfter(HOST_ID, after.position(), after.id(), 21))
+                    .thenReturn(List.of());
             when(accommodationMapper.toResponseList(List.of())).thenReturn(List.of());
 
-            List<AccommodationResponse> result = accommodationService.getByHostId(hostId);
+            CursorPage<AccommodationResponse> result =
+                    accommodationService.getByHostId(HOST_ID, after.encode(), 20);
+
+            assertThat(result.items()).isEmpty();
+            verify(accommodationJdbcRepository, never()).findAllByIds(any());
+        }
 
-            assertThat(result).isEmpty();
+        @Test
+        @DisplayName("With a listing id that no longer resolves falls back to keyset query for a full page")
+        void getByHostId_WithStaleListingId_QueriesFullPage() {
+            var first = responseCreatedAt(LocalDateTime.now().minusHours(2));
+            var second = responseCreatedAt(LocalDateTime.now().minusHours(1));
+            var third = responseCreatedAt(LocalDateTime.now());
+            UUID deletedId = UUID.randomUUID();
+            var rows = List.of(new Accommodation(), new Accommodation(), new Accommodation());
+
+            when(accommodationJdbcRepository.findIdsByHostId(HOST_ID, LISTING_LIMIT))
+                    .thenReturn(List.of(first.id(), deletedId, second.id(), third.id()));
+            when(accommodationJdbcRepository.findAllByIds(Set.of(first.id(), deletedId, second.id())))
+                    .thenReturn(List.of(first, second));
+            when(accommodationRepository.findByHostId(HOST_ID, 3)).thenReturn(rows);
+            when(accommodationMapper.toResponseList(rows)).thenReturn(List.of(first, second, third));
+
+            CursorPage<AccommodationResponse> result = accommodationService.getByHostId(HOST_ID, null, 2);
+
+            assertThat(result.items()).containsExactly(first, second);
+            assertThat(KeysetCursor.decode(result.nextCursor()))
+                    .isEqualTo(new KeysetCursor(second.createdAt(), second.id()));
+        }
+
+        @Test
+        @DisplayName("With a page running past a truncated listing falls back to keyset query")
+        void getByHostId_PastTruncatedListing_QueriesAfterCursor() {
+            List<UUID> ids = new ArrayList<>();
+            for (int i = 0; i < LISTING_LIMIT; i++) {
+                ids.add(UUID.randomUUID());
+            }
+            UUID lastCached = ids.get(LISTING_LIMIT - 2);
+            var after = new KeysetCursor(LocalDateTime.now(), lastCached);
+
+            when(accommodationJdbcRepository.findIdsByHostId(HOST_ID, LISTING_LIMIT)).thenReturn(ids);
+            when(accommodationRepository.findByHostIdAfter(HOST_ID, after.position(), after.id(), 21))
+                    .thenReturn(List.of());
+            when(accommodationMapper.toResponseList(List.of())).thenReturn(List.of());
+
+            CursorPage<AccommodationResponse> result =
+                    accommodationService.getByHostId(HOST_ID, after.encode(), 20);
+
+            assertThat(result.items()).isEmpty();
+            verify(accommodationJdbcRepository, never()).findAllByIds(any());
+        }
+
+        @Test
+        @DisplayName("Second request is served from the cached listing")
+        void getByHostId_Twice_LoadsListingOnce() {
+            UUID hostId = UUID.randomUUID();
+            when(accommodationJdbcRepository.findIdsByHostId(hostId, LISTING_LIMIT)).thenReturn(List.of());
+
+            accommodationService.getByHostId(hostId, null, 20);
+            accommodationService.getByHostId(hostId, null, 20);
+
+            verify(accommodationJdbcRepository, times(1)).findIdsByHostId(hostId, LISTING_LIMIT);
+        }
+
+        @Test
+        @DisplayName("Delete evicts the host listing")
+        void getByHostId_AfterDelete_ReloadsListing() {
+            UUID hostId = UUID.randomUUID();
+            UUID deletedId = UUID.randomUUID();
+            when(accommodationJdbcRepository.findIdsByHostId(hostId, LISTING_LIMIT)).thenReturn(List.of());
+            when(accommodationJdbcRepository.softDelete(deletedId, hostId, null)).thenReturn(true);
+
+            accommodationService.getByHostId(hostId, null, 20);
+            accommodationService.delete(deletedId, new UserContext(hostId, "HOST"), null);
+            accommodationService.getByHostId(hostId, null, 20);
+
+            verify(accommodationJdbcRepository, times(2)).findIdsByHostId(hostId, LISTING_LIMIT);
+        }
+
+        @Test
+        @DisplayName("With malformed cursor throws IllegalArgumentException")
+        void getByHostId_WithMalformedCursor_ThrowsIllegalArgument() {
+            assertThatThrownBy(() -> accommodationService.getByHostId(HOST_ID, "not-a-cursor", 20))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("Invalid cursor");
+        }
+
+        @Test
+        @DisplayName("With page size above maximum throws IllegalArgumentException")
+        void getByHostId_WithPageSizeAboveMaximum_ThrowsIllegalArgument() {
+            assertThatThrownBy(() -> accommodationService.getByHostId(HOST_ID, null, 101))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("Page size");
         }
     }
 
     @Nested
-    @DisplayName("Update")
-    class UpdateTests {
+    @DisplayName("Search")
+    class SearchTests {
+
+        private final AccommodationSearchRequest criteria = new AccommodationSearchRequest(
+                4, PricingMode.PER_GUEST, null, Set.of(AmenityType.WIFI, AmenityType.POOL));
 
         @Test
-        @DisplayName("With valid request returns updated response")
-        void update_WithValidRequest_ReturnsUpdatedResponse() {
-            var request = new UpdateAccommodationRequest(
-                    "Updated Name", "New Address", 2, 6,
-                    PricingMode.PER_UNIT, ApprovalMode.AUTOMATIC, null);
-            var accommodation = createAccommodation();
+        @DisplayName("Without cursor searches from the beginning")
+        void search_WithoutCursor_ReturnsFirstPage() {
             var response = createResponse();
+            when(accommodationJdbcRepository.search(criteria, null, 21)).thenReturn(List.of(response));
 
-            when(accommodationRepository.findById(ACCOMMODATION_ID)).thenReturn(Optional.of(accommodation));
-            when(accommodationRepository.saveAndFlush(accommodation)).thenReturn(accommodation);
-            when(accommodationMapper.toResponse(accommodation)).thenReturn(response);
+            CursorPage<AccommodationResponse> result = accommodationService.search(criteria, null, 20);
 
-            AccommodationResponse result = accommodationService.update(ACCOMMODATION_ID, request, HOST_CONTEXT);
+            assertThat(result.items()).containsExactly(response);
+            assertThat(result.nextCursor()).isNull();
+        }
 
-            assertThat(result).isEqualTo(response);
-            assertThat(accommodation.getName()).isEqualTo("Updated Name");
-            assertThat(accommodation.getAddress()).isEqualTo("New Address");
-            assertThat(accommodation.getMinGuests()).isEqualTo(2);
-            assertThat(accommodation.getMaxGuests()).isEqualTo(6);
+        @Test
+        @DisplayName("With cursor continues after cursor position")
+        void search_WithCursor_PassesDecodedCursor() {
+            var after = new KeysetCursor(LocalDateTime.now(), UUID.randomUUID());
+            when(accommodationJdbcRepository.search(criteria, after, 11)).thenReturn(List.of());
+
+            CursorPage<AccommodationResponse> result = accommodationService.search(criteria, after.encode(), 10);
+
+            assertThat(result.items()).isEmpty();
+        }
+
+        private AccommodationResponse matching(LocalDateTime createdAt, AmenityType... amenities) {
+            return new AccommodationResponse(
+                    UUID.randomUUID(), HOST_ID, "Listing", "Addr",
+                    1, 4, PricingMode.PER_GUEST, ApprovalMode.MANUAL,
+                    List.of(amenities), createdAt, createdAt, 0L);
+        }
+
+        private KeysetCursor positionOf(AccommodationResponse response) {
+            return new KeysetCursor(response.createdAt(), response.id());
         }
 
         @Test
-        @DisplayName("With partial request only updates non-null fields")
-        void update_WithPartialRequest_OnlyUpdatesNonNullFields() {
+        @DisplayName("With ready amenity index resolves matching IDs through the cache")
+        void search_WithReadyIndex_UsesIndexInsteadOfDatabaseSearch() {
+            var response = matching(LocalDateTime.now(), AmenityType.WIFI, AmenityType.POOL);
+            when(amenityIndex.isReady()).thenReturn(true);
+            when(amenityIndex.search(criteria, null, 21)).thenReturn(List.of(positionOf(response)));
+            when(accommodationJdbcRepository.findAllByIds(Set.of(response.id()))).thenReturn(List.of(response));
+
+            CursorPage<AccommodationResponse> result = accommodationService.search(criteria, null, 20);
+
+            assertThat(result.items()).containsExactly(response);
+            assertThat(result.nextCursor()).isNull();
+            verify(accommodationJdbcRepository, never()).search(any(), any(), anyInt());
+        }
+
+        @Test
+        @DisplayName("With stale index hits drops them and continues after the last hit to fill the page")
+        void search_WithStaleIndexHits_TopsUpPageFromIndex() {
+            var first = matching(LocalDateTime.now().minusHours(3), AmenityType.WIFI, AmenityType.POOL);
+            var changed = matching(LocalDateTime.now().minusHours(2), AmenityType.WIFI);
+            var deleted = matching(LocalDateTime.now().minusHours(1), AmenityType.WIFI, AmenityType.POOL);
+            var second = matching(LocalDateTime.now(), AmenityType.WIFI, AmenityType.POOL);
+            when(amenityIndex.isReady()).thenReturn(true);
+            when(amenityIndex.search(criteria, null, 2))
+                    .thenReturn(List.of(positionOf(first), positionOf(changed)));
+            when(amenityIndex.search(criteria, positionOf(changed), 1)).thenReturn(List.of(positionOf(deleted)));
+            when(amenityIndex.search(criteria, positionOf(deleted), 1)).thenReturn(List.of(positionOf(second)));
+            when(accommodationJdbcRepository.findAllByIds(Set.of(first.id(), changed.id())))
+                    .thenReturn(List.of(first, changed));
+            when(accommodationJdbcRepository.findAllByIds(Set.of(deleted.id()))).thenReturn(List.of());
+            when(accommodationJdbcRepository.findAllByIds(Set.of(second.id()))).thenReturn(List.of(second));
+
+            CursorPage<AccommodationResponse> result = accommodationService.search(criteria, null, 1);
+
+            assertThat(result.items()).containsExactly(first);
+            assertThat(KeysetCursor.decode(result.nextCursor())).isEqualTo(positionOf(first));
+        }
+
+        @Test
+        @DisplayName("With page size below minimum throws IllegalArgumentException")
+        void search_WithPageSizeBelowMinimum_ThrowsIllegalArgument() {
+            assertThatThrownBy(() -> accommodationService.search(criteria, null, 0))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("GetChanges")
+    class GetChangesTests {
+
+        private AccommodationChange change(LocalDateTime updatedAt, boolean deleted) {
+            UUID id = UUID.randomUUID();
+            return new AccommodationChange(id, deleted, updatedAt, deleted ? null : createResponse());
+        }
+
+        @Test
+        @DisplayName("With more rows than limit returns cursor of last change and hasMore")
+        void getChanges_WithMoreRows_ReturnsCursorAndHasMore() {
+            LocalDateTime now = LocalDateTime.now().minusMinutes(1);
+            var first = change(now, false);
+            var tombstone = change(now.plusSeconds(1), true);
+            var third = change(now.plusSeconds(2), false);
+
+            when(accommodationJdbcRepository.findChanges(isNull(), any(LocalDateTime.class), eq(3)))
+                    .thenReturn(List.of(first, tombstone, third));
+
+            ChangeFeedPage page = accommodationService.getChanges(null, 2);
+
+            assertThat(page.changes()).containsExactly(first, tombstone);
+            assertThat(page.hasMore()).isTrue();
+            assertThat(KeysetCursor.decode(page.nextCursor()))
+                    .isEqualTo(new KeysetCursor(tombstone.updatedAt(), tombstone.id()));
+        }
+
+        @Test
+        @DisplayName("At the end of the feed echoes the given cursor and holds back unsettled rows")
+        void getChanges_AtEnd_EchoesCursor() {
+            String cursor = new KeysetCursor(LocalDateTime.now().minusMinutes(1), UUID.randomUUID()).encode();
+            LocalDateTime before = LocalDateTime.now();
+
+            when(accommodationJdbcRepository.findChanges(any(KeysetCursor.class), any(LocalDateTime.class), eq(3)))
+                    .thenReturn(List.of());
+
+            ChangeFeedPage page = accommodationService.getChanges(cursor, 2);
+
+            assertThat(page.changes()).isEmpty();
+            assertThat(page.hasMore()).isFalse();
+            assertThat(page.nextCursor()).isEqualTo(cursor);
+            verify(accommodationJdbcRepository).findChanges(
+                    any(KeysetCursor.class), argThat(until -> !until.isAfter(before.minusSeconds(5))), eq(3));
+        }
+
+        @Test
+        @DisplayName("With limit above the feed maximum throws IllegalArgumentException")
+        void getChanges_WithTooLargeLimit_ThrowsIllegalArgument() {
+            assertThatThrownBy(() -> accommodationService.getChanges(null, 3))
+                    .isInstanceOf(IllegalArgumentException.class);
+            verifyNoInteractions(accommodationJdbcRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("Update")
+    class UpdateTests {
+
+        @Test
+        @DisplayName("With valid request returns the row from the conditional update")
+        void update_WithValidRequest_ReturnsUpdatedResponse() {
             var request = new UpdateAccommodationRequest(
-                    "New Name", null, null, null, null, null, null);
-            var accommodation = createAccommodation();
+                    "Updated Name", "New Address", 2, 6,
+                    PricingMode.PER_UNIT, ApprovalMode.AUTOMATIC, null);
             var response = createResponse();
 
-            when(accommodationRepository.findById(ACCOMMODATION_ID)).thenReturn(Optional.of(accommodation));
-            when(accommodationRepository.saveAndFlush(accommodation)).thenReturn(accommodation);
-            when(accommodationMapper.toResponse(accommodation)).thenReturn(response);
+            when(accommodationJdbcRepository.update(ACCOMMODATION_ID, HOST_ID, request, null))
+                    .thenReturn(Optional.of(response));
 
-            accommodationService.update(ACCOMMODATION_ID, request, HOST_CONTEXT);
+            AccommodationResponse result = accommodationService.update(ACCOMMODATION_ID, request, HOST_CONTEXT, null);
 
-            assertThat(accommodation.getName()).isEqualTo("New Name");
-            assertThat(accommodation.getAddress()).isEqualTo("123 Test St");
-            assertThat(accommodation.getMinGuests()).isEqualTo(1);
-            assertThat(accommodation.getMaxGuests()).isEqualTo(4);
+            assertThat(result).isEqualTo(response);
+            verify(accommodationJdbcRepository, never()).findRowState(any());
+            verify(accommodationRepository, never()).findById(any());
+            verify(accommodationCache).evict(ACCOMMODATION_ID);
+            verify(amenityIndex).upsert(response);
+            verify(outboxWriter).updated(response);
         }
 
         @Test
@@ -252,13 +733,17 @@ class AccommodationServiceTest {
         void update_WithWrongOwner_ThrowsForbiddenException() {
             var request = new UpdateAccommodationRequest(
                     "Name", null, null, null, null, null, null);
-            var accommodation = createAccommodation();
             var otherUser = new UserContext(UUID.randomUUID(), "HOST");
 
-            when(accommodationRepository.findById(ACCOMMODATION_ID)).thenReturn(Optional.of(accommodation));
+            when(accommodationJdbcRepository.update(ACCOMMODATION_ID, otherUser.userId(), request, null))
+                    .thenReturn(Optional.empty());
+            when(accommodationJdbcRepository.findRowState(ACCOMMODATION_ID))
+                    .thenReturn(Optional.of(new AccommodationJdbcRepository.RowState(HOST_ID, 0)));
 
-            assertThatThrownBy(() -> accommodationService.update(ACCOMMODATION_ID, request, otherUser))
+            assertThatThrownBy(() -> accommodationService.update(ACCOMMODATION_ID, request, otherUser, null))
                     .isInstanceOf(ForbiddenException.class);
+            verify(accommodationCache, never()).evict(any());
+            verifyNoInteractions(outboxWriter);
         }
 
         @Test
@@ -268,25 +753,54 @@ class AccommodationServiceTest {
             var request = new UpdateAccommodationRequest(
                     "Name", null, null, null, null, null, null);
 
-            when(accommodationRepository.findById(id)).thenReturn(Optional.empty());
+            when(accommodationJdbcRepository.update(id, HOST_ID, request, null)).thenReturn(Optional.empty());
+            when(accommodationJdbcRepository.findRowState(id)).thenReturn(Optional.empty());
 
-            assertThatThrownBy(() -> accommodationService.update(id, request, HOST_CONTEXT))
+            assertThatThrownBy(() -> accommodationService.update(id, request, HOST_CONTEXT, null))
                     .isInstanceOf(AccommodationNotFoundException.class);
         }
 
         @Test
-        @DisplayName("With min guests exceeding max after partial update throws IllegalArgumentException")
-        void update_WithMinGuestsExceedingMax_ThrowsIllegalArgument() {
+        @DisplayName("With stale expected version throws PreconditionFailedException")
+        void update_WithStaleVersion_ThrowsPreconditionFailed() {
+            var request = new UpdateAccommodationRequest(
+                    "Name", null, null, null, null, null, null);
+
+            when(accommodationJdbcRepository.update(ACCOMMODATION_ID, HOST_ID, request, Set.of(2L)))
+                    .thenReturn(Optional.empty());
+            when(accommodationJdbcRepository.findRowState(ACCOMMODATION_ID))
+                    .thenReturn(Optional.of(new AccommodationJdbcRepository.RowState(HOST_ID, 3)));
+
+            assertThatThrownBy(() -> accommodationService.update(ACCOMMODATION_ID, request, HOST_CONTEXT, Set.of(2L)))
+                    .isInstanceOf(PreconditionFailedException.class);
+        }
+
+        @Test
+        @DisplayName("With min guests exceeding stored max throws IllegalArgumentException")
+        void update_WithMinGuestsExceedingStoredMax_ThrowsIllegalArgument() {
             var request = new UpdateAccommodationRequest(
                     null, null, 10, null, null, null, null);
-            var accommodation = createAccommodation(); // maxGuests=4
 
-            when(accommodationRepository.findById(ACCOMMODATION_ID)).thenReturn(Optional.of(accommodation));
+            when(accommodationJdbcRepository.update(ACCOMMODATION_ID, HOST_ID, request, null))
+                    .thenReturn(Optional.empty());
+            when(accommodationJdbcRepository.findRowState(ACCOMMODATION_ID))
+                    .thenReturn(Optional.of(new AccommodationJdbcRepository.RowState(HOST_ID, 0)));
 
-            assertThatThrownBy(() -> accommodationService.update(ACCOMMODATION_ID, request, HOST_CONTEXT))
+            assertThatThrownBy(() -> accommodationService.update(ACCOMMODATION_ID, request, HOST_CONTEXT, null))
                     .isInstanceOf(IllegalArgumentException.class)
                     .hasMessageContaining("Minimum guests cannot exceed maximum guests");
         }
+
+        @Test
+        @DisplayName("With min guests exceeding max in the request fails before writing")
+        void update_WithInvalidRange_DoesNotWrite() {
+            var request = new UpdateAccommodationRequest(
+                    null, null, 10, 4, null, null, null);
+
+            assertThatThrownBy(() -> accommodationService.update(ACCOMMODATION_ID, request, HOST_CONTEXT, null))
+                    .isInstanceOf(IllegalArgumentException.class);
+            verifyNoInteractions(accommodationJdbcRepository);
+        }
     }
 
     @Nested
@@ -296,25 +810,38 @@ class AccommodationServiceTest {
         @Test
         @DisplayName("With valid owner soft-deletes accommodation")
         void delete_WithValidOwner_SoftDeletesAccommodation() {
-            var accommodation = createAccommodation();
+            when(accommodationJdbcRepository.softDelete(ACCOMMODATION_ID, HOST_ID, null)).thenReturn(true);
 
-            when(accommodationRepository.findById(ACCOMMODATION_ID)).thenReturn(Optional.of(accommodation));
+            accommodationService.delete(ACCOMMODATION_ID, HOST_CONTEXT, null);
 
-            accommodationService.delete(ACCOMMODATION_ID, HOST_CONTEXT);
+            verify(accommodationJdbcRepository, never()).findRowState(any());
+            verify(accommodationCache).evict(ACCOMMODATION_ID);
+            verify(amenityIndex).remove(ACCOMMODATION_ID);
+            verify(outboxWriter).deleted(ACCOMMODATION_ID);
+        }
 
-            assertThat(accommodation.isDeleted()).isTrue();
-            verify(accommodationRepository).save(accommodation);
+        @Test
+        @DisplayName("With stale expected version throws PreconditionFailedException")
+        void delete_WithStaleVersion_ThrowsPreconditionFailed() {
+            when(accommodationJdbcRepository.softDelete(ACCOMMODATION_ID, HOST_ID, Set.of(2L))).thenReturn(false);
+            when(accommodationJdbcRepository.findRowState(ACCOMMODATION_ID))
+                    .thenReturn(Optional.of(new AccommodationJdbcRepository.RowState(HOST_ID, 3)));
+
+            assertThatThrownBy(() -> accommodationService.delete(ACCOMMODATION_ID, HOST_CONTEXT, Set.of(2L)))
+                    .isInstanceOf(PreconditionFailedException.class);
+            verify(amenityIndex, never()).remove(any());
         }
 
         @Test
         @DisplayName("With wrong owner throws ForbiddenException")
         void delete_WithWrongOwner_ThrowsForbiddenException() {
-            var accommodation = createAccommodation();
             var otherUser = new UserContext(UUID.randomUUID(), "HOST");
 
-            when(accommodationRepository.findById(ACCOMMODATION_ID)).thenReturn(Optional.of(accommodation));
+            when(accommodationJdbcRepository.softDelete(ACCOMMODATION_ID, otherUser.userId(), null)).thenReturn(false);
+            when(accommodationJdbcRepository.findRowState(ACCOMMODATION_ID))
+                    .thenReturn(Optional.of(new AccommodationJdbcRepository.RowState(HOST_ID, 0)));
 
-            assertThatThrownBy(() -> accommodationService.delete(ACCOMMODATION_ID, otherUser))
+            assertThatThrownBy(() -> accommodationService.delete(ACCOMMODATION_ID, otherUser, null))
                     .isInstanceOf(ForbiddenException.class);
         }
 
@@ -322,9 +849,10 @@ class AccommodationServiceTest {
         @DisplayName("With non-existing ID throws AccommodationNotFoundException")
         void delete_WithNonExistingId_ThrowsAccommodationNotFoundException() {
             UUID id = UUID.randomUUID();
-            when(accommodationRepository.findById(id)).thenReturn(Optional.empty());
+            when(accommodationJdbcRepository.softDelete(id, HOST_ID, null)).thenReturn(false);
+            when(accommodationJdbcRepository.findRowState(id)).thenReturn(Optional.empty());
 
-            assertThatThrownBy(() -> accommodationService.delete(id, HOST_CONTEXT))
+            assertThatThrownBy(() -> accommodationService.delete(id, HOST_CONTEXT, null))
                     .isInstanceOf(AccommodationNotFoundException.class);
         }
     }
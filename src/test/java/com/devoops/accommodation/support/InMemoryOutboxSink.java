@@ -0,0 +1,46 @@
+package com.devoops.accommodation.support;
+
+import com.devoops.accommodation.outbox.OutboxEvent;
+import com.devoops.accommodation.outbox.OutboxSink;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects relayed events for assertions; can be switched to fail or to report no capacity.
+ */
+public class InMemoryOutboxSink implements OutboxSink {
+
+    private final List<OutboxEvent> events = new ArrayList<>();
+    private volatile boolean failing;
+    private volatile boolean capacity = true;
+
+    @Override
+    public synchronized void publish(List<OutboxEvent> batch) {
+        if (failing) {
+            throw new IllegalStateException("Sink unavailable");
+        }
+        events.addAll(batch);
+    }
+
+    @Override
+    public boolean hasCapacity() {
+        return capacity;
+    }
+
+    public synchronized List<OutboxEvent> events() {
+        return List.copyOf(events);
+    }
+
+    public synchronized void clear() {
+        events.clear();
+    }
+
+    public void setFailing(boolean failing) {
+        this.failing = failing;
+    }
+
+    public void setCapacity(boolean capacity) {
+        this.capacity = capacity;
+    }
+}
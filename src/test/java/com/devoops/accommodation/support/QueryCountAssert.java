@@ -0,0 +1,50 @@
+package com.devoops.accommodation.support;
+
+import com.devoops.accommodation.observability.QueryStatistics;
+import org.assertj.core.api.AbstractAssert;
+import org.assertj.core.api.ThrowableAssert.ThrowingCallable;
+
+/**
+ * Asserts how many JDBC statements a block of code executes on the calling thread, e.g.
+ * <pre>{@code
+ * assertQueries(() -> accommodationService.getByHostId(hostId, null, 20)).hasStatementCount(2);
+ * }</pre>
+ * Counting goes through the application's {@code DataSource}, so the block must run inside a Spring test context.
+ * MockMvc requests can be counted too, since they are served on the calling thread.
+ */
+public class QueryCountAssert extends AbstractAssert<QueryCountAssert, QueryStatistics> {
+
+    private QueryCountAssert(QueryStatistics statistics) {
+        super(statistics, QueryCountAssert.class);
+    }
+
+    public static QueryCountAssert assertQueries(ThrowingCallable block) {
+        QueryStatistics statistics = QueryStatistics.start();
+        try {
+            block.call();
+        } catch (Throwable e) {
+            throw new AssertionError("Counted block threw " + e, e);
+        } finally {
+            QueryStatistics.stop();
+        }
+        return new QueryCountAssert(statistics);
+    }
+
+    public QueryCountAssert hasStatementCount(int expected) {
+        if (actual.statements() != expected) {
+            failWithMessage("Expected %d JDBC statements but %d were executed", expected, actual.statements());
+        }
+        return this;
+    }
+
+    public QueryCountAssert hasAtMostStatements(int budget) {
+        if (actual.statements() > budget) {
+            failWithMessage("Expected at most %d JDBC statements but %d were executed", budget, actual.statements());
+        }
+        return this;
+    }
+
+    public QueryCountAssert hasNoStatements() {
+        return hasStatementCount(0);
+    }
+}
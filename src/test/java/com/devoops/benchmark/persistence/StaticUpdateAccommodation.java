@@ -0,0 +1,58 @@
+package com.devoops.benchmark.persistence;
+
+import com.devoops.accommodation.entity.AmenitySetConverter;
+import com.devoops.accommodation.entity.AmenityType;
+import com.devoops.accommodation.entity.ApprovalMode;
+import com.devoops.accommodation.entity.BaseEntity;
+import com.devoops.accommodation.entity.PricingMode;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * {@code Accommodation} as it was mapped before {@code @DynamicUpdate}: every flush rewrites all updatable
+ * columns. Only the baseline persistence benchmark writes through it, so it lives outside the application's
+ * packages and is registered by that benchmark's context alone.
+ */
+@Entity
+@Table(name = "accommodations")
+@Getter
+@Setter
+@NoArgsConstructor
+public class StaticUpdateAccommodation extends BaseEntity {
+
+    @Column(nullable = false)
+    private UUID hostId;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(nullable = false)
+    private String address;
+
+    @Column(nullable = false)
+    private int minGuests;
+
+    @Column(nullable = false)
+    private int maxGuests;
+
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.NAMED_ENUM)
+    @Column(nullable = false, columnDefinition = "pricing_mode")
+    private PricingMode pricingMode;
+
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.NAMED_ENUM)
+    @Column(nullable = false, columnDefinition = "approval_mode")
+    private ApprovalMode approvalMode;
+
+    @Convert(converter = AmenitySetConverter.class)
+    @Column(name = "amenity_mask", nullable = false)
+    private Set<AmenityType> amenities;
+}